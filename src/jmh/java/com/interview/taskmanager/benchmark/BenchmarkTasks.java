@@ -0,0 +1,56 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic task data shared by the benchmarks.
+ */
+final class BenchmarkTasks {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final LocalDate BASE_DATE = LocalDate.of(2030, 1, 1);
+
+    private BenchmarkTasks() {
+    }
+
+    static Task task(long n) {
+        return new Task(
+                new TaskId(0, n),
+                "Title " + n,
+                "Description of task number " + n,
+                STATUSES[(int) (n % STATUSES.length)],
+                BASE_DATE.plusDays(n % 365)
+        );
+    }
+
+    /**
+     * Heap in use after a few full collections, for comparing what a data structure retains.
+     */
+    static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
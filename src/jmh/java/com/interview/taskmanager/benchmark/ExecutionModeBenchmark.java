@@ -0,0 +1,99 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.TaskManagementApiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end POST /api/v1/tasks against the running application on platform threads (Tomcat's default
+ * pool of 200) and on virtual threads. The write-ahead log runs with GROUP durability, so every request
+ * blocks until its record is fsynced; that wait is what a fixed thread pool caps.
+ * <p>
+ * JMH threads are the concurrent clients. Throughput and the SampleTime percentiles (p0.99) are
+ * reported per client count; run each count separately with -t, and on Java 21 pass
+ * -jvmArgsAppend -Djmh.executor=VIRTUAL so 10,000 clients do not need 10,000 platform threads:
+ * <pre>
+ * mvn -Pbenchmark,java21 -DskipTests verify -Djmh.args="ExecutionModeBenchmark -t 10000 -jvmArgsAppend -Djmh.executor=VIRTUAL"
+ * </pre>
+ * Virtual threads need Java 21; on 17 both modes run on platform threads. Client and server share the
+ * JVM, so compare the two modes with each other rather than reading the numbers as absolute capacity.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(100)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private Path directory;
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private HttpRequest createTask;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        directory = Files.createTempDirectory("task-load-");
+        application = SpringApplication.run(TaskManagementApiApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--taskmanager.wal.enabled=true",
+                "--taskmanager.wal.directory=" + directory.resolve("wal"),
+                "--taskmanager.wal.durability=GROUP",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        createTask = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                        "{\"title\":\"Load test\",\"description\":\"Created by ExecutionModeBenchmark\",\"due_date\":\"%s\"}",
+                        LocalDate.now().plusDays(1))))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        application.close();
+        BenchmarkTasks.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int createTask() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(createTask, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("POST /api/v1/tasks answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
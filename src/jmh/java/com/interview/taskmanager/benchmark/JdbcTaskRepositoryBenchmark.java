@@ -0,0 +1,125 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.jdbc.JdbcTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.writebehind.WriteBehindTaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JDBC store on an in-memory H2 database, so the numbers show statement and index costs rather
+ * than the disk. Writing 100 tasks as one batched saveAll is compared with 100 separate saves, and
+ * the status and due-date pages match those in {@link TaskRepositoryBenchmark}. With write-behind the
+ * same operations go through the cache; saveHotTask keeps rewriting the same 100 tasks, as workers
+ * flipping statuses do, which is where coalescing pays off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JdbcTaskRepositoryBenchmark {
+
+    private static final int WRITES = 100;
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 3, 4);
+    private static final LocalDate OVERDUE_BEFORE = LocalDate.of(2030, 4, 1);
+    private static final EnumSet<TaskStatus> OPEN = EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    @Param({"none", "write-behind"})
+    public String cache;
+
+    private HikariDataSource dataSource;
+    private ITaskRepository taskRepository;
+    private Task[] replacements;
+
+    @Setup(Level.Trial)
+    public void fillStore() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark");
+        JdbcTaskRepository store = new JdbcTaskRepository(dataSource, 500);
+        replacements = new Task[tasks];
+        List<Task> chunk = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            Task task = BenchmarkTasks.task(i);
+            replacements[i] = task.withTitle("Renamed " + i);
+            chunk.add(task);
+            if (chunk.size() == 10_000) {
+                store.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        store.saveAll(chunk);
+        taskRepository = "write-behind".equals(cache)
+                ? new WriteBehindTaskRepository(store, 100_000, 10_000, 500, Duration.ofMillis(200))
+                : store;
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDataSource() throws Exception {
+        if (taskRepository instanceof WriteBehindTaskRepository writeBehind) {
+            writeBehind.close();
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Task saveHotTask() {
+        return taskRepository.save(replacements[ThreadLocalRandom.current().nextInt(WRITES)]);
+    }
+
+    @Benchmark
+    public int saveOneByOne() {
+        int start = ThreadLocalRandom.current().nextInt(tasks - WRITES);
+        for (int i = start; i < start + WRITES; i++) {
+            taskRepository.save(replacements[i]);
+        }
+        return start;
+    }
+
+    @Benchmark
+    public List<Task> saveAllBatched() {
+        int start = ThreadLocalRandom.current().nextInt(tasks - WRITES);
+        return taskRepository.saveAll(List.of(replacements).subList(start, start + WRITES));
+    }
+
+    @Benchmark
+    public List<Task> findPageByStatus() {
+        return taskRepository.findPage(TaskStatus.DONE, 0, 20);
+    }
+
+    @Benchmark
+    public List<Task> findPageDueInWeek() {
+        return taskRepository.findPageDueBetween(null, WEEK_START, WEEK_START.plusDays(6), 0, 20);
+    }
+
+    @Benchmark
+    public List<Task> findPageOverdue() {
+        return taskRepository.findPageDueBetween(OPEN, null, OVERDUE_BEFORE.minusDays(1), 0, 20);
+    }
+}
@@ -0,0 +1,98 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.snapshot.ColumnarSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.wal.Durability;
+import com.interview.taskmanager.infrastructure.repository.wal.WriteAheadLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup recovery time of the in-memory repository: replaying the whole write-ahead log against
+ * loading the newest snapshot and replaying only the log written after it. Both end in the same state:
+ * every task created, then a tail of updates made after the snapshot.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+
+    public enum Recovery {
+        FULL_REPLAY, SNAPSHOT_PLUS_TAIL
+    }
+
+    @Param({"1000000", "10000000"})
+    public int tasks;
+
+    @Param({"0.01"})
+    public double tailFraction;
+
+    @Param({"FULL_REPLAY", "SNAPSHOT_PLUS_TAIL"})
+    public Recovery recovery;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void writeStore() throws IOException {
+        directory = Files.createTempDirectory("task-recovery-");
+        try (WriteAheadLog wal = openLog()) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, openSnapshots());
+            for (int i = 0; i < tasks; i++) {
+                taskRepository.save(BenchmarkTasks.task(i));
+            }
+            if (recovery == Recovery.SNAPSHOT_PLUS_TAIL) {
+                taskRepository.checkpoint();
+            }
+            int tail = (int) (tasks * tailFraction);
+            for (int i = 0; i < tail; i++) {
+                Task task = taskRepository.findById(BenchmarkTasks.task(i).getId()).orElseThrow();
+                taskRepository.save(task.withStatus(TaskStatus.DONE));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        BenchmarkTasks.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public InMemoryTaskRepository recover() throws IOException {
+        try (WriteAheadLog wal = openLog()) {
+            return new InMemoryTaskRepository(wal, openSnapshots());
+        }
+    }
+
+    private WriteAheadLog openLog() throws IOException {
+        return new WriteAheadLog(directory.resolve("wal"), Durability.ASYNC, 256L * 1024 * 1024, 4096, Duration.ofMillis(100));
+    }
+
+    private TaskSnapshotStore openSnapshots() throws IOException {
+        return recovery == Recovery.SNAPSHOT_PLUS_TAIL
+                ? new ColumnarSnapshotStore(directory.resolve("snapshots"))
+                : TaskSnapshotStore.NONE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.interview.taskmanager.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of the packaged application in a fresh JVM, as the default fat jar and as the fast-startup
+ * build (the extracted jar run with its Spring AOT bean definitions and CDS archive). Every iteration
+ * launches a new process: {@code firstList} times it up to the first 200 from GET /api/v1/tasks, and
+ * {@code firstRequests} times the 10,000 requests that follow it, per request, while the server is still
+ * loading classes and compiling. Both builds come from one package run with the fast-startup profile:
+ * <pre>
+ * mvn -Pfast-startup,benchmark -DskipTests verify -Djmh.args="StartupBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    private static final int REQUESTS = 10_000;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @State(Scope.Thread)
+    public static class Application {
+
+        @Param({"default", "fast-startup"})
+        public String build;
+
+        private Process process;
+        private HttpClient client;
+        private HttpRequest listTasks;
+
+        void launch() throws IOException {
+            Path directory = Path.of("target", "fast-startup").toAbsolutePath();
+            Path jar;
+            try (Stream<Path> files = Files.list(directory)) {
+                jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No extracted jar in " + directory
+                                + "; package with -Pfast-startup first"));
+            }
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if ("fast-startup".equals(build)) {
+                command.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                        "-jar", jar.getFileName().toString()));
+            } else {
+                command.addAll(List.of("-jar", directory.getParent().resolve(jar.getFileName()).toString()));
+            }
+            command.addAll(List.of("--server.port=" + port, "--logging.level.root=WARN"));
+            process = new ProcessBuilder(command)
+                    .directory(directory.toFile())
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            listTasks = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks")).build();
+        }
+
+        int awaitFirstList() throws IOException, InterruptedException {
+            long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(listTasks, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return response.statusCode();
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No answer from GET /api/v1/tasks within " + STARTUP_TIMEOUT);
+        }
+
+        int list() throws IOException, InterruptedException {
+            HttpResponse<Void> response = client.send(listTasks, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/v1/tasks answered " + response.statusCode());
+            }
+            return response.statusCode();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StartedApplication extends Application {
+
+        @Setup(Level.Iteration)
+        public void start() throws IOException, InterruptedException {
+            launch();
+            awaitFirstList();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int firstList(Application application) throws IOException, InterruptedException {
+        application.launch();
+        return application.awaitFirstList();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(REQUESTS)
+    public int firstRequests(StartedApplication application) throws IOException, InterruptedException {
+        int answered = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            application.list();
+            answered++;
+        }
+        return answered;
+    }
+}
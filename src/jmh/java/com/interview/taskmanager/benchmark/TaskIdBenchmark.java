@@ -0,0 +1,92 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.id.UuidV7TaskIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task ids before and after the switch to UUIDv7: generating a random UUID string versus a
+ * time-ordered TaskId from four threads, and looking either kind of key up in a store-sized
+ * ConcurrentHashMap. The GC profiler's gc.alloc.rate.norm gives the bytes allocated per id; the
+ * bytes each map entry retains, key included, are measured with JOL during setup and printed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskIdBenchmark {
+
+    static {
+        // Unsafe refuses field offsets of records, so JOL has to find them by its own probing
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Param({"1000000"})
+    public int keys;
+
+    private final UuidV7TaskIdGenerator generator = new UuidV7TaskIdGenerator();
+    private Map<String, Object> stringKeyed;
+    private Map<TaskId, Object> taskIdKeyed;
+    private String[] stringKeys;
+    private TaskId[] taskIdKeys;
+
+    @Setup(Level.Trial)
+    public void fillMaps() {
+        stringKeyed = new ConcurrentHashMap<>();
+        taskIdKeyed = new ConcurrentHashMap<>();
+        stringKeys = new String[keys];
+        taskIdKeys = new TaskId[keys];
+        for (int i = 0; i < keys; i++) {
+            stringKeys[i] = UUID.randomUUID().toString();
+            stringKeyed.put(stringKeys[i], Boolean.TRUE);
+            taskIdKeys[i] = generator.next();
+            taskIdKeyed.put(taskIdKeys[i], Boolean.TRUE);
+        }
+        System.out.printf("%nString keys:  %d bytes per entry%nTaskId keys:  %d bytes per entry%n",
+                GraphLayout.parseInstance(stringKeyed).totalSize() / keys,
+                GraphLayout.parseInstance(taskIdKeyed).totalSize() / keys);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String randomUuidString() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TaskId uuidV7() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public Object findByStringKey() {
+        return stringKeyed.get(stringKeys[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public Object findByTaskIdKey() {
+        return taskIdKeyed.get(taskIdKeys[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.interview.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.taskmanager.api.TaskImportResponseDTO;
+import com.interview.taskmanager.api.TaskRequestDTO;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.infrastructure.importer.TaskImportFormat;
+import com.interview.taskmanager.infrastructure.importer.TaskImporter;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a CSV or NDJSON body through TaskImporter with one or more workers, against the same rows
+ * parsed up front and sent through validation and TaskService.createTask one at a time, as a client
+ * looping over POST /tasks would have them handled (without the HTTP round trips).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskImportBenchmark {
+
+    private static final LocalDate DUE = LocalDate.now().plusYears(1);
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private byte[] csv;
+    private byte[] ndjson;
+    private TaskRequestDTO[] requests;
+    private TaskService taskService;
+    private TaskImporter importer;
+
+    @Setup(Level.Trial)
+    public void writeBodies() throws IOException {
+        StringBuilder csvBody = new StringBuilder("title,description,status,due_date\n");
+        StringBuilder ndjsonBody = new StringBuilder();
+        requests = new TaskRequestDTO[rows];
+        for (int i = 0; i < rows; i++) {
+            TaskRequestDTO request = new TaskRequestDTO("Title " + i, "Description of task number " + i,
+                    null, DUE.plusDays(i % 365));
+            requests[i] = request;
+            csvBody.append(request.getTitle()).append(",\"").append(request.getDescription()).append("\",")
+                    .append(request.getStatus()).append(',').append(request.getDue_date()).append('\n');
+            ndjsonBody.append(objectMapper.writeValueAsString(request)).append('\n');
+        }
+        csv = csvBody.toString().getBytes(StandardCharsets.UTF_8);
+        ndjson = ndjsonBody.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyStore() {
+        taskService = new TaskService(new InMemoryTaskRepository());
+        importer = new TaskImporter(taskService, validator, objectMapper, parallelism, 2000, 1000, 1);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeImporter() {
+        importer.close();
+    }
+
+    @Benchmark
+    public TaskImportResponseDTO importCsv() throws Exception {
+        return importer.importTasks(new ByteArrayInputStream(csv), StandardCharsets.UTF_8, TaskImportFormat.CSV);
+    }
+
+    @Benchmark
+    public TaskImportResponseDTO importNdjson() throws Exception {
+        return importer.importTasks(new ByteArrayInputStream(ndjson), StandardCharsets.UTF_8, TaskImportFormat.NDJSON);
+    }
+
+    @Benchmark
+    public int createOneByOne() {
+        int created = 0;
+        for (TaskRequestDTO request : requests) {
+            if (validator.validate(request).isEmpty()) {
+                taskService.createTask(request);
+                created++;
+            }
+        }
+        return created;
+    }
+}
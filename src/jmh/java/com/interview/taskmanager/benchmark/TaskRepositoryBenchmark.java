@@ -0,0 +1,117 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.columnar.ColumnarTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the repository's basic operations as the store grows, for the in-memory and
+ * the columnar store. save overwrites existing tasks with a prepared copy, so the store keeps its size
+ * across iterations. The heap each store retains after filling is printed during setup. The due-date
+ * range queries ask for one week of the year the tasks are spread over, and for the first page of
+ * open tasks due before April, against the predicate scan clients used to fall back on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskRepositoryBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int tasks;
+
+    @Param({"memory", "columnar"})
+    public String store;
+
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 3, 4);
+    private static final LocalDate OVERDUE_BEFORE = LocalDate.of(2030, 4, 1);
+    private static final EnumSet<TaskStatus> OPEN = EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    private ITaskRepository taskRepository;
+    private TaskId[] ids;
+    private Task[] replacements;
+
+    @Setup(Level.Trial)
+    public void fillStore() {
+        ids = new TaskId[tasks];
+        replacements = new Task[tasks];
+        for (int i = 0; i < tasks; i++) {
+            Task task = BenchmarkTasks.task(i);
+            ids[i] = task.getId();
+            replacements[i] = task.withTitle("Renamed " + i);
+        }
+        long heapBefore = BenchmarkTasks.usedHeapAfterGc();
+        taskRepository = "columnar".equals(store) ? new ColumnarTaskRepository() : new InMemoryTaskRepository();
+        for (int i = 0; i < tasks; i++) {
+            taskRepository.save(BenchmarkTasks.task(i));
+        }
+        System.out.printf("%n%s store: %d bytes of heap per task%n", store,
+                (BenchmarkTasks.usedHeapAfterGc() - heapBefore) / tasks);
+    }
+
+    @Benchmark
+    public Task save() {
+        return taskRepository.save(replacements[ThreadLocalRandom.current().nextInt(tasks)]);
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return taskRepository.findById(ids[ThreadLocalRandom.current().nextInt(tasks)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageByStatus() {
+        return taskRepository.findPage(TaskStatus.DONE, 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageDueInWeek() {
+        return taskRepository.findPageDueBetween(null, WEEK_START, WEEK_START.plusDays(6), 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageOverdue() {
+        return taskRepository.findPageDueBetween(OPEN, null, OVERDUE_BEFORE.minusDays(1), 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> findDueInWeekWithPredicate() {
+        LocalDate weekEnd = WEEK_START.plusDays(6);
+        return taskRepository.findAll(task -> !task.isIsdeleted() && task.getDue_date() != null
+                && !task.getDue_date().isBefore(WEEK_START) && !task.getDue_date().isAfter(weekEnd));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> findAllWithPredicate() {
+        return taskRepository.findAll(task -> task.getStatus() == TaskStatus.DONE && !task.isIsdeleted());
+    }
+}
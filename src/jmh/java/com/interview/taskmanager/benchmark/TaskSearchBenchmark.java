@@ -0,0 +1,106 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.search.InvertedTaskIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search through the inverted index against the substring scan it replaces. Titles and
+ * descriptions draw their words from a fixed vocabulary with a skewed distribution, so queries mix
+ * rare and common words.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private InMemoryTaskRepository taskRepository;
+    private InvertedTaskIndex index;
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void fillIndex() {
+        words = new String[VOCABULARY];
+        Random random = new Random(7);
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 4 + random.nextInt(6); length > 0; length--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        taskRepository = new InMemoryTaskRepository();
+        index = new InvertedTaskIndex(taskRepository);
+        SplittableRandom picks = new SplittableRandom(11);
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task(new TaskId(0, i), sentence(picks, 3), sentence(picks, 10),
+                    STATUSES[i % STATUSES.length], LocalDate.of(2030, 1, 1).plusDays(i % 365));
+            index.onTaskChanged(taskRepository.save(task));
+        }
+    }
+
+    @Benchmark
+    public List<TaskId> searchOneWord() {
+        return index.search(words[500], null, TaskSearchOrder.RELEVANCE, 20);
+    }
+
+    @Benchmark
+    public List<TaskId> searchTwoWords() {
+        return index.search(words[3] + " " + words[40], TaskStatus.PENDING, TaskSearchOrder.DUE_DATE, 20);
+    }
+
+    @Benchmark
+    public List<TaskId> searchPrefix() {
+        return index.search(words[100].substring(0, 3) + "*", null, TaskSearchOrder.RELEVANCE, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> scanOneWord() {
+        String word = words[500];
+        return taskRepository.findAll(task -> !task.isIsdeleted()
+                && (task.getTitle().contains(word) || task.getDescription().contains(word)));
+    }
+
+    /**
+     * Words with a roughly Zipfian spread: low indexes are common, high ones rare.
+     */
+    private String sentence(SplittableRandom picks, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.min(VOCABULARY - 1, Math.pow(VOCABULARY, picks.nextDouble()) - 1);
+            sentence.append(i == 0 ? "" : " ").append(words[rank]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.interview.taskmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.interview.taskmanager.api.TaskResponseDTO;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.infrastructure.cache.JsonBody;
+import com.interview.taskmanager.infrastructure.cache.TaskJsonCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response path of a task list: mapping tasks to DTOs and writing them as JSON. The ObjectMapper
+ * is built the way Spring Boot builds the application's, so dates are written as ISO strings.
+ * cachedSlices is what the controllers do now: look up each task's bytes in a warm TaskJsonCache and
+ * assemble the array from them without serializing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+    @Param({"1", "20", "1000"})
+    public int pageSize;
+
+    private List<Task> page;
+    private List<TaskResponseDTO> dtos;
+    private ObjectWriter writer;
+    private TaskJsonCache cache;
+
+    @Setup(Level.Trial)
+    public void preparePage() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(BenchmarkTasks.task(i));
+        }
+        dtos = convert();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskResponseDTO.class));
+        cache = new TaskJsonCache(objectMapper, 64L * 1024 * 1024);
+        cache.bytes(page);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> convert() {
+        List<TaskResponseDTO> converted = new ArrayList<>(page.size());
+        for (Task task : page) {
+            converted.add(TaskResponseDTO.convertTaskToTaskResponseDTO(task));
+        }
+        return converted;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(convert());
+    }
+
+    @Benchmark
+    public JsonBody cachedSlices() {
+        return JsonBody.array(cache.bytes(page));
+    }
+}
@@ -0,0 +1,64 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing through TaskService.getAllTasks, with and without a status filter, at increasing page
+ * numbers. Offset pages walk the due-date index from its start, so the cost grows with the page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int tasks;
+
+    @Param({"0", "100", "10000"})
+    public int page;
+
+    @Param({"20"})
+    public int size;
+
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void fillStore() {
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+        for (int i = 0; i < tasks; i++) {
+            taskRepository.save(BenchmarkTasks.task(i));
+        }
+        taskService = new TaskService(taskRepository);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks(null, page, size);
+    }
+
+    @Benchmark
+    public List<Task> getAllTasksByStatus() {
+        return taskService.getAllTasks(TaskStatus.IN_PROGRESS, page, size);
+    }
+}
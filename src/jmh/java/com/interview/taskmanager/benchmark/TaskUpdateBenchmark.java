@@ -0,0 +1,96 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.api.TaskUpdateRequestDTO;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.updateTask throughput as writer threads are added. hotTasks is how many tasks the
+ * writers share: a small set makes them collide on the same ids and retry their compare-and-set,
+ * a large one measures the uncontended path. JMH only takes the thread count from an annotation or
+ * -t, so each count is its own method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TaskUpdateBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"100000"})
+    public int tasks;
+
+    @Param({"16", "100000"})
+    public int hotTasks;
+
+    private TaskService taskService;
+    private TaskId[] ids;
+    private TaskUpdateRequestDTO[] updates;
+
+    @Setup(Level.Trial)
+    public void fillStore() {
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+        ids = new TaskId[tasks];
+        for (int i = 0; i < tasks; i++) {
+            ids[i] = taskRepository.save(BenchmarkTasks.task(i)).getId();
+        }
+        updates = new TaskUpdateRequestDTO[STATUSES.length];
+        for (int i = 0; i < STATUSES.length; i++) {
+            updates[i] = new TaskUpdateRequestDTO(null, null, STATUSES[i], null);
+        }
+        taskService = new TaskService(taskRepository);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Task update_1() throws TaskNotFoundException, TaskVersionMismatchException {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Task update_4() throws TaskNotFoundException, TaskVersionMismatchException {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Task update_16() throws TaskNotFoundException, TaskVersionMismatchException {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Task update_64() throws TaskNotFoundException, TaskVersionMismatchException {
+        return update();
+    }
+
+    private Task update() throws TaskNotFoundException, TaskVersionMismatchException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return taskService.updateTask(ids[random.nextInt(hotTasks)], updates[random.nextInt(updates.length)], null);
+    }
+}
@@ -0,0 +1,124 @@
+package com.interview.taskmanager.benchmark;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.tiered.TieredTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory store against the tiered one with four tasks in five DONE and moved to disk. The heap
+ * each retains is printed during setup. Reads by id are split into active tasks, which stay in memory,
+ * and finished ones, which the tiered store reads from its mapped segments (mostly past the cache of
+ * decoded tasks, as the ids are random). Listings of open tasks only touch memory; listings that
+ * include DONE tasks merge the tiers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TieredTaskRepositoryBenchmark {
+
+    @Param({"1000000"})
+    public int tasks;
+
+    @Param({"memory", "tiered"})
+    public String store;
+
+    private ITaskRepository taskRepository;
+    private TaskId[] active;
+    private TaskId[] finished;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void fillStore() throws IOException {
+        active = new TaskId[tasks / 5];
+        finished = new TaskId[tasks - active.length];
+        long heapBefore = BenchmarkTasks.usedHeapAfterGc();
+        InMemoryTaskRepository memory = new InMemoryTaskRepository();
+        taskRepository = memory;
+        if ("tiered".equals(store)) {
+            directory = Files.createTempDirectory("tiered-benchmark");
+            taskRepository = new TieredTaskRepository(memory, directory, 10_000, 8, 1_000_000, false);
+        }
+        for (int i = 0; i < tasks; i++) {
+            Task task = BenchmarkTasks.task(i);
+            if (i % 5 == 0) {
+                task = task.withStatus(i % 10 == 0 ? TaskStatus.PENDING : TaskStatus.IN_PROGRESS);
+                active[i / 5] = task.getId();
+            } else {
+                task = task.withStatus(TaskStatus.DONE);
+                finished[i - i / 5 - 1] = task.getId();
+            }
+            taskRepository.save(task);
+        }
+        if (taskRepository instanceof TieredTaskRepository tiered) {
+            while (tiered.migrate(Instant.now().plusSeconds(1), 100_000) > 0) {
+                tiered.compact();
+            }
+        }
+        System.out.printf("%n%s store: %d bytes of heap per task%n", store,
+                (BenchmarkTasks.usedHeapAfterGc() - heapBefore) / tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSegments() throws IOException {
+        if (taskRepository instanceof TieredTaskRepository tiered) {
+            tiered.close();
+        }
+        BenchmarkTasks.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<Task> findActiveById() {
+        return taskRepository.findById(active[ThreadLocalRandom.current().nextInt(active.length)]);
+    }
+
+    @Benchmark
+    public Optional<Task> findFinishedById() {
+        return taskRepository.findById(finished[ThreadLocalRandom.current().nextInt(finished.length)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageOfOpenTasks() {
+        return taskRepository.findPage(TaskStatus.PENDING, 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageOfDoneTasks() {
+        return taskRepository.findPage(TaskStatus.DONE, 0, 20);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Task> findPageOfAllTasks() {
+        return taskRepository.findPage(null, 0, 20);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.taskmanager.api;
+
+import jakarta.validation.Validator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Validates requests that do not arrive as a single request body, such as the items of a batch or the
+ * rows of an import, and reports them in the shape GlobalExceptionHandler gives an invalid request
+ * body: the message per field, empty when the request is valid.
+ */
+public final class RequestViolations {
+
+    private RequestViolations() {
+    }
+
+    public static <T> Map<String, String> of(Validator validator, T request) {
+        Map<String, String> errors = new HashMap<>();
+        validator.validate(request).forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+}
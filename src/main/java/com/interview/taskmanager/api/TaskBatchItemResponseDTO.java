@@ -0,0 +1,101 @@
+package com.interview.taskmanager.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.interview.taskmanager.domain.models.Task;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Map;
+
+/**
+ * The outcome of one batch item. status is the HTTP status the same request would have received on
+ * its own; error and errors carry the body the single-item endpoint would have returned.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchItemResponseDTO {
+
+    private int index;
+    private String id;
+    private int status;
+    private TaskResponseDTO task;
+    private String error;
+    private Map<String, String> errors;
+
+    public TaskBatchItemResponseDTO() {
+    }
+
+    public TaskBatchItemResponseDTO(int index, String id, int status, TaskResponseDTO task, String error, Map<String, String> errors) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.task = task;
+        this.error = error;
+        this.errors = errors;
+    }
+
+    public static TaskBatchItemResponseDTO convertTaskToTaskBatchItemResponseDTO(int index, HttpStatus status, Task task){
+        return new TaskBatchItemResponseDTO(index, task.getId().toString(), status.value(), TaskResponseDTO.convertTaskToTaskResponseDTO(task), null, null);
+    }
+
+    public static TaskBatchItemResponseDTO convertViolationsToTaskBatchItemResponseDTO(int index, String id, Map<String, String> errors){
+        return new TaskBatchItemResponseDTO(index, id, HttpStatus.BAD_REQUEST.value(), null, null, errors);
+    }
+
+    /**
+     * Uses the status the exception declares with @ResponseStatus, as the exception handlers do.
+     */
+    public static TaskBatchItemResponseDTO convertFailureToTaskBatchItemResponseDTO(int index, String id, Exception failure){
+        ResponseStatus declared = AnnotatedElementUtils.findMergedAnnotation(failure.getClass(), ResponseStatus.class);
+        HttpStatus status = declared == null ? HttpStatus.INTERNAL_SERVER_ERROR : declared.code();
+        return new TaskBatchItemResponseDTO(index, id, status.value(), null, failure.getMessage(), null);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,54 @@
+package com.interview.taskmanager.api;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates, updates and deletes applied by one batch call. Items are deliberately not cascaded into
+ * with @Valid: each one is validated on its own so one bad item fails alone instead of the batch.
+ */
+public class TaskBatchRequestDTO {
+    public static final int MAX_ITEMS = 1000;
+
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " creates per batch")
+    private List<TaskRequestDTO> create = new ArrayList<>();
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " updates per batch")
+    private List<TaskBatchUpdateRequestDTO> update = new ArrayList<>();
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " deletes per batch")
+    private List<String> delete = new ArrayList<>();
+
+    public TaskBatchRequestDTO() {
+    }
+
+    public TaskBatchRequestDTO(List<TaskRequestDTO> create, List<TaskBatchUpdateRequestDTO> update, List<String> delete) {
+        setCreate(create);
+        setUpdate(update);
+        setDelete(delete);
+    }
+
+    public List<TaskRequestDTO> getCreate() {
+        return create;
+    }
+
+    public void setCreate(List<TaskRequestDTO> create) {
+        this.create = create == null ? new ArrayList<>() : create;
+    }
+
+    public List<TaskBatchUpdateRequestDTO> getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(List<TaskBatchUpdateRequestDTO> update) {
+        this.update = update == null ? new ArrayList<>() : update;
+    }
+
+    public List<String> getDelete() {
+        return delete;
+    }
+
+    public void setDelete(List<String> delete) {
+        this.delete = delete == null ? new ArrayList<>() : delete;
+    }
+}
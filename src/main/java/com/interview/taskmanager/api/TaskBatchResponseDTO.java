@@ -0,0 +1,43 @@
+package com.interview.taskmanager.api;
+
+import java.util.List;
+
+public class TaskBatchResponseDTO {
+
+    private List<TaskBatchItemResponseDTO> create;
+    private List<TaskBatchItemResponseDTO> update;
+    private List<TaskBatchItemResponseDTO> delete;
+
+    public TaskBatchResponseDTO() {
+    }
+
+    public TaskBatchResponseDTO(List<TaskBatchItemResponseDTO> create, List<TaskBatchItemResponseDTO> update, List<TaskBatchItemResponseDTO> delete) {
+        this.create = create;
+        this.update = update;
+        this.delete = delete;
+    }
+
+    public List<TaskBatchItemResponseDTO> getCreate() {
+        return create;
+    }
+
+    public void setCreate(List<TaskBatchItemResponseDTO> create) {
+        this.create = create;
+    }
+
+    public List<TaskBatchItemResponseDTO> getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(List<TaskBatchItemResponseDTO> update) {
+        this.update = update;
+    }
+
+    public List<TaskBatchItemResponseDTO> getDelete() {
+        return delete;
+    }
+
+    public void setDelete(List<TaskBatchItemResponseDTO> delete) {
+        this.delete = delete;
+    }
+}
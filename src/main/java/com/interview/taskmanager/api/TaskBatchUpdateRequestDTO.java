@@ -0,0 +1,41 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+
+/**
+ * One update in a batch: the fields of a single PUT plus the task id and, in place of If-Match, an
+ * optional version the task must still be at.
+ */
+public class TaskBatchUpdateRequestDTO extends TaskUpdateRequestDTO {
+    @NotBlank(message = "Id is mandatory")
+    private String id;
+    private Long version;
+
+    public TaskBatchUpdateRequestDTO() {
+    }
+
+    public TaskBatchUpdateRequestDTO(String id, Long version, String title, String description, TaskStatus status, LocalDate due_date) {
+        super(title, description, status, due_date);
+        this.id = id;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.Task;
+
+/**
+ * One change from the feed. task is the task as stored by the change; a subscriber may see changes to
+ * one task out of version order and should keep the highest version.
+ */
+public class TaskChangeDTO {
+
+    private long sequence;
+    private long version;
+    private boolean deleted;
+    private TaskResponseDTO task;
+
+    public TaskChangeDTO() {
+    }
+
+    public TaskChangeDTO(long sequence, long version, boolean deleted, TaskResponseDTO task) {
+        this.sequence = sequence;
+        this.version = version;
+        this.deleted = deleted;
+        this.task = task;
+    }
+
+    public static TaskChangeDTO convertTaskToTaskChangeDTO(long sequence, Task task){
+        return new TaskChangeDTO(sequence, task.getVersion(), task.isIsdeleted(), TaskResponseDTO.convertTaskToTaskResponseDTO(task));
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,49 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for GET /api/v1/tasks. It encodes the (due_date, id) of the last task a
+ * client has seen so the next page resumes from the index instead of counting an offset.
+ */
+public final class TaskCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private TaskCursor() {
+    }
+
+    public static String encode(DueDateKey key) {
+        String dueDate = key.dueDate() == null ? "" : Long.toString(key.dueDate().toEpochDay());
+        String raw = dueDate + SEPARATOR + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}. A blank cursor means "start from the first task".
+     */
+    public static DueDateKey decode(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            String dueDate = raw.substring(0, separator);
+            TaskId id = TaskId.parse(raw.substring(separator + 1));
+            return new DueDateKey(dueDate.isEmpty() ? null : LocalDate.ofEpochDay(Long.parseLong(dueDate)), id);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
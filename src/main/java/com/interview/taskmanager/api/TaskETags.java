@@ -0,0 +1,80 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maps task versions to HTTP entity tags. A task's ETag is its version number, quoted. A list page's
+ * ETag names the repository modification count it was read at and the query that selected it.
+ */
+public final class TaskETags {
+
+    // Modification counts restart with the process; tags from another run or instance must not match
+    private static final String INSTANCE = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private TaskETags() {
+    }
+
+    public static String of(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    public static String ofPage(long modificationCount, TaskStatus status, int page, int size) {
+        return "\"" + INSTANCE + "." + modificationCount + "." + status + "." + page + "." + size + "\"";
+    }
+
+    /**
+     * overdueAsOf is part of the tag because the overdue page moves at midnight without any change.
+     */
+    public static String ofPage(long modificationCount, TaskStatus status, LocalDate dueFrom, LocalDate dueTo, LocalDate overdueAsOf, int page, int size) {
+        return "\"" + INSTANCE + "." + modificationCount + "." + status + "." + dueFrom + "." + dueTo + "." + overdueAsOf
+                + "." + page + "." + size + "\"";
+    }
+
+    public static String ofCursorPage(long modificationCount, TaskStatus status, String cursor, int size) {
+        return "\"" + INSTANCE + "." + modificationCount + "." + status + ".c" + cursor + "." + size + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header names eTag, in which case the client's copy is current. The
+     * comparison is weak, as the header requires, so W/"x" matches "x".
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or null when any version is acceptable.
+     * Weak or unparseable tags can never match a strong version tag, so they fail the precondition.
+     */
+    public static Long parseIfMatch(String ifMatch) throws TaskVersionMismatchException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new TaskVersionMismatchException("If-Match does not name a task version: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new TaskVersionMismatchException("If-Match does not name a task version: " + ifMatch);
+        }
+    }
+}
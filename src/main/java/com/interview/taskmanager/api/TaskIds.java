@@ -0,0 +1,22 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+
+/**
+ * Parses task ids taken from requests. A string that is not a task id cannot name a stored task, so
+ * it is answered the same way as an unknown id.
+ */
+public final class TaskIds {
+
+    private TaskIds() {
+    }
+
+    public static TaskId parse(String id) throws TaskNotFoundException {
+        try {
+            return TaskId.parse(id);
+        } catch (IllegalArgumentException ex) {
+            throw new TaskNotFoundException("Task not found with ID: " + id);
+        }
+    }
+}
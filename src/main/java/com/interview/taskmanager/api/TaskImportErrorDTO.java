@@ -0,0 +1,33 @@
+package com.interview.taskmanager.api;
+
+import java.util.Map;
+
+public class TaskImportErrorDTO {
+
+    private long line;
+    private Map<String, String> errors;
+
+    public TaskImportErrorDTO() {
+    }
+
+    public TaskImportErrorDTO(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
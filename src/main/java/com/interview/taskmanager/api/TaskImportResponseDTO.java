@@ -0,0 +1,57 @@
+package com.interview.taskmanager.api;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were stored and how many were rejected, with the errors of the
+ * first rejected rows. errorsTruncated is set when more rows were rejected than are listed.
+ */
+public class TaskImportResponseDTO {
+
+    private long imported;
+    private long failed;
+    private List<TaskImportErrorDTO> errors;
+    private boolean errorsTruncated;
+
+    public TaskImportResponseDTO() {
+    }
+
+    public TaskImportResponseDTO(long imported, long failed, List<TaskImportErrorDTO> errors, boolean errorsTruncated) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<TaskImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TaskImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
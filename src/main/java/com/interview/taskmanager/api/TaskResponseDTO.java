@@ -26,7 +26,7 @@ public class TaskResponseDTO {
 
     public static TaskResponseDTO convertTaskToTaskResponseDTO(Task task){
         return new TaskResponseDTO(
-                task.getId(),
+                task.getId().toString(),
                 task.getTitle(),
                 task.getDescription(),
                 task.getStatus(),
@@ -0,0 +1,40 @@
+package com.interview.taskmanager.api;
+
+import com.interview.taskmanager.domain.models.TaskStatus;
+
+import java.util.Map;
+
+public class TaskStatsResponseDTO {
+
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+
+    public TaskStatsResponseDTO() {
+    }
+
+    public TaskStatsResponseDTO(long total, Map<TaskStatus, Long> byStatus) {
+        this.total = total;
+        this.byStatus = byStatus;
+    }
+
+    public static TaskStatsResponseDTO convertCountsToTaskStatsResponseDTO(Map<TaskStatus, Long> counts){
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new TaskStatsResponseDTO(total, counts);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<TaskStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+}
@@ -0,0 +1,23 @@
+package com.interview.taskmanager.application.service;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+
+/**
+ * The outcome of one item of a batch update or delete: the stored task, or the exception the
+ * single-item operation would have thrown.
+ */
+public record TaskBatchResult(TaskId id, Task task, Exception failure) {
+
+    public static TaskBatchResult succeeded(Task task) {
+        return new TaskBatchResult(task.getId(), task, null);
+    }
+
+    public static TaskBatchResult failed(TaskId id, Exception failure) {
+        return new TaskBatchResult(id, null, failure);
+    }
+
+    public boolean isSucceeded() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.interview.taskmanager.application.service;
+
+import com.interview.taskmanager.api.TaskUpdateRequestDTO;
+import com.interview.taskmanager.domain.models.TaskId;
+
+/**
+ * One update of a batch: the task, the version it must still be at (null for any), and the changes.
+ */
+public record TaskBatchUpdate(TaskId id, Long expectedVersion, TaskUpdateRequestDTO changes) {
+}
@@ -0,0 +1,17 @@
+package com.interview.taskmanager.application.service;
+
+import com.interview.taskmanager.domain.models.Task;
+
+/**
+ * Told about every task the service stores: creates, updates and deletes, single or batched. Called
+ * after the repository write returns, from the writing thread and possibly from many threads at once,
+ * so notifications for one task can arrive out of order; the task's version says which is newest.
+ * Listeners must be quick and must not throw.
+ */
+public interface TaskChangeListener {
+
+    /**
+     * @param task the task as stored, with its new version; soft-deleted tasks arrive with isIsdeleted set
+     */
+    void onTaskChanged(Task task);
+}
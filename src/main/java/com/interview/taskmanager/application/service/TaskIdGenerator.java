@@ -0,0 +1,11 @@
+package com.interview.taskmanager.application.service;
+
+import com.interview.taskmanager.domain.models.TaskId;
+
+/**
+ * Source of ids for new tasks. Implementations must be safe to call from many threads at once.
+ */
+public interface TaskIdGenerator {
+
+    TaskId next();
+}
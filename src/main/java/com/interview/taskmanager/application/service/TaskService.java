@@ -2,39 +2,310 @@ package com.interview.taskmanager.application.service;
 
 import com.interview.taskmanager.api.TaskRequestDTO;
 import com.interview.taskmanager.api.TaskUpdateRequestDTO;
+import com.interview.taskmanager.domain.models.DueDateKey;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
 import com.interview.taskmanager.domain.models.TaskStatus;
 import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.domain.repository.ITaskSearchIndex;
 import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+import com.interview.taskmanager.infrastructure.id.UuidV7TaskIdGenerator;
+import com.interview.taskmanager.infrastructure.metrics.TaskMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
     private final ITaskRepository taskRepository;
+    private final TaskMetrics taskMetrics;
+    private final TaskIdGenerator idGenerator;
+    private final ITaskSearchIndex searchIndex;
+    private final List<TaskChangeListener> changeListeners;
 
     public TaskService(ITaskRepository taskRepository){
+        this(taskRepository, TaskMetrics.NONE, new UuidV7TaskIdGenerator(), (query, status, order, limit) -> List.of(), List.of());
+    }
+
+    @Autowired
+    public TaskService(ITaskRepository taskRepository, TaskMetrics taskMetrics, TaskIdGenerator idGenerator,
+                       ITaskSearchIndex searchIndex, List<TaskChangeListener> changeListeners){
         this.taskRepository = taskRepository;
+        this.taskMetrics = taskMetrics;
+        this.idGenerator = idGenerator;
+        this.searchIndex = searchIndex;
+        this.changeListeners = List.copyOf(changeListeners);
     }
 
     public Task createTask(TaskRequestDTO taskRequestDTO) {
-        Task task = new Task(
-                UUID.randomUUID().toString(),
+        long start = System.nanoTime();
+        try {
+            return changed(taskRepository.save(newTask(taskRequestDTO)));
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.CREATE, start);
+        }
+    }
+
+    public Task getTask(TaskId id) throws TaskNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return findTask(id);
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.GET, start);
+        }
+    }
+
+    /**
+     * Applies the non-null fields of the request. The change is derived from the current version and
+     * stored with a compare-and-set; if another write replaced that version first, the update is
+     * re-derived from the newer one. When expectedVersion is given, the update is refused instead if
+     * the task is no longer at that version.
+     */
+    public Task updateTask(TaskId id, TaskUpdateRequestDTO updatedRequest, Long expectedVersion) throws TaskNotFoundException, TaskVersionMismatchException {
+        long start = System.nanoTime();
+        try {
+            return changed(update(id, updatedRequest, expectedVersion));
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.UPDATE, start);
+        }
+    }
+
+    public void deleteTask(TaskId id) throws TaskNotFoundException {
+        long start = System.nanoTime();
+        try {
+            changed(delete(id));
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.DELETE, start);
+        }
+    }
+
+    /**
+     * Creates every task with a single repository write, returned in request order.
+     */
+    public List<Task> createTasks(List<TaskRequestDTO> taskRequestDTOs) {
+        List<Task> tasks = new ArrayList<>(taskRequestDTOs.size());
+        for (TaskRequestDTO taskRequestDTO : taskRequestDTOs) {
+            tasks.add(newTask(taskRequestDTO));
+        }
+        return importTasks(tasks);
+    }
+
+    /**
+     * The task a create request describes, with a fresh id, not stored yet. Safe to call from many
+     * threads, so bulk imports build tasks in parallel and store them with {@link #importTasks}.
+     */
+    public Task newTask(TaskRequestDTO taskRequestDTO) {
+        return new Task(
+                idGenerator.next(),
                 taskRequestDTO.getTitle(),
                 taskRequestDTO.getDescription(),
                 taskRequestDTO.getStatus(),
                 taskRequestDTO.getDue_date()
         );
-        return taskRepository.save(task);
     }
 
-    public Task getTask(String id) throws TaskNotFoundException {
+    /**
+     * Stores tasks built by {@link #newTask} with a single repository write, returned in the given order.
+     */
+    public List<Task> importTasks(List<Task> tasks) {
+        List<Task> created = taskRepository.saveAll(tasks);
+        created.forEach(this::changed);
+        return created;
+    }
+
+    /**
+     * Batch form of {@link #updateTask}. Every update is derived from what is stored now and all of them
+     * are written with one compare-and-set batch; the few that lose a race, including later updates to
+     * an id the same batch already changed, fall back to the single-item retry loop.
+     */
+    public List<TaskBatchResult> updateTasks(List<TaskBatchUpdate> updates) {
+        TaskBatchResult[] results = new TaskBatchResult[updates.size()];
+        List<Task> candidates = new ArrayList<>(updates.size());
+        List<Integer> positions = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            TaskBatchUpdate update = updates.get(i);
+            try {
+                candidates.add(applyUpdate(findTask(update.id(), update.expectedVersion()), update.changes()));
+                positions.add(i);
+            } catch (TaskNotFoundException | TaskVersionMismatchException ex) {
+                results[i] = TaskBatchResult.failed(update.id(), ex);
+            }
+        }
+        List<Optional<Task>> stored = taskRepository.compareAndSetAll(candidates);
+        for (int j = 0; j < stored.size(); j++) {
+            int i = positions.get(j);
+            TaskBatchUpdate update = updates.get(i);
+            if (stored.get(j).isPresent()) {
+                results[i] = TaskBatchResult.succeeded(stored.get(j).get());
+                continue;
+            }
+            try {
+                results[i] = TaskBatchResult.succeeded(update(update.id(), update.changes(), update.expectedVersion()));
+            } catch (TaskNotFoundException | TaskVersionMismatchException ex) {
+                results[i] = TaskBatchResult.failed(update.id(), ex);
+            }
+        }
+        return notifySucceeded(results);
+    }
+
+    /**
+     * Batch form of {@link #deleteTask}, written the same way as {@link #updateTasks}.
+     */
+    public List<TaskBatchResult> deleteTasks(List<TaskId> ids) {
+        TaskBatchResult[] results = new TaskBatchResult[ids.size()];
+        List<Task> candidates = new ArrayList<>(ids.size());
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                candidates.add(findTask(ids.get(i)).asDeleted());
+                positions.add(i);
+            } catch (TaskNotFoundException ex) {
+                results[i] = TaskBatchResult.failed(ids.get(i), ex);
+            }
+        }
+        List<Optional<Task>> stored = taskRepository.compareAndSetAll(candidates);
+        for (int j = 0; j < stored.size(); j++) {
+            int i = positions.get(j);
+            if (stored.get(j).isPresent()) {
+                results[i] = TaskBatchResult.succeeded(stored.get(j).get());
+                continue;
+            }
+            try {
+                results[i] = TaskBatchResult.succeeded(delete(ids.get(i)));
+            } catch (TaskNotFoundException ex) {
+                results[i] = TaskBatchResult.failed(ids.get(i), ex);
+            }
+        }
+        return notifySucceeded(results);
+    }
+
+    public List<Task> getAllTasks(TaskStatus status, Integer page, Integer size) {
+        long start = System.nanoTime();
+        try {
+            // Served straight from the repository's due-date indexes, no copy or sort of the store
+            return taskRepository.findPage(status, page, size);
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.LIST, start);
+        }
+    }
+
+    /**
+     * Tasks due between dueFrom and dueTo, both inclusive and either open when null. With overdueAsOf
+     * set, only tasks due before that day that are not DONE are returned. Answered from a range of the
+     * due-date index, not by filtering the store.
+     */
+    public List<Task> getTasksDueBetween(TaskStatus status, LocalDate dueFrom, LocalDate dueTo, LocalDate overdueAsOf, Integer page, Integer size) {
+        long start = System.nanoTime();
+        try {
+            Set<TaskStatus> statuses = status == null ? null : EnumSet.of(status);
+            if (overdueAsOf != null) {
+                LocalDate lastOverdueDay = overdueAsOf.minusDays(1);
+                dueTo = dueTo == null || dueTo.isAfter(lastOverdueDay) ? lastOverdueDay : dueTo;
+                statuses = EnumSet.complementOf(EnumSet.of(TaskStatus.DONE));
+                if (status != null) {
+                    statuses.retainAll(EnumSet.of(status));
+                }
+            }
+            return taskRepository.findPageDueBetween(statuses, dueFrom, dueTo, page, size);
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.LIST, start);
+        }
+    }
+
+    public List<Task> getTasksAfter(TaskStatus status, DueDateKey after, Integer size) {
+        long start = System.nanoTime();
+        try {
+            return taskRepository.findAfter(status, after, size);
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.LIST, start);
+        }
+    }
+
+    /**
+     * Full-text search over titles and descriptions. The index only yields ids; each hit is re-read
+     * from the repository so the response reflects the stored task, and hits deleted in the meantime
+     * are dropped.
+     */
+    public List<Task> searchTasks(String query, TaskStatus status, TaskSearchOrder order, int size) {
+        long start = System.nanoTime();
+        try {
+            List<Task> found = new ArrayList<>();
+            for (TaskId id : searchIndex.search(query, status, order, size)) {
+                taskRepository.findById(id)
+                        .filter(task -> !task.isIsdeleted())
+                        .ifPresent(found::add);
+            }
+            return found;
+        } finally {
+            taskMetrics.record(TaskMetrics.Operation.SEARCH, start);
+        }
+    }
+
+    /**
+     * The repository's modification count. Read it before a page: a page read afterwards reflects at
+     * least every change it counts, so the count can stand in for the page's version.
+     */
+    public long getModificationCount() {
+        return taskRepository.modificationCount();
+    }
+
+    public Stream<Task> exportTasks(TaskStatus status) {
+        return taskRepository.streamByDueDate(status);
+    }
+
+    public Map<TaskStatus, Long> getTaskCounts() {
+        return taskRepository.countByStatus();
+    }
+
+    private Task update(TaskId id, TaskUpdateRequestDTO updatedRequest, Long expectedVersion) throws TaskNotFoundException, TaskVersionMismatchException {
+        while (true) {
+            Task existingTask = findTask(id, expectedVersion);
+            Optional<Task> storedTask = taskRepository.compareAndSet(existingTask.getVersion(), applyUpdate(existingTask, updatedRequest));
+            if (storedTask.isPresent()) {
+                return storedTask.get();
+            }
+        }
+    }
+
+    private Task delete(TaskId id) throws TaskNotFoundException {
+        while (true) {
+            Task existingTask = findTask(id);
+            Optional<Task> deletedTask = taskRepository.compareAndSet(existingTask.getVersion(), existingTask.asDeleted());
+            if (deletedTask.isPresent()) {
+                return deletedTask.get();
+            }
+        }
+    }
+
+    private Task changed(Task task) {
+        for (TaskChangeListener listener : changeListeners) {
+            listener.onTaskChanged(task);
+        }
+        return task;
+    }
+
+    private List<TaskBatchResult> notifySucceeded(TaskBatchResult[] results) {
+        for (TaskBatchResult result : results) {
+            if (result.isSucceeded()) {
+                changed(result.task());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Task findTask(TaskId id) throws TaskNotFoundException {
         Optional<Task> existingTask = taskRepository.findById(id);
         //Early return pattern
         if(existingTask.isEmpty() || existingTask.get().isIsdeleted()){
@@ -43,45 +314,28 @@ public class TaskService {
         return existingTask.get();
     }
 
-    public Task updateTask(String id, TaskUpdateRequestDTO updatedRequest) throws TaskNotFoundException {
-        Task existingTask = getTask(id);
+    private Task findTask(TaskId id, Long expectedVersion) throws TaskNotFoundException, TaskVersionMismatchException {
+        Task existingTask = findTask(id);
+        if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+            throw new TaskVersionMismatchException("Task " + id + " is at version " + existingTask.getVersion() + ", not " + expectedVersion);
+        }
+        return existingTask;
+    }
+
+    private static Task applyUpdate(Task existingTask, TaskUpdateRequestDTO updatedRequest) {
+        Task updatedTask = existingTask;
         if(updatedRequest.getTitle() != null) {
-            existingTask.setTitle(updatedRequest.getTitle());
+            updatedTask = updatedTask.withTitle(updatedRequest.getTitle());
         }
         if(updatedRequest.getDescription() != null) {
-            existingTask.setDescription(updatedRequest.getDescription());
+            updatedTask = updatedTask.withDescription(updatedRequest.getDescription());
         }
         if(updatedRequest.getStatus() != null) {
-            existingTask.setStatus(updatedRequest.getStatus());
+            updatedTask = updatedTask.withStatus(updatedRequest.getStatus());
         }
         if(updatedRequest.getDue_date() != null) {
-            existingTask.setDue_date(updatedRequest.getDue_date());
+            updatedTask = updatedTask.withDue_date(updatedRequest.getDue_date());
         }
-        return taskRepository.save(existingTask);
-    }
-
-    public void deleteTask(String id) throws TaskNotFoundException {
-        Task existingTask = getTask(id);
-        existingTask.setIsdeleted(true);
-        taskRepository.save(existingTask);
-    }
-
-    public List<Task> getAllTasks(TaskStatus status, Integer page, Integer size) {
-        List<Task> tasks;
-        if (status != null) {
-            Predicate<Task> filter = task -> task.getStatus().equals(status);
-            tasks = taskRepository.findAll(filter);
-        } else {
-            tasks = taskRepository.findAll();
-        }
-
-        // Sort all tasks by due date
-        tasks.sort(Comparator.comparing(Task::getDue_date));
-
-        // Apply pagination
-        int start = Math.min(page * size, tasks.size());
-        int end = Math.min(start + size, tasks.size());
-
-        return tasks.subList(start, end).stream().filter(task -> !task.isIsdeleted()).toList();
+        return updatedTask;
     }
 }
@@ -0,0 +1,24 @@
+package com.interview.taskmanager.domain.models;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Position of a task in due-date order. Ties on the due date are broken by id so every task has a
+ * unique, stable slot; tasks without a due date sort last.
+ */
+public record DueDateKey(LocalDate dueDate, TaskId id) implements Comparable<DueDateKey> {
+
+    private static final Comparator<DueDateKey> ORDER = Comparator
+            .comparing(DueDateKey::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DueDateKey::id);
+
+    public static DueDateKey of(Task task) {
+        return new DueDateKey(task.getDue_date(), task.getId());
+    }
+
+    @Override
+    public int compareTo(DueDateKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -3,71 +3,83 @@ package com.interview.taskmanager.domain.models;
 import java.time.LocalDate;
 import java.util.Objects;
 
-public class Task {
-    private String id;
-    private String title;
-    private String description;
-    private TaskStatus status;
-    private LocalDate due_date;
-    private boolean isdeleted;
-
-    public Task() {
-    }
-
-    public Task(String id, String title, String description, TaskStatus status, LocalDate due_date) {
+/**
+ * Immutable snapshot of a task at one version. Changes are made by deriving a copy with the with*
+ * methods and handing it to the repository, which assigns the next version when it stores it.
+ */
+public final class Task {
+    private final TaskId id;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final LocalDate due_date;
+    private final boolean isdeleted;
+    private final long version;
+
+    public Task(TaskId id, String title, String description, TaskStatus status, LocalDate due_date) {
+        this(id, title, description, status, due_date, false, 0);
+    }
+
+    public Task(TaskId id, String title, String description, TaskStatus status, LocalDate due_date, boolean isdeleted, long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status;
         this.due_date = due_date;
+        this.isdeleted = isdeleted;
+        this.version = version;
     }
 
-    public String getId() {
+    public TaskId getId() {
         return id;
     }
 
-    public void setId(String id) {
-        this.id = id;
-    }
-
     public String getTitle() {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public String getDescription() {
         return description;
     }
 
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
     public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(TaskStatus status) {
-        this.status = status;
-    }
-
     public LocalDate getDue_date() {
         return due_date;
     }
 
-    public void setDue_date(LocalDate due_date) {
-        this.due_date = due_date;
-    }
-
     public boolean isIsdeleted() {
         return isdeleted;
     }
 
-    public void setIsdeleted(boolean isdeleted) {
-        this.isdeleted = isdeleted;
+    public long getVersion() {
+        return version;
+    }
+
+    public Task withTitle(String title) {
+        return new Task(id, title, description, status, due_date, isdeleted, version);
+    }
+
+    public Task withDescription(String description) {
+        return new Task(id, title, description, status, due_date, isdeleted, version);
+    }
+
+    public Task withStatus(TaskStatus status) {
+        return new Task(id, title, description, status, due_date, isdeleted, version);
+    }
+
+    public Task withDue_date(LocalDate due_date) {
+        return new Task(id, title, description, status, due_date, isdeleted, version);
+    }
+
+    public Task asDeleted() {
+        return new Task(id, title, description, status, due_date, true, version);
+    }
+
+    public Task withVersion(long version) {
+        return new Task(id, title, description, status, due_date, isdeleted, version);
     }
 
     @Override
@@ -0,0 +1,36 @@
+package com.interview.taskmanager.domain.models;
+
+import java.util.UUID;
+
+/**
+ * 128-bit task identifier held as two longs, so keys are hashed and compared without touching a
+ * string. Ids are written in the canonical 36-character UUID form only at the edges (HTTP, cursors).
+ * Ordering is unsigned, high bits first, which for time-ordered ids is creation order.
+ */
+public record TaskId(long mostSignificantBits, long leastSignificantBits) implements Comparable<TaskId> {
+
+    private static final int CANONICAL_LENGTH = 36;
+
+    /**
+     * Parses the canonical UUID form. Throws IllegalArgumentException for anything else, including
+     * the shortened forms UUID.fromString would accept ("1-2-3-4-5"). Hex digits may be either case.
+     */
+    public static TaskId parse(String value) {
+        if (value == null || value.length() != CANONICAL_LENGTH) {
+            throw new IllegalArgumentException("Not a task id: " + value);
+        }
+        UUID uuid = UUID.fromString(value);
+        return new TaskId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    @Override
+    public int compareTo(TaskId other) {
+        int high = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+        return high != 0 ? high : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+    }
+
+    @Override
+    public String toString() {
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.interview.taskmanager.domain.models;
+
+/**
+ * How search results are ordered: best match first, or in the same due-date order as listings.
+ */
+public enum TaskSearchOrder {
+    RELEVANCE,
+    DUE_DATE
+}
@@ -1,17 +1,106 @@
 package com.interview.taskmanager.domain.repository;
 
+import com.interview.taskmanager.domain.models.DueDateKey;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public interface ITaskRepository {
+    /**
+     * Stores the task unconditionally and returns it with the next version number.
+     */
     Task save(Task task);
 
-    Optional<Task> findById(String id);
+    /**
+     * Replaces the stored task only if its version is still expectedVersion. Returns the stored task
+     * with its new version, or empty when the task is missing or another write got there first.
+     */
+    Optional<Task> compareAndSet(long expectedVersion, Task updated);
+
+    /**
+     * Stores every task unconditionally, in order, and returns them with their new version numbers.
+     * The batch is waited on once, so durability is paid for once per batch rather than per task.
+     */
+    List<Task> saveAll(List<Task> tasks);
+
+    /**
+     * Compare-and-set for a batch, in order. Each task is stored only if the stored version still equals
+     * the version it carries, which is the version it was read at when derived with the with* methods.
+     * The result at each position is the stored task, or empty when that task lost.
+     */
+    List<Optional<Task>> compareAndSetAll(List<Task> updated);
+
+    Optional<Task> findById(TaskId id);
 
     List<Task> findAll();
 
     List<Task> findAll(Predicate<Task> filter);
-}
\ No newline at end of file
+
+    /**
+     * Returns one page of non-deleted tasks ordered by due date, then id.
+     * A null status returns tasks of every status.
+     */
+    List<Task> findPage(TaskStatus status, int page, int size);
+
+    /**
+     * Returns one page of non-deleted tasks due between dueFrom and dueTo, both inclusive and either
+     * open when null, ordered by due date, then id. Tasks without a due date never match. A null
+     * statuses returns tasks of every status.
+     */
+    List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size);
+
+    /**
+     * Returns up to size non-deleted tasks that come strictly after the given key in due-date order.
+     * A null key starts from the beginning; a null status returns tasks of every status.
+     */
+    List<Task> findAfter(TaskStatus status, DueDateKey after, int size);
+
+    /**
+     * Lazily walks every non-deleted task in due-date order, then id, without copying the store. The
+     * walk is weakly consistent: it never fails on concurrent writes and may or may not see them.
+     * A null status walks tasks of every status.
+     */
+    Stream<Task> streamByDueDate(TaskStatus status);
+
+    /**
+     * Returns the number of non-deleted tasks in each status.
+     */
+    Map<TaskStatus, Long> countByStatus();
+
+    /**
+     * Returns how many tasks are stored, including soft-deleted ones that have not been purged yet.
+     */
+    long size();
+
+    /**
+     * Counts stored changes. It only moves forward, and it moves after a change is visible to reads, so
+     * a page read after seeing a count reflects at least every change up to that count.
+     */
+    long modificationCount();
+
+    /**
+     * Running total of index entries walked by findPage and findAfter, including entries skipped to
+     * reach an offset. Compared with {@link #tasksReturned()} it shows how much listing work is wasted.
+     */
+    long tasksScanned();
+
+    /**
+     * Running total of tasks returned by findPage and findAfter.
+     */
+    long tasksReturned();
+
+    /**
+     * Physically removes at most limit soft-deleted tasks whose deletion happened before the cutoff
+     * and returns how many were reclaimed.
+     */
+    int purgeDeleted(Instant deletedBefore, int limit);
+}
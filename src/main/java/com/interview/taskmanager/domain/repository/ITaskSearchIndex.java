@@ -0,0 +1,17 @@
+package com.interview.taskmanager.domain.repository;
+
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
+import com.interview.taskmanager.domain.models.TaskStatus;
+
+import java.util.List;
+
+public interface ITaskSearchIndex {
+    /**
+     * Returns the ids of at most limit non-deleted tasks whose title or description contains every
+     * word of the query. A word ending in '*' matches any word starting with it. A null status matches
+     * tasks of every status. The index may trail the repository slightly, so callers should re-read
+     * the tasks they return.
+     */
+    List<TaskId> search(String query, TaskStatus status, TaskSearchOrder order, int limit);
+}
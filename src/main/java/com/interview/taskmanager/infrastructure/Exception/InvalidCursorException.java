@@ -0,0 +1,11 @@
+package com.interview.taskmanager.infrastructure.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends Exception{
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
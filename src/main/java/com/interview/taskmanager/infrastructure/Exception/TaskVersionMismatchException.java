@@ -0,0 +1,11 @@
+package com.interview.taskmanager.infrastructure.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TaskVersionMismatchException extends Exception{
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.interview.taskmanager.infrastructure.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TooManyImportsException extends Exception{
+    public TooManyImportsException(String message) {
+        super(message);
+    }
+}
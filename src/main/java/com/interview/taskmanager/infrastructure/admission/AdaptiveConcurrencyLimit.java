@@ -0,0 +1,99 @@
+package com.interview.taskmanager.infrastructure.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows latency, in the style of a gradient limiter. Two moving averages
+ * of request latency are kept: a short one for the current state and a long one as the baseline. While
+ * the short average stays within tolerance of the baseline the limit grows by about its square root per
+ * sample; once requests slow down the limit is multiplied by the ratio of the two, down to half, so it
+ * shrinks quickly when queueing starts and recovers gradually afterwards.
+ *
+ * <p>Admission is a compare-and-set on the in-flight count and never waits; latency samples are
+ * folded in under the object's monitor, which is a few arithmetic operations.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (500 + 1);
+    // Share of each new estimate taken into the limit, which damps oscillation
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * @param tolerance how many times the baseline latency the current latency may reach before the
+     *                  limit starts to shrink
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a slot if fewer requests than the limit are in flight. Returns the number in flight
+     * including this one, or 0 when the request must be rejected.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot taken by tryAcquire and records how long the request took.
+     *
+     * @param inFlightAtStart what tryAcquire returned, which tells whether the limit was in use
+     */
+    public void release(long latencyNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos, inFlightAtStart);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtStart) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        }
+        shortLatency += (latencyNanos - shortLatency) * SHORT_ALPHA;
+        longLatency += (latencyNanos - longLatency) * LONG_ALPHA;
+        // After latency drops for good the slow average would hold the limit down for a long time
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        // A limit that is not being used says nothing about whether a higher one would be safe
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
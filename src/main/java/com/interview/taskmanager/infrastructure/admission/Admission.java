@@ -0,0 +1,17 @@
+package com.interview.taskmanager.infrastructure.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method in a request class other than the default, which is POINT_READ for GET and
+ * WRITE for everything else.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    RequestClass value();
+}
@@ -0,0 +1,105 @@
+package com.interview.taskmanager.infrastructure.admission;
+
+import com.interview.taskmanager.infrastructure.config.AdmissionProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sheds load before it queues. Each request class has its own adaptive concurrency limit; a request
+ * arriving while its class is at the limit is answered at once with 503 and Retry-After instead of
+ * waiting for a worker thread, so a burst of expensive listings is turned away while point reads keep
+ * their latency.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".admitted";
+
+    private final Map<RequestClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, LongAdder> rejected = new EnumMap<>(RequestClass.class);
+    private final Map<Method, RequestClass> classes = new ConcurrentHashMap<>();
+    private final String retryAfter;
+
+    public AdmissionControlInterceptor(AdmissionProperties properties) {
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (requestClass == RequestClass.UNLIMITED) {
+                continue;
+            }
+            int maxLimit = requestClass == RequestClass.LIST ? properties.listMaxLimit() : properties.maxLimit();
+            limits.put(requestClass, new AdaptiveConcurrencyLimit(
+                    Math.min(properties.initialLimit(), maxLimit), properties.minLimit(), maxLimit, properties.tolerance()));
+            rejected.put(requestClass, new LongAdder());
+        }
+        this.retryAfter = Long.toString(Math.max(1, properties.retryAfter().toSeconds()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequestClass requestClass = classes.computeIfAbsent(method.getMethod(), key -> classify(method, request));
+        AdaptiveConcurrencyLimit limit = limits.get(requestClass);
+        if (limit == null) {
+            return true;
+        }
+        int inFlight = limit.tryAcquire();
+        if (inFlight == 0) {
+            rejected.get(requestClass).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many concurrent " + requestClass.name().toLowerCase(Locale.ROOT).replace('_', ' ')
+                    + " requests, retry later");
+            return false;
+        }
+        request.setAttribute(ADMITTED, new Admitted(limit, inFlight, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof Admitted admitted) {
+            request.removeAttribute(ADMITTED);
+            admitted.limit().release(System.nanoTime() - admitted.startNanos(), admitted.inFlight());
+        }
+    }
+
+    public int limit(RequestClass requestClass) {
+        return limits.get(requestClass).limit();
+    }
+
+    public int inFlight(RequestClass requestClass) {
+        return limits.get(requestClass).inFlight();
+    }
+
+    public long rejected(RequestClass requestClass) {
+        return rejected.get(requestClass).sum();
+    }
+
+    private static RequestClass classify(HandlerMethod method, HttpServletRequest request) {
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        if (admission != null) {
+            return admission.value();
+        }
+        // Handler methods are bound to one HTTP method each here, so the first request decides for all
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? RequestClass.POINT_READ : RequestClass.WRITE;
+    }
+
+    private record Admitted(AdaptiveConcurrencyLimit limit, int inFlight, long startNanos) {
+    }
+}
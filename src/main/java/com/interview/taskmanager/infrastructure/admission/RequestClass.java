@@ -0,0 +1,16 @@
+package com.interview.taskmanager.infrastructure.admission;
+
+/**
+ * Groups endpoints whose requests cost about the same, so each group gets its own concurrency limit and
+ * an overloaded group is shed without holding back the others.
+ */
+public enum RequestClass {
+    /** Reads of a single task, cheap and latency sensitive. */
+    POINT_READ,
+    /** Listings, searches and aggregates, whose cost grows with the store. */
+    LIST,
+    /** Creates, updates, deletes and batches. */
+    WRITE,
+    /** Not limited here: long-lived streams and bulk imports, which have caps of their own and whose duration says nothing about load. */
+    UNLIMITED
+}
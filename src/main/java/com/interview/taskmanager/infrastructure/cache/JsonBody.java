@@ -0,0 +1,71 @@
+package com.interview.taskmanager.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JSON response assembled from byte slices that are written out in order, so cached task JSON goes
+ * to the response without being copied into one buffer or parsed again.
+ */
+public final class JsonBody {
+
+    private static final byte[] OPEN_ARRAY = {'['};
+    private static final byte[] COMMA = {','};
+    private static final byte[] CLOSE_ARRAY = {']'};
+
+    private final List<byte[]> slices;
+    private long length;
+
+    private JsonBody(int capacity) {
+        this.slices = new ArrayList<>(capacity);
+    }
+
+    public static JsonBody of(byte[] json) {
+        return new JsonBody(1).append(json);
+    }
+
+    public static JsonBody array(List<byte[]> elements) {
+        return new JsonBody(elements.size() * 2 + 1).appendArray(elements);
+    }
+
+    /**
+     * The cursor page shape, {"items":[...],"next":...}. next is written unescaped, so it must be a
+     * string that needs no JSON escaping, such as a base64url cursor.
+     */
+    public static JsonBody page(List<byte[]> items, String next) {
+        return new JsonBody(items.size() * 2 + 3)
+                .append(ascii("{\"items\":"))
+                .appendArray(items)
+                .append(ascii(next == null ? ",\"next\":null}" : ",\"next\":\"" + next + "\"}"));
+    }
+
+    List<byte[]> slices() {
+        return slices;
+    }
+
+    long length() {
+        return length;
+    }
+
+    private JsonBody appendArray(List<byte[]> elements) {
+        append(OPEN_ARRAY);
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                append(COMMA);
+            }
+            append(elements.get(i));
+        }
+        return append(CLOSE_ARRAY);
+    }
+
+    private JsonBody append(byte[] slice) {
+        slices.add(slice);
+        length += slice.length;
+        return this;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,50 @@
+package com.interview.taskmanager.infrastructure.cache;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a {@link JsonBody} slice by slice straight to the response stream.
+ */
+@Component
+public class JsonBodyHttpMessageConverter extends AbstractHttpMessageConverter<JsonBody> {
+
+    public JsonBodyHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonBody.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonBody readInternal(Class<? extends JsonBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonBody is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonBody body, MediaType contentType) {
+        return body.length();
+    }
+
+    @Override
+    protected void writeInternal(JsonBody body, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        for (byte[] slice : body.slices()) {
+            out.write(slice);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.interview.taskmanager.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.interview.taskmanager.api.TaskResponseDTO;
+import com.interview.taskmanager.application.service.TaskChangeListener;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.config.JsonCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Each task's response JSON, serialized once per version instead of once per read.
+ *
+ * <p>Entries are keyed by id and carry the version they were serialized from; a read only uses an entry
+ * of the same version, so a stale entry can cost a serialization but is never served. Changes evict
+ * the superseded entry so its bytes do not linger. The cache is split into stripes, each an
+ * access-ordered map under its own lock with an equal share of the byte budget, so concurrent readers
+ * rarely meet and eviction drops the least recently read tasks of a stripe.
+ */
+@Component
+public class TaskJsonCache implements TaskChangeListener {
+
+    private static final int STRIPES = 64;
+    // Rough heap taken by an entry besides its bytes: map node, entry object and array header
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final ObjectWriter writer;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    @Autowired
+    public TaskJsonCache(ObjectMapper objectMapper, JsonCacheProperties properties) {
+        this(objectMapper, properties.maxSize().toBytes());
+    }
+
+    public TaskJsonCache(ObjectMapper objectMapper, long maxBytes) {
+        this.writer = objectMapper.writerFor(TaskResponseDTO.class);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(maxBytes / STRIPES);
+        }
+    }
+
+    /**
+     * The task's JSON, from the cache when this version was serialized before. The returned array is
+     * shared and must not be modified.
+     */
+    public byte[] bytes(Task task) {
+        Stripe stripe = stripeFor(task.getId());
+        byte[] cached = stripe.get(task.getId(), task.getVersion());
+        if (cached != null) {
+            return cached;
+        }
+        byte[] json = serialize(task);
+        stripe.put(task.getId(), task.getVersion(), json);
+        return json;
+    }
+
+    public List<byte[]> bytes(List<Task> tasks) {
+        List<byte[]> json = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            json.add(bytes(task));
+        }
+        return json;
+    }
+
+    @Override
+    public void onTaskChanged(Task task) {
+        stripeFor(task.getId()).evictBefore(task.getId(), task.getVersion());
+    }
+
+    long cachedBytes() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.bytes();
+        }
+        return total;
+    }
+
+    private byte[] serialize(Task task) {
+        try {
+            return writer.writeValueAsBytes(TaskResponseDTO.convertTaskToTaskResponseDTO(task));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Stripe stripeFor(TaskId id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private record Entry(long version, byte[] json) {
+    }
+
+    private static final class Stripe {
+        private final long maxBytes;
+        private final LinkedHashMap<TaskId, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final ReentrantLock lock = new ReentrantLock();
+        private long bytes;
+
+        private Stripe(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        byte[] get(TaskId id, long version) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                return entry != null && entry.version() == version ? entry.json() : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(TaskId id, long version, byte[] json) {
+            long size = json.length + ENTRY_OVERHEAD;
+            if (size > maxBytes) {
+                return;
+            }
+            lock.lock();
+            try {
+                Entry previous = entries.get(id);
+                // A reader holding an older version must not replace a newer entry
+                if (previous != null && previous.version() >= version) {
+                    return;
+                }
+                entries.put(id, new Entry(version, json));
+                bytes += size - (previous == null ? 0 : previous.json().length + ENTRY_OVERHEAD);
+                Iterator<Entry> eldest = entries.values().iterator();
+                while (bytes > maxBytes && eldest.hasNext()) {
+                    bytes -= eldest.next().json().length + ENTRY_OVERHEAD;
+                    eldest.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void evictBefore(TaskId id, long version) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.version() < version) {
+                    entries.remove(id);
+                    bytes -= entry.json().length + ENTRY_OVERHEAD;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long bytes() {
+            lock.lock();
+            try {
+                return bytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
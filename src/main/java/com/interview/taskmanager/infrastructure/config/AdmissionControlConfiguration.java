@@ -0,0 +1,38 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import com.interview.taskmanager.infrastructure.admission.AdmissionControlInterceptor;
+import com.interview.taskmanager.infrastructure.metrics.AdmissionMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Enables its own properties so web slice tests, which pick up MVC configurers, can build it
+@Configuration
+@ConditionalOnProperty(prefix = "taskmanager.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionControlConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionControlConfiguration(AdmissionProperties properties) {
+        this.interceptor = new AdmissionControlInterceptor(properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        return interceptor;
+    }
+
+    @Bean
+    public AdmissionMetrics admissionMetrics() {
+        return new AdmissionMetrics(interceptor);
+    }
+}
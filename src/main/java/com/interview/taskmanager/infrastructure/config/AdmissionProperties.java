@@ -0,0 +1,28 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for admission control on the task API, applied to each request class separately.
+ *
+ * @param enabled      whether requests beyond the concurrency limit are rejected with 503
+ * @param initialLimit concurrent requests allowed before any latency has been observed
+ * @param minLimit     lowest the limit shrinks to however slow requests get
+ * @param maxLimit     highest the limit grows to for point reads and writes
+ * @param listMaxLimit highest the limit grows to for listings, searches and stats
+ * @param tolerance    how many times its baseline latency a class may reach before its limit shrinks
+ * @param retryAfter   delay suggested to rejected clients through Retry-After
+ */
+@ConfigurationProperties(prefix = "taskmanager.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("32") int listMaxLimit,
+        @DefaultValue("2.0") double tolerance,
+        @DefaultValue("1s") Duration retryAfter) {
+}
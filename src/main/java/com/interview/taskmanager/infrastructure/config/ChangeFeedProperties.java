@@ -0,0 +1,24 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the change feed behind GET /api/v1/tasks/changes.
+ *
+ * @param capacity        changes kept for subscribers to catch up from, rounded up to a power of two;
+ *                        a subscriber that falls further behind is disconnected and must resync
+ * @param maxSubscribers  open subscriptions allowed at once; further ones are refused with 503
+ * @param deliveryThreads threads sending changes to subscribers; a send blocked on a slow client holds
+ *                        one of them until it returns
+ * @param timeout         how long one subscription stays open before the client has to reconnect
+ */
+@ConfigurationProperties(prefix = "taskmanager.feed")
+public record ChangeFeedProperties(
+        @DefaultValue("65536") int capacity,
+        @DefaultValue("1000") int maxSubscribers,
+        @DefaultValue("16") int deliveryThreads,
+        @DefaultValue("PT30M") Duration timeout) {
+}
@@ -0,0 +1,20 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for bulk task imports.
+ *
+ * @param parallelism          threads parsing and validating rows; 0 uses one per available processor
+ * @param chunkSize            rows handed to a thread at once and stored with one repository write
+ * @param maxReportedErrors    rejected rows listed in the response; further ones are only counted
+ * @param maxConcurrentImports imports running at once; more are rejected with 503
+ */
+@ConfigurationProperties(prefix = "taskmanager.import")
+public record ImportProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("2000") int chunkSize,
+        @DefaultValue("1000") int maxReportedErrors,
+        @DefaultValue("2") int maxConcurrentImports) {
+}
@@ -0,0 +1,22 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the JDBC task store, used when taskmanager.store.type is jdbc.
+ *
+ * @param url             JDBC URL; the default is an embedded H2 database file, so no server is needed
+ * @param username        database user
+ * @param password        database password
+ * @param maximumPoolSize most pooled connections
+ * @param batchSize       statements sent in one JDBC batch by bulk writes
+ */
+@ConfigurationProperties(prefix = "taskmanager.jdbc")
+public record JdbcProperties(
+        @DefaultValue("jdbc:h2:file:./data/tasks") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("500") int batchSize) {
+}
@@ -0,0 +1,41 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import com.interview.taskmanager.infrastructure.metrics.WriteBehindMetrics;
+import com.interview.taskmanager.infrastructure.repository.jdbc.JdbcTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.writebehind.WriteBehindTaskRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "taskmanager.store", name = "type", havingValue = "jdbc")
+public class JdbcStoreConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource taskDataSource(JdbcProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("task-store");
+        config.setJdbcUrl(properties.url());
+        config.setUsername(properties.username());
+        config.setPassword(properties.password());
+        config.setMaximumPoolSize(properties.maximumPoolSize());
+        return new HikariDataSource(config);
+    }
+
+    // Closed before the JDBC store it depends on, so pending changes are flushed on shutdown
+    @Bean(destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(prefix = "taskmanager.write-behind", name = "enabled", havingValue = "true")
+    public WriteBehindTaskRepository writeBehindTaskRepository(JdbcTaskRepository store, WriteBehindProperties properties) {
+        return new WriteBehindTaskRepository(store, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.write-behind", name = "enabled", havingValue = "true")
+    public WriteBehindMetrics writeBehindMetrics(WriteBehindTaskRepository repository) {
+        return new WriteBehindMetrics(repository);
+    }
+}
@@ -0,0 +1,16 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of serialized task JSON.
+ *
+ * @param maxSize heap the cached bytes may take; least recently read tasks are evicted beyond it, and
+ *                0 turns the cache off
+ */
+@ConfigurationProperties(prefix = "taskmanager.json-cache")
+public record JsonCacheProperties(
+        @DefaultValue("64MB") DataSize maxSize) {
+}
@@ -0,0 +1,22 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for periodic snapshots of the in-memory repository. Snapshots are most useful together with
+ * the write-ahead log, which they truncate; without it, changes since the last snapshot are lost.
+ *
+ * @param enabled   whether snapshots are loaded on startup and written periodically
+ * @param directory where snapshot files are kept
+ * @param interval  delay between the end of one snapshot and the start of the next
+ */
+@ConfigurationProperties(prefix = "taskmanager.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshots") Path directory,
+        @DefaultValue("PT10M") Duration interval) {
+}
@@ -0,0 +1,36 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.snapshot.ColumnarSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.wal.WriteAheadLog;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class TaskJournalConfiguration {
+
+    @Bean
+    public TaskJournal taskJournal(WalProperties properties) throws IOException {
+        if (!properties.enabled()) {
+            return TaskJournal.NONE;
+        }
+        return new WriteAheadLog(
+                properties.directory(),
+                properties.durability(),
+                properties.segmentSize().toBytes(),
+                properties.maxBatchSize(),
+                properties.asyncFlushInterval()
+        );
+    }
+
+    @Bean
+    public TaskSnapshotStore taskSnapshotStore(SnapshotProperties properties) throws IOException {
+        if (!properties.enabled()) {
+            return TaskSnapshotStore.NONE;
+        }
+        return new ColumnarSnapshotStore(properties.directory());
+    }
+}
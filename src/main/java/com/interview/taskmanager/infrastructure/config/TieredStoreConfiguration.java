@@ -0,0 +1,33 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import com.interview.taskmanager.infrastructure.metrics.TieredStoreMetrics;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.tiered.TieredTaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "taskmanager.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class TieredStoreConfiguration {
+
+    // Tasks on disk are only reopened when the in-memory store recovers its tasks as well
+    @Bean(destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(prefix = "taskmanager.tiering", name = "enabled", havingValue = "true")
+    public TieredTaskRepository tieredTaskRepository(InMemoryTaskRepository hot, TieringProperties properties,
+                                                     TaskJournal journal, TaskSnapshotStore snapshots) throws IOException {
+        return new TieredTaskRepository(hot, properties, journal != TaskJournal.NONE || snapshots != TaskSnapshotStore.NONE);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.tiering", name = "enabled", havingValue = "true")
+    public TieredStoreMetrics tieredStoreMetrics(TieredTaskRepository repository) {
+        return new TieredStoreMetrics(repository);
+    }
+}
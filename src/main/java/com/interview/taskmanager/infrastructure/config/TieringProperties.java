@@ -0,0 +1,31 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for moving finished tasks out of the in-memory store to a disk tier.
+ *
+ * @param enabled         whether DONE tasks are moved to disk
+ * @param directory       where the disk segments are kept
+ * @param doneAge         how long a task must have been DONE, unchanged, before it moves
+ * @param migrateInterval how often finished tasks are moved and segments compacted
+ * @param batchSize       most tasks moved in one run, which is also the most in a new segment
+ * @param cacheSize       tasks read from disk kept decoded for further reads
+ * @param maxSegments     segments on disk beyond which the smallest ones are merged
+ * @param maxSegmentTasks most tasks a merge puts in one segment
+ */
+@ConfigurationProperties(prefix = "taskmanager.tiering")
+public record TieringProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/cold") Path directory,
+        @DefaultValue("PT1H") Duration doneAge,
+        @DefaultValue("PT1M") Duration migrateInterval,
+        @DefaultValue("100000") int batchSize,
+        @DefaultValue("10000") int cacheSize,
+        @DefaultValue("8") int maxSegments,
+        @DefaultValue("1000000") int maxSegmentTasks) {
+}
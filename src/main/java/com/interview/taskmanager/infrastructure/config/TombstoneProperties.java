@@ -0,0 +1,20 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for reclaiming soft-deleted tasks.
+ *
+ * @param retention        how long a deleted task is kept before it is physically removed
+ * @param batchSize        tombstones examined per repository call
+ * @param maxBatchesPerRun upper bound on batches in one reaper run, so a backlog is drained over several runs
+ */
+@ConfigurationProperties(prefix = "taskmanager.tombstones")
+public record TombstoneProperties(
+        @DefaultValue("PT1H") Duration retention,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatchesPerRun) {
+}
@@ -0,0 +1,29 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import com.interview.taskmanager.infrastructure.repository.wal.Durability;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the optional write-ahead log behind the in-memory repository.
+ *
+ * @param enabled            whether changes are logged and replayed on startup
+ * @param directory          where log segments are kept
+ * @param durability         when a write is acknowledged relative to its fsync
+ * @param segmentSize        size after which the log rolls over to a new segment
+ * @param maxBatchSize       most records written and forced together in one group commit
+ * @param asyncFlushInterval how often the log is forced in ASYNC mode
+ */
+@ConfigurationProperties(prefix = "taskmanager.wal")
+public record WalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") Path directory,
+        @DefaultValue("GROUP") Durability durability,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1024") int maxBatchSize,
+        @DefaultValue("100ms") Duration asyncFlushInterval) {
+}
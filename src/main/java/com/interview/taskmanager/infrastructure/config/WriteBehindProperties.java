@@ -0,0 +1,24 @@
+package com.interview.taskmanager.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the write-behind cache in front of the JDBC task store.
+ *
+ * @param enabled        whether writes are acknowledged from memory and flushed to the store later
+ * @param maxCachedTasks most clean tasks kept for reads; tasks waiting to be flushed come on top
+ * @param maxDirtyTasks  unflushed tasks at which writers flush themselves instead of waiting
+ * @param batchSize      most tasks written to the store in one batch
+ * @param flushInterval  how often pending changes are flushed, which bounds how far the store lags
+ */
+@ConfigurationProperties(prefix = "taskmanager.write-behind")
+public record WriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") int maxCachedTasks,
+        @DefaultValue("10000") int maxDirtyTasks,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval) {
+}
@@ -0,0 +1,135 @@
+package com.interview.taskmanager.infrastructure.controller;
+
+import com.interview.taskmanager.api.RequestViolations;
+import com.interview.taskmanager.api.TaskBatchItemResponseDTO;
+import com.interview.taskmanager.api.TaskBatchRequestDTO;
+import com.interview.taskmanager.api.TaskBatchResponseDTO;
+import com.interview.taskmanager.api.TaskBatchUpdateRequestDTO;
+import com.interview.taskmanager.api.TaskIds;
+import com.interview.taskmanager.api.TaskRequestDTO;
+import com.interview.taskmanager.application.service.TaskBatchResult;
+import com.interview.taskmanager.application.service.TaskBatchUpdate;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies many creates, updates and deletes in one call. Each item is validated and answered as if it
+ * had been sent to its single-item endpoint, so one bad item is reported in its own result and does not
+ * fail the rest. Items that pass validation are applied with one repository batch per operation.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks:batch")
+public class TaskBatchController {
+
+    private final TaskService taskService;
+    private final Validator validator;
+
+    public TaskBatchController(TaskService taskService, Validator validator) {
+        this.taskService = taskService;
+        this.validator = validator;
+    }
+
+    @PostMapping
+    public ResponseEntity<TaskBatchResponseDTO> applyBatch(@Valid @RequestBody TaskBatchRequestDTO batch) {
+        return new ResponseEntity<>(new TaskBatchResponseDTO(
+                createTasks(batch.getCreate()),
+                updateTasks(batch.getUpdate()),
+                deleteTasks(batch.getDelete())
+        ), HttpStatus.OK);
+    }
+
+    private List<TaskBatchItemResponseDTO> createTasks(List<TaskRequestDTO> requests) {
+        TaskBatchItemResponseDTO[] results = new TaskBatchItemResponseDTO[requests.size()];
+        List<TaskRequestDTO> valid = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                valid.add(requests.get(i));
+                positions.add(i);
+            } else {
+                results[i] = TaskBatchItemResponseDTO.convertViolationsToTaskBatchItemResponseDTO(i, null, errors);
+            }
+        }
+        List<Task> created = taskService.createTasks(valid);
+        for (int j = 0; j < created.size(); j++) {
+            results[positions.get(j)] = TaskBatchItemResponseDTO.convertTaskToTaskBatchItemResponseDTO(positions.get(j), HttpStatus.CREATED, created.get(j));
+        }
+        return List.of(results);
+    }
+
+    private List<TaskBatchItemResponseDTO> updateTasks(List<TaskBatchUpdateRequestDTO> requests) {
+        TaskBatchItemResponseDTO[] results = new TaskBatchItemResponseDTO[requests.size()];
+        List<TaskBatchUpdate> valid = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequestDTO request = requests.get(i);
+            Map<String, String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results[i] = TaskBatchItemResponseDTO.convertViolationsToTaskBatchItemResponseDTO(i, request == null ? null : request.getId(), errors);
+                continue;
+            }
+            try {
+                valid.add(new TaskBatchUpdate(TaskIds.parse(request.getId()), request.getVersion(), request));
+                positions.add(i);
+            } catch (TaskNotFoundException ex) {
+                results[i] = TaskBatchItemResponseDTO.convertFailureToTaskBatchItemResponseDTO(i, request.getId(), ex);
+            }
+        }
+        List<TaskBatchResult> updated = taskService.updateTasks(valid);
+        for (int j = 0; j < updated.size(); j++) {
+            int i = positions.get(j);
+            TaskBatchResult result = updated.get(j);
+            results[i] = result.isSucceeded()
+                    ? TaskBatchItemResponseDTO.convertTaskToTaskBatchItemResponseDTO(i, HttpStatus.OK, result.task())
+                    : TaskBatchItemResponseDTO.convertFailureToTaskBatchItemResponseDTO(i, requests.get(i).getId(), result.failure());
+        }
+        return List.of(results);
+    }
+
+    private List<TaskBatchItemResponseDTO> deleteTasks(List<String> ids) {
+        TaskBatchItemResponseDTO[] results = new TaskBatchItemResponseDTO[ids.size()];
+        List<TaskId> valid = new ArrayList<>(ids.size());
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null || ids.get(i).isBlank()) {
+                results[i] = TaskBatchItemResponseDTO.convertViolationsToTaskBatchItemResponseDTO(i, ids.get(i), Map.of("id", "Id is mandatory"));
+                continue;
+            }
+            try {
+                valid.add(TaskIds.parse(ids.get(i)));
+                positions.add(i);
+            } catch (TaskNotFoundException ex) {
+                results[i] = TaskBatchItemResponseDTO.convertFailureToTaskBatchItemResponseDTO(i, ids.get(i), ex);
+            }
+        }
+        List<TaskBatchResult> deleted = taskService.deleteTasks(valid);
+        for (int j = 0; j < deleted.size(); j++) {
+            int i = positions.get(j);
+            TaskBatchResult result = deleted.get(j);
+            results[i] = result.isSucceeded()
+                    ? new TaskBatchItemResponseDTO(i, ids.get(i), HttpStatus.NO_CONTENT.value(), null, null, null)
+                    : TaskBatchItemResponseDTO.convertFailureToTaskBatchItemResponseDTO(i, ids.get(i), result.failure());
+        }
+        return List.of(results);
+    }
+
+    // A null item is what a single-item endpoint answers with 400 for a missing body, so it fails on its own too
+    private Map<String, String> validate(Object request) {
+        return request == null ? Map.of("item", "Item is mandatory") : RequestViolations.of(validator, request);
+    }
+}
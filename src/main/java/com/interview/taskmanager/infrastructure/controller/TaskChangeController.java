@@ -0,0 +1,68 @@
+package com.interview.taskmanager.infrastructure.controller;
+
+import com.interview.taskmanager.api.TaskChangeDTO;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TooManySubscribersException;
+import com.interview.taskmanager.infrastructure.admission.Admission;
+import com.interview.taskmanager.infrastructure.admission.RequestClass;
+import com.interview.taskmanager.infrastructure.config.ChangeFeedProperties;
+import com.interview.taskmanager.infrastructure.feed.TaskChangeFeed;
+import com.interview.taskmanager.infrastructure.feed.TaskChangeSink;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Streams task changes as Server-Sent Events, in place of polling the task list. Each "change" event
+ * has the feed sequence as its id, so a reconnecting EventSource resumes where it stopped through
+ * Last-Event-ID. A "resync" event means changes were missed: the client reloads the list and
+ * subscribes again with since set to the event's id.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+public class TaskChangeController {
+
+    private final TaskChangeFeed changeFeed;
+    private final long timeoutMillis;
+
+    public TaskChangeController(TaskChangeFeed changeFeed, ChangeFeedProperties properties) {
+        this.changeFeed = changeFeed;
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    @Admission(RequestClass.UNLIMITED)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long since, @RequestParam(required = false) TaskStatus status,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) throws TooManySubscribersException {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        TaskChangeFeed.Subscription subscription = changeFeed.subscribe(since != null ? since : lastEventId, status, new TaskChangeSink() {
+            @Override
+            public void send(TaskChangeFeed.TaskChange change) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(change.sequence()))
+                        .name("change")
+                        .data(TaskChangeDTO.convertTaskToTaskChangeDTO(change.sequence(), change.task()), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void resync(long sequence) throws IOException {
+                emitter.send(SseEmitter.event().id(Long.toString(sequence)).name("resync").data(sequence));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
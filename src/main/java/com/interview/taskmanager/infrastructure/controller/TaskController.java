@@ -1,63 +1,201 @@
 package com.interview.taskmanager.infrastructure.controller;
 
+import com.interview.taskmanager.api.TaskCursor;
+import com.interview.taskmanager.api.TaskETags;
+import com.interview.taskmanager.api.TaskIds;
 import com.interview.taskmanager.api.TaskRequestDTO;
 import com.interview.taskmanager.api.TaskResponseDTO;
+import com.interview.taskmanager.api.TaskStatsResponseDTO;
 import com.interview.taskmanager.api.TaskUpdateRequestDTO;
 import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.DueDateKey;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
 import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.InvalidPageException;
 import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.admission.Admission;
+import com.interview.taskmanager.infrastructure.admission.RequestClass;
+import com.interview.taskmanager.infrastructure.cache.JsonBody;
+import com.interview.taskmanager.infrastructure.cache.TaskJsonCache;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
 public class TaskController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_SEARCH_RESULTS = 100;
+    // Larger sizes are served as pages of this size, so one request cannot ask a store for every task
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TaskService taskService;
+    // Task JSON is written from cached bytes, serialized once per task version
+    private final TaskJsonCache taskJsonCache;
+    // Jackson separates root values with a space by default; NDJSON needs a newline. FLUSH_AFTER_WRITE_VALUE
+    // would turn every exported line into its own socket write
+    private final ObjectWriter exportWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskJsonCache taskJsonCache, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskJsonCache = taskJsonCache;
+        this.exportWriter = objectMapper.writerFor(TaskResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
-    public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO taskRequestDTO) {
+    public ResponseEntity<JsonBody> createTask(@Valid @RequestBody TaskRequestDTO taskRequestDTO) {
         Task createdTask = taskService.createTask(taskRequestDTO);
-        return new ResponseEntity<>(TaskResponseDTO.convertTaskToTaskResponseDTO(createdTask), HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(TaskETags.of(createdTask))
+                .body(JsonBody.of(taskJsonCache.bytes(createdTask)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable String id) throws Exception {
-        Task retrievedTask = taskService.getTask(id);
-        return new ResponseEntity<>(TaskResponseDTO.convertTaskToTaskResponseDTO(retrievedTask), HttpStatus.OK);
+    public ResponseEntity<JsonBody> getTask(@PathVariable String id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        Task retrievedTask = taskService.getTask(TaskIds.parse(id));
+        String eTag = TaskETags.of(retrievedTask);
+        if (TaskETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .body(JsonBody.of(taskJsonCache.bytes(retrievedTask)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable String id, @Valid @RequestBody TaskUpdateRequestDTO taskUpdateRequestDTO) throws Exception{
-        Task updatedTask = taskService.updateTask(id, taskUpdateRequestDTO);
-        return new ResponseEntity<>(TaskResponseDTO.convertTaskToTaskResponseDTO(updatedTask), HttpStatus.OK);
+    public ResponseEntity<JsonBody> updateTask(@PathVariable String id, @Valid @RequestBody TaskUpdateRequestDTO taskUpdateRequestDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception{
+        Task updatedTask = taskService.updateTask(TaskIds.parse(id), taskUpdateRequestDTO, TaskETags.parseIfMatch(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(TaskETags.of(updatedTask))
+                .body(JsonBody.of(taskJsonCache.bytes(updatedTask)));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTask(@PathVariable String id) throws Exception {
-        taskService.deleteTask(id);
+        taskService.deleteTask(TaskIds.parse(id));
     }
 
+    /**
+     * A page's ETag is the repository modification count read before the page, plus the query. An
+     * If-None-Match naming it is answered with 304 before the repository is read, since no change
+     * has been stored since. dueFrom and dueTo (inclusive) and overdue=true (due before today and not
+     * DONE) narrow the page to a range of the due-date index. size is capped at
+     * {@link #MAX_PAGE_SIZE}; a negative page or a size below 1 is answered with 400.
+     */
+    @Admission(RequestClass.LIST)
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> listAllTasks(@RequestParam(required = false) TaskStatus status, @RequestParam(defaultValue = "0") Integer page, @RequestParam(defaultValue = "3") Integer size) {
-        List<Task> tasks = taskService.getAllTasks(status, page, size);
-        List<TaskResponseDTO> responseList = tasks.stream()
-                .map(TaskResponseDTO::convertTaskToTaskResponseDTO)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(responseList, HttpStatus.OK);
+    public ResponseEntity<JsonBody> listAllTasks(@RequestParam(required = false) TaskStatus status, @RequestParam(defaultValue = "0") Integer page, @RequestParam(defaultValue = "3") Integer size,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                 @RequestParam(defaultValue = "false") boolean overdue,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        if (page < 0) {
+            throw new InvalidPageException("page must not be negative");
+        }
+        size = pageSize(size, MAX_PAGE_SIZE);
+        boolean ranged = dueFrom != null || dueTo != null || overdue;
+        LocalDate overdueAsOf = overdue ? LocalDate.now() : null;
+        long modificationCount = taskService.getModificationCount();
+        String eTag = ranged
+                ? TaskETags.ofPage(modificationCount, status, dueFrom, dueTo, overdueAsOf, page, size)
+                : TaskETags.ofPage(modificationCount, status, page, size);
+        if (TaskETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<Task> tasks = ranged
+                ? taskService.getTasksDueBetween(status, dueFrom, dueTo, overdueAsOf, page, size)
+                : taskService.getAllTasks(status, page, size);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(JsonBody.array(taskJsonCache.bytes(tasks)));
+    }
+
+    @Admission(RequestClass.LIST)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<JsonBody> listTasksAfterCursor(@RequestParam(required = false) TaskStatus status, @RequestParam String cursor, @RequestParam(defaultValue = "3") Integer size,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        // Decoding first rejects anything but base64url, which is then safe to quote in the ETag
+        DueDateKey after = TaskCursor.decode(cursor);
+        size = pageSize(size, MAX_PAGE_SIZE);
+        String eTag = TaskETags.ofCursorPage(taskService.getModificationCount(), status, cursor, size);
+        if (TaskETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<Task> tasks = taskService.getTasksAfter(status, after, size);
+        // A short page means the walk reached the end of the index
+        String next = tasks.isEmpty() || tasks.size() < size ? null : TaskCursor.encode(DueDateKey.of(tasks.get(tasks.size() - 1)));
+        // {"items": [...], "next": cursor or null}; the cursor is base64url, so it needs no escaping
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(JsonBody.page(taskJsonCache.bytes(tasks), next));
+    }
+
+    /**
+     * Tasks whose title or description contains every word of q; a word ending in '*' matches as a
+     * prefix. Results are ranked by relevance, or returned in due-date order with sort=DUE_DATE.
+     */
+    @Admission(RequestClass.LIST)
+    @GetMapping("/search")
+    public ResponseEntity<JsonBody> searchTasks(@RequestParam String q, @RequestParam(required = false) TaskStatus status,
+                                                             @RequestParam(defaultValue = "RELEVANCE") TaskSearchOrder sort,
+                                                             @RequestParam(defaultValue = "20") Integer size) throws Exception {
+        List<Task> tasks = taskService.searchTasks(q, status, sort, pageSize(size, MAX_SEARCH_RESULTS));
+        return new ResponseEntity<>(JsonBody.array(taskJsonCache.bytes(tasks)), HttpStatus.OK);
+    }
+
+    /**
+     * Streams every task as one JSON object per line, in due-date order. Tasks are read from the index
+     * and written one at a time, so memory use does not grow with the store; writes block while the
+     * client is slow to read, which holds the walk back instead of buffering ahead of it.
+     */
+    @Admission(RequestClass.UNLIMITED)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(required = false) TaskStatus status) {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Task> tasks = taskService.exportTasks(status);
+                 JsonGenerator generator = exportWriter.createGenerator(outputStream)) {
+                Iterator<Task> iterator = tasks.iterator();
+                if (!iterator.hasNext()) {
+                    return;
+                }
+                while (iterator.hasNext()) {
+                    exportWriter.writeValue(generator, TaskResponseDTO.convertTaskToTaskResponseDTO(iterator.next()));
+                }
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @Admission(RequestClass.LIST)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponseDTO> getTaskStats() {
+        return new ResponseEntity<>(TaskStatsResponseDTO.convertCountsToTaskStatsResponseDTO(taskService.getTaskCounts()), HttpStatus.OK);
+    }
+
+    private static int pageSize(Integer size, int max) throws InvalidPageException {
+        if (size < 1) {
+            throw new InvalidPageException("size must be at least 1");
+        }
+        return Math.min(size, max);
     }
 }
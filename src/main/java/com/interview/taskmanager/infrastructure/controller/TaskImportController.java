@@ -0,0 +1,47 @@
+package com.interview.taskmanager.infrastructure.controller;
+
+import com.interview.taskmanager.api.TaskImportResponseDTO;
+import com.interview.taskmanager.infrastructure.Exception.InvalidImportException;
+import com.interview.taskmanager.infrastructure.Exception.TooManyImportsException;
+import com.interview.taskmanager.infrastructure.admission.Admission;
+import com.interview.taskmanager.infrastructure.admission.RequestClass;
+import com.interview.taskmanager.infrastructure.importer.TaskImportFormat;
+import com.interview.taskmanager.infrastructure.importer.TaskImporter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk-loads tasks from a CSV (text/csv) or NDJSON (application/x-ndjson) body, read as it streams in.
+ * Every row is validated like a single create request; the response counts stored and rejected rows
+ * and lists the errors of the first rejected ones by line.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks:import")
+public class TaskImportController {
+
+    private final TaskImporter taskImporter;
+
+    public TaskImportController(TaskImporter taskImporter) {
+        this.taskImporter = taskImporter;
+    }
+
+    // Imports run for minutes and are capped by the importer; their duration says nothing about load
+    @Admission(RequestClass.UNLIMITED)
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<TaskImportResponseDTO> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body)
+            throws IOException, InvalidImportException, TooManyImportsException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return new ResponseEntity<>(taskImporter.importTasks(body, charset, TaskImportFormat.of(contentType)), HttpStatus.OK);
+    }
+}
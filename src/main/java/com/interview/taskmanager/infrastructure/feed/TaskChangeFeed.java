@@ -0,0 +1,224 @@
+package com.interview.taskmanager.infrastructure.feed;
+
+import com.interview.taskmanager.application.service.TaskChangeListener;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TooManySubscribersException;
+import com.interview.taskmanager.infrastructure.config.ChangeFeedProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Numbers every stored change and keeps the most recent ones in a fixed-size ring, from which
+ * subscribers are fed.
+ *
+ * <p>Writers only take a sequence number, store the change in its slot and wake the subscribers; they
+ * never wait for a subscriber. Each subscription has a cursor and at most one delivery running on a
+ * fixed set of feed threads, so a slow client holds back only its own delivery and the thread running
+ * it, and memory is bounded by the ring whatever the subscribers do. A subscriber the ring laps has
+ * missed changes: it is told to resync, or disconnected if it is stuck in a send, and reconnecting
+ * from its last sequence then asks it to resync.
+ *
+ * <p>Sequence numbers follow the order changes reached the feed, which for racing writes to one task
+ * may differ from version order; subscribers keep the highest version they have seen.
+ */
+@Component
+public class TaskChangeFeed implements TaskChangeListener, AutoCloseable {
+
+    /** Changes delivered between checks for newly published ones. */
+    private static final int DELIVERY_BATCH = 256;
+
+    public record TaskChange(long sequence, Task task) {
+    }
+
+    private final AtomicReferenceArray<TaskChange> ring;
+    private final int mask;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // One permit per open subscription, taken before it is added so racing subscribers cannot overshoot
+    private final Semaphore subscriberSlots;
+    // Each subscription queues at most one delivery, so the queue is bounded by the subscriber limit
+    private final ExecutorService delivery;
+
+    @Autowired
+    public TaskChangeFeed(ChangeFeedProperties properties) {
+        this(properties.capacity(), properties.maxSubscribers(), properties.deliveryThreads());
+    }
+
+    public TaskChangeFeed(int capacity, int maxSubscribers, int deliveryThreads) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.subscriberSlots = new Semaphore(maxSubscribers);
+        AtomicInteger threads = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onTaskChanged(Task task) {
+        long sequence = lastSequence.incrementAndGet();
+        ring.set(slot(sequence), new TaskChange(sequence, task));
+        for (Subscription subscription : subscriptions) {
+            subscription.wake(sequence);
+        }
+    }
+
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Adds up to max changes following sequence to into. Stops early at a sequence that was taken but
+     * not yet stored, since its writer will publish it shortly.
+     *
+     * @return false if changes following sequence have already been overwritten
+     */
+    public boolean readAfter(long sequence, int max, List<TaskChange> into) {
+        long last = lastSequence.get();
+        for (long next = sequence + 1; next <= last && max > 0; next++, max--) {
+            TaskChange change = ring.get(slot(next));
+            if (change == null || change.sequence() < next) {
+                break;
+            }
+            if (change.sequence() > next) {
+                return false;
+            }
+            into.add(change);
+        }
+        return true;
+    }
+
+    /**
+     * Starts delivering changes after since (or after the latest one when since is null) to sink,
+     * optionally only those leaving a task in the given status.
+     */
+    public Subscription subscribe(Long since, TaskStatus status, TaskChangeSink sink) throws TooManySubscribersException {
+        if (!subscriberSlots.tryAcquire()) {
+            throw new TooManySubscribersException("Too many change feed subscribers, retry later");
+        }
+        long last = lastSequence.get();
+        Subscription subscription = new Subscription(since == null ? last : Math.max(0, Math.min(since, last)), status, sink);
+        subscriptions.add(subscription);
+        subscription.wake(lastSequence.get());
+        return subscription;
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void close() {
+        subscriptions.forEach(Subscription::disconnect);
+        delivery.shutdownNow();
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    public final class Subscription {
+
+        private final TaskStatus status;
+        private final TaskChangeSink sink;
+        private volatile long cursor;
+        // Wakeups since the running delivery started; a delivery only ends once it has seen them all
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(long cursor, TaskStatus status, TaskChangeSink sink) {
+            this.cursor = cursor;
+            this.status = status;
+            this.sink = sink;
+        }
+
+        /** Ends the subscription from the subscriber's side, e.g. when its connection closed. */
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                remove();
+            }
+        }
+
+        private void wake(long sequence) {
+            if (closed.get()) {
+                return;
+            }
+            if (sequence - cursor > ring.length() && pending.get() > 0) {
+                // Lapped while a delivery is running, most likely stuck in a send; it cannot catch up
+                disconnect();
+                return;
+            }
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    delivery.execute(this::deliver);
+                } catch (RejectedExecutionException e) {
+                    // The feed is shutting down
+                    disconnect();
+                }
+            }
+        }
+
+        private void deliver() {
+            int seen;
+            do {
+                seen = pending.get();
+                try {
+                    deliverAvailable();
+                } catch (IOException | RuntimeException e) {
+                    disconnect();
+                }
+            } while (!pending.compareAndSet(seen, 0));
+        }
+
+        private void deliverAvailable() throws IOException {
+            List<TaskChange> batch = new ArrayList<>();
+            while (!closed.get()) {
+                batch.clear();
+                if (!readAfter(cursor, DELIVERY_BATCH, batch)) {
+                    sink.resync(lastSequence.get());
+                    disconnect();
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                for (TaskChange change : batch) {
+                    if (status == null || change.task().getStatus() == status) {
+                        sink.send(change);
+                    }
+                    cursor = change.sequence();
+                }
+            }
+        }
+
+        private void disconnect() {
+            if (closed.compareAndSet(false, true)) {
+                remove();
+                sink.close();
+            }
+        }
+
+        private void remove() {
+            subscriptions.remove(this);
+            subscriberSlots.release();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.interview.taskmanager.infrastructure.feed;
+
+import java.io.IOException;
+
+/**
+ * Where one subscription's changes go. Methods are called from a feed delivery thread, one at a time
+ * per subscription; a send may block while the client is slow, which holds back this subscriber and ties
+ * up the feed thread running its delivery.
+ */
+public interface TaskChangeSink {
+
+    void send(TaskChangeFeed.TaskChange change) throws IOException;
+
+    /**
+     * The changes after the subscriber's position are no longer retained. The subscriber has to reload
+     * the tasks it cares about and subscribe again from the given sequence; close follows.
+     */
+    void resync(long sequence) throws IOException;
+
+    /**
+     * The feed ended the subscription: after a resync, a failed send, or because the subscriber fell a
+     * full buffer behind while a send was blocked. Not called for {@link TaskChangeFeed.Subscription#cancel()}.
+     */
+    void close();
+}
@@ -0,0 +1,43 @@
+package com.interview.taskmanager.infrastructure.id;
+
+import com.interview.taskmanager.application.service.TaskIdGenerator;
+import com.interview.taskmanager.domain.models.TaskId;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 ids (RFC 9562): 48 bits of Unix milliseconds, then a 12-bit sequence, then 62 random bits.
+ * The millisecond and sequence together form one counter that only moves forward, so ids from this
+ * process are strictly increasing even within a millisecond or when the clock steps back; a burst of
+ * more than 4096 ids in a millisecond borrows from the next one. Advancing it is a single
+ * compare-and-set, and the random bits come from ThreadLocalRandom, so callers share no lock and
+ * never wait on SecureRandom.
+ */
+@Component
+public class UuidV7TaskIdGenerator implements TaskIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    @Override
+    public TaskId next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long last;
+        long timeAndSequence;
+        do {
+            last = lastTimeAndSequence.get();
+            timeAndSequence = Math.max(last + 1, now);
+        } while (!lastTimeAndSequence.compareAndSet(last, timeAndSequence));
+        long millis = timeAndSequence >>> SEQUENCE_BITS;
+        long sequence = timeAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificantBits = (millis << 16) | VERSION_7 | sequence;
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new TaskId(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,123 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import com.interview.taskmanager.api.TaskRequestDTO;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.InvalidImportException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses CSV rows by the columns the header names. Fields may be quoted, with "" for a quote inside; an
+ * empty unquoted field counts as absent. Status is matched ignoring case and due dates are ISO dates.
+ */
+final class CsvTaskRowParser implements TaskRowParser {
+
+    private final int title;
+    private final int description;
+    private final int status;
+    private final int dueDate;
+
+    private CsvTaskRowParser(int title, int description, int status, int dueDate) {
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+
+    static CsvTaskRowParser fromHeader(TaskRecord header) throws InvalidImportException {
+        if (header == null) {
+            throw new InvalidImportException("CSV import is empty; expected a header row");
+        }
+        if (header.isTooLong()) {
+            throw new InvalidImportException("CSV header is longer than " + TaskRecordReader.MAX_RECORD_LENGTH + " characters");
+        }
+        List<String> columns;
+        try {
+            // Spreadsheet exports often start with a byte order mark
+            columns = split(header.text().replace("\uFEFF", ""));
+        } catch (RowFormatException e) {
+            throw new InvalidImportException("Invalid CSV header: " + e.errors().get("row"));
+        }
+        List<String> names = columns.stream()
+                .map(column -> column == null ? "" : column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!names.contains("title") || !names.contains("due_date")) {
+            throw new InvalidImportException("CSV header must name the title and due_date columns");
+        }
+        return new CsvTaskRowParser(names.indexOf("title"), names.indexOf("description"),
+                names.indexOf("status"), names.indexOf("due_date"));
+    }
+
+    @Override
+    public TaskRequestDTO parse(String record) throws RowFormatException {
+        List<String> fields = split(record);
+        Map<String, String> errors = new LinkedHashMap<>();
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(field(fields, title));
+        request.setDescription(field(fields, description));
+        String statusField = field(fields, status);
+        if (statusField != null) {
+            try {
+                request.setStatus(TaskStatus.valueOf(statusField.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                errors.put("status", "Unknown status: " + statusField);
+            }
+        }
+        String dueDateField = field(fields, dueDate);
+        if (dueDateField != null) {
+            try {
+                request.setDue_date(LocalDate.parse(dueDateField.trim()));
+            } catch (DateTimeParseException e) {
+                errors.put("due_date", "Due date must be an ISO date (yyyy-MM-dd)");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RowFormatException(errors);
+        }
+        return request;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < 0 || index >= fields.size() ? null : fields.get(index);
+    }
+
+    static List<String> split(String record) throws RowFormatException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(wasQuoted || !field.isEmpty() ? field.toString() : null);
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RowFormatException(Map.of("row", "Unterminated quoted field"));
+        }
+        fields.add(wasQuoted || !field.isEmpty() ? field.toString() : null);
+        return fields;
+    }
+}
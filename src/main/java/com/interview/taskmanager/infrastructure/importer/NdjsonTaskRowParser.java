@@ -0,0 +1,41 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.interview.taskmanager.api.TaskRequestDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses each line as the JSON body of a single create request, with the application's ObjectMapper.
+ */
+final class NdjsonTaskRowParser implements TaskRowParser {
+
+    private final ObjectReader reader;
+
+    NdjsonTaskRowParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(TaskRequestDTO.class);
+    }
+
+    @Override
+    public TaskRequestDTO parse(String record) throws RowFormatException {
+        try {
+            TaskRequestDTO request = reader.readValue(record);
+            if (request == null) {
+                throw new RowFormatException(Map.of("row", "Expected a JSON object"));
+            }
+            return request;
+        } catch (JsonMappingException e) {
+            // A value of the wrong type or format, reported against the field it was given for
+            List<JsonMappingException.Reference> path = e.getPath();
+            String field = path.isEmpty() || path.get(path.size() - 1).getFieldName() == null
+                    ? "row" : path.get(path.size() - 1).getFieldName();
+            throw new RowFormatException(Map.of(field, "Invalid value: " + e.getOriginalMessage()));
+        } catch (JsonProcessingException e) {
+            throw new RowFormatException(Map.of("row", "Malformed JSON: " + e.getOriginalMessage()));
+        }
+    }
+}
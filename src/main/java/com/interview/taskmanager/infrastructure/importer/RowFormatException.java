@@ -0,0 +1,20 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import java.util.Map;
+
+/**
+ * A row that could not be turned into a create request, with the problem per field.
+ */
+class RowFormatException extends Exception {
+
+    private final Map<String, String> errors;
+
+    RowFormatException(Map<String, String> errors) {
+        super(errors.toString(), null, false, false);
+        this.errors = errors;
+    }
+
+    Map<String, String> errors() {
+        return errors;
+    }
+}
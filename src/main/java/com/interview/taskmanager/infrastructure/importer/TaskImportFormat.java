@@ -0,0 +1,27 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Body formats accepted by the bulk import, by content type.
+ */
+public enum TaskImportFormat {
+    /** RFC 4180 CSV with a header row naming the title, description, status and due_date columns. */
+    CSV(MediaType.valueOf("text/csv")),
+    /** One JSON object per line, shaped like the body of a single create request. */
+    NDJSON(MediaType.valueOf("application/x-ndjson"));
+
+    private final MediaType mediaType;
+
+    TaskImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static TaskImportFormat of(MediaType contentType) {
+        return CSV.mediaType.isCompatibleWith(contentType) ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,166 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.taskmanager.api.RequestViolations;
+import com.interview.taskmanager.api.TaskImportErrorDTO;
+import com.interview.taskmanager.api.TaskImportResponseDTO;
+import com.interview.taskmanager.api.TaskRequestDTO;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.infrastructure.Exception.InvalidImportException;
+import com.interview.taskmanager.infrastructure.Exception.TooManyImportsException;
+import com.interview.taskmanager.infrastructure.config.ImportProperties;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads tasks from a streamed CSV or NDJSON body. The request thread only splits the body into records
+ * and gathers them into chunks; each chunk is parsed, validated with the rules of a single create
+ * request and turned into tasks on a fork-join pool, then stored with one repository write, in body
+ * order. At most two chunks per worker are in flight, so memory depends on the chunk size and not on
+ * the size of the body, and reading pauses while the store catches up.
+ *
+ * <p>A bad row is reported with its line and does not stop the import. The import is not atomic:
+ * if the body breaks off, the chunks stored until then stay.
+ */
+@Component
+public class TaskImporter implements AutoCloseable {
+
+    private final TaskService taskService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool workers;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final int maxReportedErrors;
+    private final Semaphore imports;
+
+    @Autowired
+    public TaskImporter(TaskService taskService, Validator validator, ObjectMapper objectMapper, ImportProperties properties) {
+        this(taskService, validator, objectMapper, properties.parallelism(), properties.chunkSize(),
+                properties.maxReportedErrors(), properties.maxConcurrentImports());
+    }
+
+    public TaskImporter(TaskService taskService, Validator validator, ObjectMapper objectMapper,
+                        int parallelism, int chunkSize, int maxReportedErrors, int maxConcurrentImports) {
+        this.taskService = taskService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.workers = new ForkJoinPool(threads);
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = 2 * threads;
+        this.maxReportedErrors = maxReportedErrors;
+        this.imports = new Semaphore(maxConcurrentImports);
+    }
+
+    public TaskImportResponseDTO importTasks(InputStream body, Charset charset, TaskImportFormat format)
+            throws IOException, InvalidImportException, TooManyImportsException {
+        if (!imports.tryAcquire()) {
+            throw new TooManyImportsException("Too many imports running, retry later");
+        }
+        Deque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>();
+        try {
+            TaskRecordReader records = new TaskRecordReader(new InputStreamReader(body, charset), format == TaskImportFormat.CSV);
+            TaskRowParser parser = format == TaskImportFormat.CSV
+                    ? CsvTaskRowParser.fromHeader(records.next())
+                    : new NdjsonTaskRowParser(objectMapper);
+            Summary summary = new Summary();
+            List<TaskRecord> chunk = new ArrayList<>(chunkSize);
+            for (TaskRecord record; (record = records.next()) != null; ) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    pending.add(workers.submit(process(parser, chunk)));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (pending.size() >= maxPendingChunks) {
+                        summary.store(pending.removeFirst().join());
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(workers.submit(process(parser, chunk)));
+            }
+            while (!pending.isEmpty()) {
+                summary.store(pending.removeFirst().join());
+            }
+            return summary.response();
+        } finally {
+            // Only left over when the import failed part way
+            pending.forEach(task -> task.cancel(false));
+            imports.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private Callable<Chunk> process(TaskRowParser parser, List<TaskRecord> records) {
+        return () -> {
+            List<Task> tasks = new ArrayList<>(records.size());
+            List<TaskImportErrorDTO> errors = new ArrayList<>();
+            for (TaskRecord record : records) {
+                if (record.isTooLong()) {
+                    errors.add(new TaskImportErrorDTO(record.line(),
+                            Map.of("row", "Row is longer than " + TaskRecordReader.MAX_RECORD_LENGTH + " characters")));
+                    continue;
+                }
+                Map<String, String> rowErrors;
+                try {
+                    TaskRequestDTO request = parser.parse(record.text());
+                    rowErrors = RequestViolations.of(validator, request);
+                    if (rowErrors.isEmpty()) {
+                        tasks.add(taskService.newTask(request));
+                        continue;
+                    }
+                } catch (RowFormatException e) {
+                    rowErrors = e.errors();
+                }
+                errors.add(new TaskImportErrorDTO(record.line(), rowErrors));
+            }
+            return new Chunk(tasks, errors);
+        };
+    }
+
+    private record Chunk(List<Task> tasks, List<TaskImportErrorDTO> errors) {
+    }
+
+    private final class Summary {
+        private long imported;
+        private long failed;
+        private final List<TaskImportErrorDTO> errors = new ArrayList<>();
+
+        void store(Chunk chunk) {
+            if (!chunk.tasks().isEmpty()) {
+                imported += taskService.importTasks(chunk.tasks()).size();
+            }
+            failed += chunk.errors().size();
+            for (TaskImportErrorDTO error : chunk.errors()) {
+                if (errors.size() == maxReportedErrors) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+
+        TaskImportResponseDTO response() {
+            return new TaskImportResponseDTO(imported, failed, errors, failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+/**
+ * One row of an import body as read, not parsed yet, with the line it starts on. A row longer than
+ * {@link TaskRecordReader#MAX_RECORD_LENGTH} is not kept and has no text.
+ */
+record TaskRecord(long line, String text) {
+
+    static TaskRecord tooLong(long line) {
+        return new TaskRecord(line, null);
+    }
+
+    boolean isTooLong() {
+        return text == null;
+    }
+}
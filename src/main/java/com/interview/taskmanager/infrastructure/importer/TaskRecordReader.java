@@ -0,0 +1,127 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits an import body into records, one line each except for CSV fields that are quoted across line
+ * breaks. Blank lines are skipped. Only this cheap split runs on the request thread; parsing is left
+ * to the import workers.
+ *
+ * <p>No record is held longer than {@link #MAX_RECORD_LENGTH}: the rest of a longer one is skipped as it
+ * is read, and the record is returned as too long so the import can report it as a bad row.
+ */
+final class TaskRecordReader {
+
+    // Bounds a single line as well as a quoted field left open by a stray quote
+    static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private final Reader reader;
+    private final boolean csv;
+    private final char[] buffer = new char[1 << 16];
+    private int position;
+    private int limit;
+    // A \r ended the last line, so a \n right after it belongs to the same line break
+    private boolean skipLineFeed;
+    // Set by readLine when the line it read ran past its limit
+    private boolean tooLong;
+    private long lineNumber;
+
+    TaskRecordReader(Reader reader, boolean csv) {
+        this.reader = reader;
+        this.csv = csv;
+    }
+
+    /**
+     * The next record, or null at the end of the body.
+     */
+    TaskRecord next() throws IOException {
+        String line;
+        while ((line = readLine(MAX_RECORD_LENGTH)) != null) {
+            lineNumber++;
+            if (tooLong) {
+                return TaskRecord.tooLong(lineNumber);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!csv || quotes(line) % 2 == 0) {
+                return new TaskRecord(lineNumber, line);
+            }
+            // An odd number of quotes leaves a quoted field open until a later line closes it
+            long start = lineNumber;
+            StringBuilder record = new StringBuilder(line);
+            int open = 1;
+            while (open == 1 && (line = readLine(MAX_RECORD_LENGTH - record.length() - 1)) != null) {
+                lineNumber++;
+                if (tooLong) {
+                    return TaskRecord.tooLong(start);
+                }
+                record.append('\n').append(line);
+                open = (open + quotes(line)) % 2;
+            }
+            return new TaskRecord(start, record.toString());
+        }
+        return null;
+    }
+
+    /**
+     * The next line without its line break, or null at the end of the body. A line longer than
+     * maxLength is read to its end but not kept: it comes back empty with {@link #tooLong} set.
+     */
+    private String readLine(int maxLength) throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean read = false;
+        tooLong = false;
+        while (true) {
+            if (position == limit) {
+                int filled = reader.read(buffer, 0, buffer.length);
+                if (filled <= 0) {
+                    limit = position = 0;
+                    return read ? finish(line) : null;
+                }
+                limit = filled;
+                position = 0;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            read = true;
+            if (!tooLong) {
+                if (line.length() + position - start > maxLength) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else {
+                    line.append(buffer, start, position - start);
+                }
+            }
+            if (position < limit) {
+                skipLineFeed = buffer[position] == '\r';
+                position++;
+                return finish(line);
+            }
+        }
+    }
+
+    private String finish(StringBuilder line) {
+        return tooLong ? "" : line.toString();
+    }
+
+    private static int quotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.interview.taskmanager.infrastructure.importer;
+
+import com.interview.taskmanager.api.TaskRequestDTO;
+
+/**
+ * Turns one record of an import body into the create request it describes. Implementations hold no
+ * per-row state and are called from many threads at once.
+ */
+interface TaskRowParser {
+
+    TaskRequestDTO parse(String record) throws RowFormatException;
+}
@@ -0,0 +1,45 @@
+package com.interview.taskmanager.infrastructure.metrics;
+
+import com.interview.taskmanager.infrastructure.admission.AdmissionControlInterceptor;
+import com.interview.taskmanager.infrastructure.admission.RequestClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+
+/**
+ * Current concurrency limit, requests in flight and requests shed, per request class. Read from the
+ * interceptor's own state when scraped.
+ */
+public class AdmissionMetrics implements MeterBinder {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionMetrics(AdmissionControlInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (requestClass == RequestClass.UNLIMITED) {
+                continue;
+            }
+            String tag = requestClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("taskmanager.admission.limit", interceptor, source -> source.limit(requestClass))
+                    .description("Concurrent requests currently allowed")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("taskmanager.admission.inflight", interceptor, source -> source.inFlight(requestClass))
+                    .description("Requests being handled")
+                    .tag("class", tag)
+                    .register(registry);
+            FunctionCounter.builder("taskmanager.admission.rejected", interceptor, source -> source.rejected(requestClass))
+                    .description("Requests rejected with 503 because their class was at its limit")
+                    .tag("class", tag)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.interview.taskmanager.infrastructure.metrics;
+
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Store size and listing efficiency. Everything here is read from counters the repository already
+ * keeps, when the registry is scraped, so it costs nothing on the request path.
+ */
+@Component
+public class TaskRepositoryMetrics implements MeterBinder {
+
+    private final ITaskRepository taskRepository;
+
+    public TaskRepositoryMetrics(ITaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskmanager.store.size", taskRepository, ITaskRepository::size)
+                .description("Stored tasks, including soft-deleted tasks not yet purged")
+                .register(registry);
+        Gauge.builder("taskmanager.store.tombstones", taskRepository, TaskRepositoryMetrics::tombstones)
+                .description("Soft-deleted tasks waiting to be purged")
+                .register(registry);
+        for (TaskStatus status : TaskStatus.values()) {
+            Gauge.builder("taskmanager.store.tasks", taskRepository, repository -> repository.countByStatus().getOrDefault(status, 0L))
+                    .description("Live tasks by status")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        FunctionCounter.builder("taskmanager.list.scanned", taskRepository, ITaskRepository::tasksScanned)
+                .description("Index entries walked to answer task listings")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.list.returned", taskRepository, ITaskRepository::tasksReturned)
+                .description("Tasks returned by task listings")
+                .register(registry);
+    }
+
+    private static double tombstones(ITaskRepository taskRepository) {
+        long live = taskRepository.countByStatus().values().stream().mapToLong(Long::longValue).sum();
+        return Math.max(0, taskRepository.size() - live);
+    }
+}
@@ -0,0 +1,53 @@
+package com.interview.taskmanager.infrastructure.metrics;
+
+import com.interview.taskmanager.infrastructure.repository.tiered.TieredTaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Where tasks live in the tiered store: tasks in memory and on disk, the disk segments and their size,
+ * tasks moved each way, and how often reads from disk are served by the cache of decoded tasks. Read
+ * from the repository when scraped.
+ */
+public class TieredStoreMetrics implements MeterBinder {
+
+    private final TieredTaskRepository repository;
+
+    public TieredStoreMetrics(TieredTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskmanager.tiering.tasks", repository, TieredTaskRepository::hotTasks)
+                .tag("tier", "memory")
+                .description("Tasks held in each tier")
+                .register(registry);
+        Gauge.builder("taskmanager.tiering.tasks", repository, TieredTaskRepository::coldTasks)
+                .tag("tier", "disk")
+                .description("Tasks held in each tier")
+                .register(registry);
+        Gauge.builder("taskmanager.tiering.segments", repository, TieredTaskRepository::coldSegments)
+                .description("Segment files in the disk tier")
+                .register(registry);
+        Gauge.builder("taskmanager.tiering.disk.bytes", repository, TieredTaskRepository::coldBytes)
+                .description("Size of the disk tier's segment files, including rows of tasks that went back to memory")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.tiering.migrated", repository, TieredTaskRepository::migratedTasks)
+                .description("Finished tasks moved from memory to disk")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.tiering.promoted", repository, TieredTaskRepository::promotedTasks)
+                .description("Tasks brought back from disk to memory because they were written")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.tiering.cache.reads", repository, TieredTaskRepository::coldCacheHits)
+                .tag("result", "hit")
+                .description("Reads by id from the disk tier, by whether the cache of decoded tasks served them")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.tiering.cache.reads", repository, TieredTaskRepository::coldCacheMisses)
+                .tag("result", "miss")
+                .description("Reads by id from the disk tier, by whether the cache of decoded tasks served them")
+                .register(registry);
+    }
+}
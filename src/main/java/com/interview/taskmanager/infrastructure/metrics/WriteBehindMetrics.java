@@ -0,0 +1,49 @@
+package com.interview.taskmanager.infrastructure.metrics;
+
+import com.interview.taskmanager.infrastructure.repository.writebehind.WriteBehindTaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How much the write-behind cache saves the store: accepted writes against tasks flushed gives the
+ * coalescing ratio, and the flush timer gives the time each batch took to reach the store. Read from
+ * the repository's counters when scraped.
+ */
+public class WriteBehindMetrics implements MeterBinder {
+
+    private final WriteBehindTaskRepository repository;
+
+    public WriteBehindMetrics(WriteBehindTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("taskmanager.write-behind.writes", repository, WriteBehindTaskRepository::writes)
+                .description("Task writes accepted by the write-behind cache")
+                .register(registry);
+        FunctionCounter.builder("taskmanager.write-behind.flushed", repository, WriteBehindTaskRepository::flushedTasks)
+                .description("Tasks written to the store by flushes")
+                .register(registry);
+        Gauge.builder("taskmanager.write-behind.coalescing.ratio", repository, WriteBehindMetrics::coalescingRatio)
+                .description("Accepted writes per task written to the store")
+                .register(registry);
+        Gauge.builder("taskmanager.write-behind.dirty", repository, WriteBehindTaskRepository::dirtyTasks)
+                .description("Tasks changed but not yet flushed to the store")
+                .register(registry);
+        FunctionTimer.builder("taskmanager.write-behind.flush", repository,
+                        WriteBehindTaskRepository::flushes, WriteBehindTaskRepository::flushSeconds, TimeUnit.SECONDS)
+                .description("Batches flushed to the store and the time they took")
+                .register(registry);
+    }
+
+    private static double coalescingRatio(WriteBehindTaskRepository repository) {
+        long flushed = repository.flushedTasks();
+        return flushed == 0 ? 1 : (double) repository.writes() / flushed;
+    }
+}
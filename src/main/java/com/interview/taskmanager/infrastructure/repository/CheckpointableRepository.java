@@ -0,0 +1,15 @@
+package com.interview.taskmanager.infrastructure.repository;
+
+import java.io.IOException;
+
+/**
+ * A task store that can write its contents to the snapshot store and drop the journal segments the
+ * snapshot makes redundant.
+ */
+public interface CheckpointableRepository {
+
+    /**
+     * Writes a snapshot without stopping writers and returns how many tasks it holds.
+     */
+    long checkpoint() throws IOException;
+}
@@ -1,26 +1,120 @@
 package com.interview.taskmanager.infrastructure.repository;
 
+import com.interview.taskmanager.domain.models.DueDateKey;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
 import com.interview.taskmanager.domain.repository.ITaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public class InMemoryTaskRepository implements ITaskRepository {
-    private final ConcurrentHashMap<String, Task> tasks = new ConcurrentHashMap<>();
+@ConditionalOnProperty(prefix = "taskmanager.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskRepository implements ITaskRepository, CheckpointableRepository, VersionedTaskWriter {
+    // Ids compare unsigned, so these bound every id and turn a date range into a key range
+    private static final TaskId LOWEST_ID = new TaskId(0, 0);
+    private static final TaskId HIGHEST_ID = new TaskId(-1, -1);
+    private static final long DRAIN_PARK_NANOS = 1_000_000;
+
+    private final ConcurrentHashMap<TaskId, Task> tasks = new ConcurrentHashMap<>();
+    // Secondary indexes kept in (due_date, id) order so pages can be read without sorting the store:
+    // one over every live task and one partition per status. Deleted tasks are dropped from them and
+    // queued as tombstones for the reaper. Tasks are immutable, so the version being replaced says
+    // which entries to drop when a task moves.
+    private final ConcurrentSkipListMap<DueDateKey, Task> dueDateIndex = new ConcurrentSkipListMap<>();
+    private final Map<TaskStatus, ConcurrentSkipListMap<DueDateKey, Task>> statusIndexes = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskStatus, LongAdder> statusCounts = new EnumMap<>(TaskStatus.class);
+    private final ConcurrentLinkedQueue<Tombstone> tombstones = new ConcurrentLinkedQueue<>();
+    private final LongAdder tasksScanned = new LongAdder();
+    private final LongAdder tasksReturned = new LongAdder();
+    private final LongAdder modifications = new LongAdder();
+    private final TaskJournal journal;
+    private final TaskSnapshotStore snapshots;
+    // Writes register in the counter of the epoch they started in, so a checkpoint can wait for
+    // every write that began before it without making later writes wait for it
+    private final AtomicInteger writeEpoch = new AtomicInteger();
+    private final LongAdder[] writesInFlight = {new LongAdder(), new LongAdder()};
+    // The checkpoint parked until those writes finish, woken by each one that finishes meanwhile
+    private volatile Thread drainingCheckpoint;
+    // Locks rather than synchronized: a checkpoint blocks on snapshot I/O, and a virtual thread that
+    // blocks inside a monitor pins its carrier thread
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    public InMemoryTaskRepository() {
+        this(TaskJournal.NONE, TaskSnapshotStore.NONE);
+    }
+
+    @Autowired
+    public InMemoryTaskRepository(TaskJournal journal, TaskSnapshotStore snapshots) {
+        for (TaskStatus status : TaskStatus.values()) {
+            statusIndexes.put(status, new ConcurrentSkipListMap<>());
+            statusCounts.put(status, new LongAdder());
+        }
+        this.journal = journal;
+        this.snapshots = snapshots;
+        recover();
+    }
+
     @Override
     public Task save(Task task) {
-        tasks.put(task.getId(), task);
-        return task;
+        return write(task.getId(), previous -> task.withVersion(previous == null ? 1 : previous.getVersion() + 1));
+    }
+
+    @Override
+    public Optional<Task> compareAndSet(long expectedVersion, Task updated) {
+        return Optional.ofNullable(write(updated.getId(), previous ->
+                previous != null && previous.getVersion() == expectedVersion ? updated.withVersion(expectedVersion + 1) : null));
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> batch) {
+        return writeAll(batch, task -> previous -> task.withVersion(previous == null ? 1 : previous.getVersion() + 1)).stream()
+                .map(Optional::orElseThrow)
+                .toList();
     }
 
     @Override
-    public Optional<Task> findById(String id) {
+    public List<Optional<Task>> compareAndSetAll(List<Task> updated) {
+        return writeAll(updated, task -> previous ->
+                previous != null && previous.getVersion() == task.getVersion() ? task.withVersion(task.getVersion() + 1) : null);
+    }
+
+    @Override
+    public void putAll(List<Task> batch) {
+        writeAll(batch, task -> previous -> task);
+    }
+
+    @Override
+    public Optional<Task> findById(TaskId id) {
         return Optional.ofNullable(tasks.get(id));
     }
 
@@ -33,4 +127,472 @@ public class InMemoryTaskRepository implements ITaskRepository {
     public List<Task> findAll(Predicate<Task> filter) {
         return tasks.values().stream().filter(filter).collect(Collectors.toList());
     }
+
+    @Override
+    public List<Task> findPage(TaskStatus status, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        long[] walked = new long[1];
+        List<Task> found = indexFor(status).values().stream()
+                .peek(task -> walked[0]++)
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+        recordScan(walked[0], found.size());
+        return found;
+    }
+
+    /**
+     * Seeks to dueFrom in each due-date index involved and walks only the range, merging the status
+     * indexes when several statuses are asked for, so the cost follows the page offset and size
+     * rather than the size of the store.
+     */
+    @Override
+    public List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        DueDateKey from = new DueDateKey(dueFrom == null ? LocalDate.MIN : dueFrom, LOWEST_ID);
+        DueDateKey to = new DueDateKey(dueTo == null ? LocalDate.MAX : dueTo, HIGHEST_ID);
+        if (from.compareTo(to) > 0) {
+            return List.of();
+        }
+        List<Iterator<Task>> ranges = new ArrayList<>();
+        if (statuses == null || statuses.size() == TaskStatus.values().length) {
+            ranges.add(dueDateIndex.subMap(from, true, to, true).values().iterator());
+        } else {
+            for (TaskStatus status : statuses) {
+                ranges.add(statusIndexes.get(status).subMap(from, true, to, true).values().iterator());
+            }
+        }
+        Iterator<Task> tasks = ranges.size() == 1 ? ranges.get(0) : new MergingIterator(ranges);
+        long offset = (long) page * size;
+        long walked = 0;
+        List<Task> found = new ArrayList<>();
+        while (tasks.hasNext() && found.size() < size) {
+            Task task = tasks.next();
+            if (walked++ >= offset) {
+                found.add(task);
+            }
+        }
+        recordScan(walked, found.size());
+        return found;
+    }
+
+    @Override
+    public List<Task> findAfter(TaskStatus status, DueDateKey after, int size) {
+        if (size <= 0) {
+            return List.of();
+        }
+        ConcurrentSkipListMap<DueDateKey, Task> index = indexFor(status);
+        // Seeking to the key is O(log n); the walk then only touches the page itself
+        List<Task> found = (after == null ? index : index.tailMap(after, false)).values().stream()
+                .limit(size)
+                .toList();
+        recordScan(found.size(), found.size());
+        return found;
+    }
+
+    @Override
+    public Stream<Task> streamByDueDate(TaskStatus status) {
+        return indexFor(status).values().stream();
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public long size() {
+        return tasks.mappingCount();
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.sum();
+    }
+
+    @Override
+    public long tasksScanned() {
+        return tasksScanned.sum();
+    }
+
+    @Override
+    public long tasksReturned() {
+        return tasksReturned.sum();
+    }
+
+    /**
+     * Physically removes up to limit tombstones deleted before the cutoff. Tombstones are queued in
+     * deletion order, so each call only looks at the head of the queue and never scans live tasks.
+     */
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        purgeLock.lock();
+        try {
+            int reclaimed = 0;
+            for (int examined = 0; examined < limit; examined++) {
+                Tombstone tombstone = tombstones.peek();
+                if (tombstone == null || !tombstone.deletedAt().isBefore(deletedBefore)) {
+                    break;
+                }
+                tombstones.poll();
+                boolean[] removed = new boolean[1];
+                LongAdder inFlight = beginWrite();
+                try {
+                    tasks.computeIfPresent(tombstone.id(), (id, task) -> {
+                        if (!task.isIsdeleted()) {
+                            return task;
+                        }
+                        journal.appendPurge(id);
+                        removed[0] = true;
+                        return null;
+                    });
+                } finally {
+                    endWrite(inFlight);
+                }
+                if (removed[0]) {
+                    reclaimed++;
+                }
+            }
+            return reclaimed;
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops a live task from memory, as when another tier has taken it over, if it is still stored at
+     * the version the given task carries. Journaled like a purge, and not counted as a modification
+     * since the task is still readable elsewhere. Returns whether the task was dropped.
+     */
+    public boolean evict(Task task) {
+        boolean[] removed = new boolean[1];
+        LongAdder inFlight = beginWrite();
+        try {
+            tasks.computeIfPresent(task.getId(), (id, stored) -> {
+                if (stored.isIsdeleted() || stored.getVersion() != task.getVersion()) {
+                    return stored;
+                }
+                unindex(stored);
+                journal.appendPurge(id);
+                removed[0] = true;
+                return null;
+            });
+        } finally {
+            endWrite(inFlight);
+        }
+        return removed[0];
+    }
+
+    /**
+     * Writes a snapshot of the store and drops the journal segments it makes redundant, without
+     * stopping writers. The journal is marked first, then the checkpoint waits for writes that were
+     * already running to finish, so every change recorded before the mark is visible to the walk.
+     * The walk itself is fuzzy: a task may be captured in a state newer than the mark, which is
+     * harmless because replaying the journal from the mark re-applies full task states in order.
+     */
+    @Override
+    public long checkpoint() throws IOException {
+        checkpointLock.lock();
+        try {
+            CompletableFuture<Long> mark = journal.mark();
+            // Published before the epoch flips: a write that finishes without seeing it has already
+            // left the counter the checkpoint is about to read
+            drainingCheckpoint = Thread.currentThread();
+            try {
+                LongAdder draining = writesInFlight[writeEpoch.getAndIncrement() & 1];
+                while (draining.sum() != 0) {
+                    // Bounded, so a wake-up lost to a spurious return costs a millisecond rather than a hang
+                    LockSupport.parkNanos(this, DRAIN_PARK_NANOS);
+                }
+            } finally {
+                drainingCheckpoint = null;
+            }
+            long position = mark.join();
+            long written = snapshots.write(position, tasks.values().iterator());
+            journal.truncate(position);
+            return written;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the task computed from the current one and waits until the change is durable. A change
+     * that returns null leaves the store untouched, and null is returned. A change the journal fails
+     * to write is rolled back before the failure is rethrown.
+     */
+    private Task write(TaskId id, UnaryOperator<Task> change) {
+        Outcome outcome = apply(id, change, journal);
+        // The change is visible in memory as soon as it is queued; the caller is released once it is durable
+        try {
+            awaitDurable(outcome.durable);
+        } catch (RuntimeException ex) {
+            rollBack(List.of(outcome));
+            throw ex;
+        }
+        return outcome.stored;
+    }
+
+    /**
+     * Batch form of {@link #write}: the whole batch registers with the checkpoint fence once and waits
+     * for durability once, after its last record is queued, so group commit covers it with one fsync.
+     */
+    private List<Optional<Task>> writeAll(List<Task> batch, Function<Task, UnaryOperator<Task>> changeFor) {
+        List<Optional<Task>> stored = new ArrayList<>(batch.size());
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[batch.size()];
+        LongAdder inFlight = beginWrite();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Task task = batch.get(i);
+                Outcome outcome = new Outcome();
+                compute(task.getId(), changeFor.apply(task), journal, outcome);
+                stored.add(Optional.ofNullable(outcome.stored));
+                outcomes.add(outcome);
+                durable[i] = outcome.durable;
+            }
+        } finally {
+            endWrite(inFlight);
+        }
+        try {
+            awaitDurable(CompletableFuture.allOf(durable));
+        } catch (RuntimeException ex) {
+            rollBack(outcomes);
+            throw ex;
+        }
+        return stored;
+    }
+
+    private Outcome apply(TaskId id, UnaryOperator<Task> change, TaskJournal journal) {
+        Outcome outcome = new Outcome();
+        LongAdder inFlight = beginWrite();
+        try {
+            compute(id, change, journal, outcome);
+        } finally {
+            endWrite(inFlight);
+        }
+        return outcome;
+    }
+
+    private void compute(TaskId id, UnaryOperator<Task> change, TaskJournal journal, Outcome outcome) {
+        // compute() serializes writes to the same id, keeping the map, indexes, counters and the
+        // order of journal records in step
+        tasks.compute(id, (key, previous) -> {
+            Task next = change.apply(previous);
+            if (next == null) {
+                return previous;
+            }
+            reindex(previous, next);
+            if (next.isIsdeleted() && (previous == null || !previous.isIsdeleted())) {
+                tombstones.add(new Tombstone(key, Instant.now()));
+            }
+            outcome.previous = previous;
+            outcome.stored = next;
+            outcome.durable = journal.appendSave(next);
+            return next;
+        });
+        if (outcome.stored != null) {
+            // Counted once compute() has published the task, so the count never runs ahead of reads
+            modifications.increment();
+        }
+    }
+
+    /**
+     * Undoes the changes whose journal write failed, newest first, so the store does not serve what a
+     * restart would not bring back. A change is only undone while it is still the current version: a
+     * later write that succeeded was logged as a full task state and stands.
+     */
+    private void rollBack(List<Outcome> outcomes) {
+        LongAdder inFlight = beginWrite();
+        try {
+            for (int i = outcomes.size() - 1; i >= 0; i--) {
+                Outcome outcome = outcomes.get(i);
+                if (outcome.stored == null || !outcome.durable.isCompletedExceptionally()) {
+                    continue;
+                }
+                boolean[] undone = new boolean[1];
+                tasks.compute(outcome.stored.getId(), (key, current) -> {
+                    if (current != outcome.stored) {
+                        return current;
+                    }
+                    undone[0] = true;
+                    Task previous = outcome.previous;
+                    if (previous == null) {
+                        if (!current.isIsdeleted()) {
+                            unindex(current);
+                        }
+                        return null;
+                    }
+                    reindex(current, previous);
+                    if (previous.isIsdeleted() && !current.isIsdeleted()) {
+                        tombstones.add(new Tombstone(key, Instant.now()));
+                    }
+                    return previous;
+                });
+                if (undone[0]) {
+                    modifications.increment();
+                }
+            }
+        } finally {
+            endWrite(inFlight);
+        }
+    }
+
+    private LongAdder beginWrite() {
+        while (true) {
+            int epoch = writeEpoch.get();
+            LongAdder inFlight = writesInFlight[epoch & 1];
+            inFlight.increment();
+            // A checkpoint that flipped the epoch meanwhile may already have seen this counter drained
+            if (writeEpoch.get() == epoch) {
+                return inFlight;
+            }
+            inFlight.decrement();
+        }
+    }
+
+    private void endWrite(LongAdder inFlight) {
+        inFlight.decrement();
+        Thread checkpoint = drainingCheckpoint;
+        if (checkpoint != null) {
+            LockSupport.unpark(checkpoint);
+        }
+    }
+
+    private void recover() {
+        TaskJournal.ReplayHandler handler = new TaskJournal.ReplayHandler() {
+            @Override
+            public void onSave(Task task) {
+                // Recovered deletes restart their retention period from now
+                apply(task.getId(), previous -> task, TaskJournal.NONE);
+            }
+
+            @Override
+            public void onPurge(TaskId id) {
+                // Purged tasks were deleted and are no longer indexed; evicted ones were live
+                Task removed = tasks.remove(id);
+                if (removed != null && !removed.isIsdeleted()) {
+                    unindex(removed);
+                }
+            }
+        };
+        try {
+            journal.replay(snapshots.load(handler), handler);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover the task store", ex);
+        }
+    }
+
+    private static void awaitDurable(CompletableFuture<?> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void recordScan(long scanned, long returned) {
+        tasksScanned.add(scanned);
+        tasksReturned.add(returned);
+    }
+
+    private ConcurrentSkipListMap<DueDateKey, Task> indexFor(TaskStatus status) {
+        return status == null ? dueDateIndex : statusIndexes.get(status);
+    }
+
+    private void reindex(Task previous, Task current) {
+        DueDateKey key = DueDateKey.of(current);
+        if (!current.isIsdeleted()) {
+            dueDateIndex.put(key, current);
+            if (current.getStatus() != null) {
+                statusIndexes.get(current.getStatus()).put(key, current);
+                statusCounts.get(current.getStatus()).increment();
+            }
+        }
+        if (previous == null || previous.isIsdeleted()) {
+            return;
+        }
+        DueDateKey staleKey = DueDateKey.of(previous);
+        boolean moved = current.isIsdeleted() || !staleKey.equals(key);
+        if (moved) {
+            dueDateIndex.remove(staleKey);
+        }
+        if (previous.getStatus() != null) {
+            statusCounts.get(previous.getStatus()).decrement();
+            if (moved || previous.getStatus() != current.getStatus()) {
+                statusIndexes.get(previous.getStatus()).remove(staleKey);
+            }
+        }
+    }
+
+    private void unindex(Task task) {
+        DueDateKey key = DueDateKey.of(task);
+        dueDateIndex.remove(key);
+        if (task.getStatus() != null) {
+            statusIndexes.get(task.getStatus()).remove(key);
+            statusCounts.get(task.getStatus()).decrement();
+        }
+    }
+
+    /**
+     * Merges iterators that are each in due-date order into one in due-date order.
+     */
+    private static final class MergingIterator implements Iterator<Task> {
+        private final List<Iterator<Task>> sources;
+        private final Task[] heads;
+
+        private MergingIterator(List<Iterator<Task>> sources) {
+            this.sources = sources;
+            this.heads = new Task[sources.size()];
+            for (int i = 0; i < heads.length; i++) {
+                heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (Task head : heads) {
+                if (head != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Task next() {
+            int first = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (first < 0 || DueDateKey.of(heads[i]).compareTo(DueDateKey.of(heads[first])) < 0)) {
+                    first = i;
+                }
+            }
+            if (first < 0) {
+                throw new NoSuchElementException();
+            }
+            Task next = heads[first];
+            heads[first] = sources.get(first).hasNext() ? sources.get(first).next() : null;
+            return next;
+        }
+    }
+
+    private static final class Outcome {
+        private static final CompletableFuture<Void> NOTHING_WRITTEN = CompletableFuture.completedFuture(null);
+
+        private Task previous;
+        private Task stored;
+        private CompletableFuture<Void> durable = NOTHING_WRITTEN;
+    }
+
+    private record Tombstone(TaskId id, Instant deletedAt) {
+    }
 }
@@ -0,0 +1,73 @@
+package com.interview.taskmanager.infrastructure.repository;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durable record of every change made to the in-memory store. Appends are called while the id being
+ * written is locked, so they must only capture the change and hand it off; the returned future
+ * completes once the change is as durable as the journal promises.
+ */
+public interface TaskJournal extends Closeable {
+
+    TaskJournal NONE = new TaskJournal() {
+        private final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+        @Override
+        public CompletableFuture<Void> appendSave(Task task) {
+            return done;
+        }
+
+        @Override
+        public CompletableFuture<Void> appendPurge(TaskId id) {
+            return done;
+        }
+
+        @Override
+        public CompletableFuture<Long> mark() {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        @Override
+        public void replay(long fromPosition, ReplayHandler handler) {
+        }
+
+        @Override
+        public void truncate(long beforePosition) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    CompletableFuture<Void> appendSave(Task task);
+
+    CompletableFuture<Void> appendPurge(TaskId id);
+
+    /**
+     * Returns the log position at which changes appended after this call begin. Changes appended
+     * before the call sit entirely before that position.
+     */
+    CompletableFuture<Long> mark();
+
+    /**
+     * Feeds every change recorded at or after the position, oldest first, to the handler.
+     */
+    void replay(long fromPosition, ReplayHandler handler) throws IOException;
+
+    /**
+     * Discards changes recorded before the position once they are covered by a snapshot.
+     */
+    void truncate(long beforePosition) throws IOException;
+
+    interface ReplayHandler {
+        void onSave(Task task);
+
+        void onPurge(TaskId id);
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.taskmanager.infrastructure.repository;
+
+import com.interview.taskmanager.domain.models.Task;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Point-in-time copies of the in-memory store, each tied to the journal position it covers so recovery
+ * only has to replay the journal from there on.
+ */
+public interface TaskSnapshotStore {
+
+    TaskSnapshotStore NONE = new TaskSnapshotStore() {
+        @Override
+        public long write(long logPosition, Iterator<Task> tasks) {
+            return 0;
+        }
+
+        @Override
+        public long load(TaskJournal.ReplayHandler handler) {
+            return 0;
+        }
+    };
+
+    /**
+     * Writes the tasks as the newest snapshot and returns how many were written. Every change recorded
+     * before logPosition must already be reflected in the tasks.
+     */
+    long write(long logPosition, Iterator<Task> tasks) throws IOException;
+
+    /**
+     * Feeds every task of the newest snapshot to the handler and returns the journal position to
+     * resume replay from, or 0 when there is no snapshot.
+     */
+    long load(TaskJournal.ReplayHandler handler) throws IOException;
+}
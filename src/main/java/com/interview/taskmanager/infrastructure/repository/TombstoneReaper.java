@@ -0,0 +1,52 @@
+package com.interview.taskmanager.infrastructure.repository;
+
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.config.TombstoneProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodically removes soft-deleted tasks once their retention period has passed. Work is split into
+ * small batches so a large backlog of deletes never holds the repository for long.
+ */
+@Component
+public class TombstoneReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneReaper.class);
+
+    private final ITaskRepository taskRepository;
+    private final TombstoneProperties properties;
+    private final LongAdder reclaimed = new LongAdder();
+
+    public TombstoneReaper(ITaskRepository taskRepository, TombstoneProperties properties) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.tombstones.reap-interval:PT5S}")
+    public int reap() {
+        Instant cutoff = Instant.now().minus(properties.retention());
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int purged = taskRepository.purgeDeleted(cutoff, properties.batchSize());
+            total += purged;
+            if (purged < properties.batchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            reclaimed.add(total);
+            log.info("Reclaimed {} deleted tasks older than {}", total, properties.retention());
+        }
+        return total;
+    }
+
+    public long getReclaimedCount() {
+        return reclaimed.sum();
+    }
+}
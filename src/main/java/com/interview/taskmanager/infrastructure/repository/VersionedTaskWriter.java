@@ -0,0 +1,17 @@
+package com.interview.taskmanager.infrastructure.repository;
+
+import com.interview.taskmanager.domain.models.Task;
+
+import java.util.List;
+
+/**
+ * A task store that can take tasks whose versions were assigned elsewhere, as when a cache in front of
+ * it hands over the changes it accepted.
+ */
+public interface VersionedTaskWriter {
+
+    /**
+     * Stores each task with the version it carries, replacing whatever is stored under its id.
+     */
+    void putAll(List<Task> tasks);
+}
@@ -0,0 +1,811 @@
+package com.interview.taskmanager.infrastructure.repository.columnar;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.CheckpointableRepository;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store laid out column by column instead of as one object per task. Each task is a row number
+ * into parallel primitive arrays: the id as two longs, the due date as an int epoch day, the status as
+ * a byte and the version as a long, with soft-deletes in a bitset and title and description packed
+ * into a {@link StringArena}. Listing filters and orders rows by reading those columns directly and
+ * only builds Task objects for the rows it returns, so the heap holds a few arrays rather than tens of
+ * millions of small objects, and status and date scans run over contiguous memory.
+ * <p>
+ * There are no sorted indexes to maintain: a page is selected by one pass over the rows that keeps the
+ * best candidates in a bounded heap, so listing costs O(n) in the number of stored tasks, and deep
+ * offsets cost extra heap space. One read-write lock guards the columns, so reads run in parallel but
+ * writes are applied one at a time and wait for any scan in progress. Purged rows are recycled for
+ * new tasks.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "taskmanager.store", name = "type", havingValue = "columnar")
+public class ColumnarTaskRepository implements ITaskRepository, CheckpointableRepository {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte NO_STATUS = -1;
+    private static final byte ANY_STATUS = -2;
+    // Status of a purged row, so that scans skip it on the status byte alone
+    private static final byte FREE_ROW = -3;
+    // Sorts after every real date, which puts tasks without a due date last as DueDateKey does
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+    // Status filters as bitmasks over status bytes: bit 0 is NO_STATUS, bit n + 1 is status ordinal n
+    private static final int ANY_STATUS_MASK = (1 << (STATUSES.length + 1)) - 1;
+    private static final long ANY_VERSION = -1;
+    private static final int INITIAL_ROWS = 1024;
+    // Rows materialized per lock acquisition when streaming, so long walks never hold off writers
+    private static final int CHUNK_SIZE = 1024;
+    // Every chunk of a stream is a pass over all rows, so streams take larger chunks to keep passes few
+    private static final int STREAM_CHUNK_SIZE = 64 * CHUNK_SIZE;
+    // Days counted one by one when bounding a large selection by due date
+    private static final int CUTOFF_DAYS = 4096;
+    private static final CompletableFuture<Void> NOTHING_WRITTEN = CompletableFuture.completedFuture(null);
+
+    // Columns, indexed by row. Rows up to rowCount have been handed out; occupied marks those holding
+    // a task and deleted those holding a soft-deleted one
+    private long[] idHigh = new long[INITIAL_ROWS];
+    private long[] idLow = new long[INITIAL_ROWS];
+    private int[] dueDate = new int[INITIAL_ROWS];
+    private byte[] status = new byte[INITIAL_ROWS];
+    private long[] version = new long[INITIAL_ROWS];
+    private long[] title = new long[INITIAL_ROWS];
+    private long[] description = new long[INITIAL_ROWS];
+    private final BitSet occupied = new BitSet(INITIAL_ROWS);
+    private final BitSet deleted = new BitSet(INITIAL_ROWS);
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeRowCount;
+
+    private final RowIndex rowIndex = new RowIndex();
+    private final StringArena strings = new StringArena(INITIAL_ROWS * 64);
+    private final long[] statusCounts = new long[STATUSES.length];
+    private long liveCount;
+    private final ArrayDeque<Tombstone> tombstones = new ArrayDeque<>();
+    private final LongAdder tasksScanned = new LongAdder();
+    private final LongAdder tasksReturned = new LongAdder();
+    // Written under the write lock only; read without it to validate cached pages
+    private volatile long modifications;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    private final TaskJournal journal;
+    private final TaskSnapshotStore snapshots;
+
+    public ColumnarTaskRepository() {
+        this(TaskJournal.NONE, TaskSnapshotStore.NONE);
+    }
+
+    @Autowired
+    public ColumnarTaskRepository(TaskJournal journal, TaskSnapshotStore snapshots) {
+        this.journal = journal;
+        this.snapshots = snapshots;
+        recover();
+    }
+
+    @Override
+    public Task save(Task task) {
+        return write(task, ANY_VERSION);
+    }
+
+    @Override
+    public Optional<Task> compareAndSet(long expectedVersion, Task updated) {
+        return Optional.ofNullable(write(updated, expectedVersion));
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> batch) {
+        return writeAll(batch, false).stream()
+                .map(Optional::orElseThrow)
+                .toList();
+    }
+
+    @Override
+    public List<Optional<Task>> compareAndSetAll(List<Task> updated) {
+        return writeAll(updated, true);
+    }
+
+    @Override
+    public Optional<Task> findById(TaskId id) {
+        lock.readLock().lock();
+        try {
+            int row = rowIndex.find(id.mostSignificantBits(), id.leastSignificantBits(), idHigh, idLow);
+            return row < 0 ? Optional.empty() : Optional.of(taskAt(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return findAll(task -> true);
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>();
+            for (int row = occupied.nextSetBit(0); row >= 0; row = occupied.nextSetBit(row + 1)) {
+                Task task = taskAt(row);
+                if (filter.test(task)) {
+                    found.add(task);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findPage(TaskStatus taskStatus, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        long offset = (long) page * size;
+        lock.readLock().lock();
+        try {
+            long candidates = countOf(taskStatus);
+            if (offset >= candidates) {
+                return List.of();
+            }
+            int[] rows = selectFirst(statusCode(taskStatus), null, (int) Math.min(offset + size, candidates));
+            List<Task> found = new ArrayList<>(rows.length - (int) offset);
+            for (int i = (int) offset; i < rows.length; i++) {
+                found.add(taskAt(rows[i]));
+            }
+            recordScan(rowCount, found.size());
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The due-date filter is one more integer comparison in the same pass as findPage, so the range
+     * costs a scan of the due-date and status columns but builds tasks only for the page.
+     */
+    @Override
+    public List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        int statusMask = ANY_STATUS_MASK;
+        if (statuses != null) {
+            statusMask = 0;
+            for (TaskStatus taskStatus : statuses) {
+                statusMask |= statusBit((byte) taskStatus.ordinal());
+            }
+        }
+        long offset = (long) page * size;
+        lock.readLock().lock();
+        try {
+            if (offset >= liveCount) {
+                return List.of();
+            }
+            int[] rows = selectFirst(statusMask, rangeBound(dueFrom, Integer.MIN_VALUE), rangeBound(dueTo, NO_DUE_DATE - 1),
+                    null, (int) Math.min(offset + size, liveCount));
+            List<Task> found = new ArrayList<>(Math.max(0, rows.length - (int) offset));
+            for (int i = (int) offset; i < rows.length; i++) {
+                found.add(taskAt(rows[i]));
+            }
+            recordScan(rowCount, found.size());
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAfter(TaskStatus taskStatus, DueDateKey after, int size) {
+        if (size <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] rows = selectFirst(statusCode(taskStatus), after, (int) Math.min(size, countOf(taskStatus)));
+            List<Task> found = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                found.add(taskAt(row));
+            }
+            recordScan(rowCount, found.size());
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the rows in keyset chunks: each chunk is the next STREAM_CHUNK_SIZE matching rows after the
+     * last task emitted, selected and built under a short read lock, so memory stays bounded by the
+     * chunk and writers wait for one chunk at most. A task that changes while the stream runs shows up
+     * in its new state if it now sorts after the last task emitted.
+     */
+    @Override
+    public Stream<Task> streamByDueDate(TaskStatus taskStatus) {
+        byte code = statusCode(taskStatus);
+        Iterator<Task> tasks = new ChunkedIterator() {
+            private DueDateKey last;
+
+            @Override
+            boolean fill(List<Task> chunk) {
+                lock.readLock().lock();
+                try {
+                    int[] rows = selectFirst(code, last, STREAM_CHUNK_SIZE);
+                    for (int row : rows) {
+                        chunk.add(taskAt(row));
+                    }
+                    if (rows.length > 0) {
+                        last = DueDateKey.of(chunk.get(chunk.size() - 1));
+                    }
+                    return rows.length == STREAM_CHUNK_SIZE;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(tasks, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        lock.readLock().lock();
+        try {
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus taskStatus : STATUSES) {
+                counts.put(taskStatus, statusCounts[taskStatus.ordinal()]);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return rowIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications;
+    }
+
+    /**
+     * Listing has no index to seek into, so every findPage and findAfter counts every row it passed.
+     */
+    @Override
+    public long tasksScanned() {
+        return tasksScanned.sum();
+    }
+
+    @Override
+    public long tasksReturned() {
+        return tasksReturned.sum();
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        lock.writeLock().lock();
+        try {
+            int reclaimed = 0;
+            for (int examined = 0; examined < limit; examined++) {
+                Tombstone tombstone = tombstones.peek();
+                if (tombstone == null || !tombstone.deletedAt().isBefore(deletedBefore)) {
+                    break;
+                }
+                tombstones.poll();
+                TaskId id = tombstone.id();
+                int row = rowIndex.find(id.mostSignificantBits(), id.leastSignificantBits(), idHigh, idLow);
+                if (row >= 0 && deleted.get(row)) {
+                    freeRow(row);
+                    journal.appendPurge(id);
+                    reclaimed++;
+                }
+            }
+            return reclaimed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the store and drops the journal segments it makes redundant. Journal records
+     * are appended while the write lock is held, so every change recorded before the mark is already in
+     * the columns once the mark is taken. The rows are then copied out a chunk at a time under the read
+     * lock, which makes the snapshot fuzzy in the same harmless way as the in-memory store's.
+     */
+    @Override
+    public long checkpoint() throws IOException {
+        checkpointLock.lock();
+        try {
+            long position = journal.mark().join();
+            Iterator<Task> tasks = new ChunkedIterator() {
+                private int next;
+
+                @Override
+                boolean fill(List<Task> chunk) {
+                    lock.readLock().lock();
+                    try {
+                        while (next < rowCount && chunk.size() < CHUNK_SIZE) {
+                            int row = next++;
+                            if (occupied.get(row)) {
+                                chunk.add(taskAt(row));
+                            }
+                        }
+                        return next < rowCount;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+            };
+            long written = snapshots.write(position, tasks);
+            journal.truncate(position);
+            return written;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private Task write(Task task, long expectedVersion) {
+        Task stored;
+        CompletableFuture<Void> durable = NOTHING_WRITTEN;
+        lock.writeLock().lock();
+        try {
+            stored = store(task, expectedVersion);
+            if (stored != null) {
+                // Appending under the lock keeps journal order the same as the order changes were applied
+                durable = journal.appendSave(stored);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // The change is visible as soon as it is applied; the caller is released once it is durable
+        awaitDurable(durable);
+        return stored;
+    }
+
+    /**
+     * Batch form of {@link #write}: the batch is applied under one lock acquisition and waited on once,
+     * after its last record is queued, so group commit covers it with one fsync.
+     */
+    private List<Optional<Task>> writeAll(List<Task> batch, boolean conditional) {
+        List<Optional<Task>> stored = new ArrayList<>(batch.size());
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[batch.size()];
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Task task = batch.get(i);
+                Task next = store(task, conditional ? task.getVersion() : ANY_VERSION);
+                stored.add(Optional.ofNullable(next));
+                durable[i] = next == null ? NOTHING_WRITTEN : journal.appendSave(next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(CompletableFuture.allOf(durable));
+        return stored;
+    }
+
+    /**
+     * Stores the task with the next version, or returns null without storing it when expectedVersion is
+     * given and the stored task is missing or at a different version. Called with the write lock held.
+     */
+    private Task store(Task task, long expectedVersion) {
+        TaskId id = task.getId();
+        int row = rowIndex.find(id.mostSignificantBits(), id.leastSignificantBits(), idHigh, idLow);
+        if (expectedVersion != ANY_VERSION && (row < 0 || version[row] != expectedVersion)) {
+            return null;
+        }
+        Task stored = task.withVersion(row < 0 ? 1 : version[row] + 1);
+        put(row, stored);
+        modifications++;
+        return stored;
+    }
+
+    /**
+     * Writes the task into its row, or into a new row when row is negative, keeping the status counts
+     * and tombstone queue in step. Called with the write lock held.
+     */
+    private void put(int row, Task task) {
+        int dueEpochDay = encodeDueDate(task.getDue_date());
+        boolean wasDeleted = false;
+        if (row < 0) {
+            row = allocateRow(task.getId());
+        } else {
+            wasDeleted = deleted.get(row);
+            if (!wasDeleted) {
+                uncount(row);
+            }
+            strings.release(title[row]);
+            strings.release(description[row]);
+        }
+        dueDate[row] = dueEpochDay;
+        status[row] = task.getStatus() == null ? NO_STATUS : (byte) task.getStatus().ordinal();
+        version[row] = task.getVersion();
+        title[row] = strings.add(task.getTitle());
+        description[row] = strings.add(task.getDescription());
+        deleted.set(row, task.isIsdeleted());
+        if (!task.isIsdeleted()) {
+            count(row);
+        } else if (!wasDeleted) {
+            tombstones.add(new Tombstone(task.getId(), Instant.now()));
+        }
+        if (strings.needsCompaction()) {
+            strings.compact(rowCount, title, description);
+        }
+    }
+
+    private int allocateRow(TaskId id) {
+        int row;
+        if (freeRowCount > 0) {
+            row = freeRows[--freeRowCount];
+        } else {
+            if (rowCount == idHigh.length) {
+                growColumns();
+            }
+            row = rowCount++;
+        }
+        idHigh[row] = id.mostSignificantBits();
+        idLow[row] = id.leastSignificantBits();
+        occupied.set(row);
+        rowIndex.add(row, idHigh, idLow);
+        return row;
+    }
+
+    private void freeRow(int row) {
+        if (!deleted.get(row)) {
+            uncount(row);
+        }
+        rowIndex.remove(row, idHigh, idLow);
+        occupied.clear(row);
+        deleted.clear(row);
+        status[row] = FREE_ROW;
+        strings.release(title[row]);
+        strings.release(description[row]);
+        title[row] = StringArena.NULL;
+        description[row] = StringArena.NULL;
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeRowCount++] = row;
+    }
+
+    private void growColumns() {
+        int capacity = idHigh.length + (idHigh.length >> 1);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        dueDate = Arrays.copyOf(dueDate, capacity);
+        status = Arrays.copyOf(status, capacity);
+        version = Arrays.copyOf(version, capacity);
+        title = Arrays.copyOf(title, capacity);
+        description = Arrays.copyOf(description, capacity);
+    }
+
+    private void count(int row) {
+        liveCount++;
+        if (status[row] != NO_STATUS) {
+            statusCounts[status[row]]++;
+        }
+    }
+
+    private void uncount(int row) {
+        liveCount--;
+        if (status[row] != NO_STATUS) {
+            statusCounts[status[row]]--;
+        }
+    }
+
+    private long countOf(TaskStatus taskStatus) {
+        return taskStatus == null ? liveCount : statusCounts[taskStatus.ordinal()];
+    }
+
+    private int[] selectFirst(byte code, DueDateKey after, int limit) {
+        int statusMask = code == ANY_STATUS ? ANY_STATUS_MASK : statusBit(code);
+        return selectFirst(statusMask, Integer.MIN_VALUE, NO_DUE_DATE, after, limit);
+    }
+
+    /**
+     * Returns, in due-date order, the first limit live rows with a status in statusMask, due between
+     * the encoded dates fromDueDate and toDueDate inclusive, that sort after the given key. One pass over
+     * the rows keeps the best limit candidates in a max-heap whose root is the worst of them, so most
+     * rows are rejected by comparing a status byte and a due date, both read sequentially. Called with
+     * the read lock held.
+     */
+    private int[] selectFirst(int statusMask, int fromDueDate, int toDueDate, DueDateKey after, int limit) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        int afterDueDate = after == null ? 0 : encodeDueDate(after.dueDate());
+        long afterHigh = after == null ? 0 : after.id().mostSignificantBits();
+        long afterLow = after == null ? 0 : after.id().leastSignificantBits();
+        if (after != null) {
+            // Rows due before the key are rejected by the date check alone
+            fromDueDate = Math.max(fromDueDate, afterDueDate);
+        }
+        if (limit >= CHUNK_SIZE) {
+            toDueDate = dueDateCutoff(statusMask, fromDueDate, toDueDate, after, limit);
+        }
+        int[] heap = new int[limit];
+        int size = 0;
+        int worstDueDate = NO_DUE_DATE;
+        for (int row = 0; row < rowCount; row++) {
+            if ((statusMask & statusBit(status[row])) == 0) {
+                continue;
+            }
+            int rowDueDate = dueDate[row];
+            if (rowDueDate < fromDueDate || rowDueDate > toDueDate) {
+                continue;
+            }
+            // Once the heap is full, anything due after its worst candidate cannot make the cut
+            if ((size == limit && rowDueDate > worstDueDate) || deleted.get(row)
+                    || (after != null && compareRowTo(row, afterDueDate, afterHigh, afterLow) <= 0)) {
+                continue;
+            }
+            if (size < limit) {
+                heap[size] = row;
+                siftUp(heap, size++);
+            } else if (compareRows(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, 0, size);
+            } else {
+                continue;
+            }
+            worstDueDate = dueDate[heap[0]];
+        }
+        // Heapsort the survivors: repeatedly moving the root to the end leaves them in ascending order
+        for (int end = size - 1; end > 0; end--) {
+            int root = heap[0];
+            heap[0] = heap[end];
+            heap[end] = root;
+            siftDown(heap, 0, end);
+        }
+        return size == limit ? heap : Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * The first due date by which limit of the rows selectFirst takes are due, found by counting them
+     * per day over CUTOFF_DAYS days from the earliest. Without it a large heap's worst candidate can
+     * tighten slowly, when rows arrive in an order unrelated to their due dates, and most rows go through
+     * the heap; bounded by it, all but the rows that make the cut are rejected on their due date. Returns
+     * toDueDate when limit rows do not fall due within the window. Called with the read lock held.
+     */
+    private int dueDateCutoff(int statusMask, int fromDueDate, int toDueDate, DueDateKey after, int limit) {
+        int first = NO_DUE_DATE;
+        for (int row = 0; row < rowCount; row++) {
+            int rowDueDate = dueDate[row];
+            if (rowDueDate < first && rowDueDate >= fromDueDate && (statusMask & statusBit(status[row])) != 0 && !deleted.get(row)) {
+                first = rowDueDate;
+            }
+        }
+        long last = Math.min(toDueDate, (long) first + CUTOFF_DAYS - 1);
+        if (first > last) {
+            return toDueDate;
+        }
+        int afterDueDate = after == null ? 0 : encodeDueDate(after.dueDate());
+        long afterHigh = after == null ? 0 : after.id().mostSignificantBits();
+        long afterLow = after == null ? 0 : after.id().leastSignificantBits();
+        int[] perDay = new int[CUTOFF_DAYS];
+        for (int row = 0; row < rowCount; row++) {
+            int rowDueDate = dueDate[row];
+            if (rowDueDate < first || rowDueDate > last || (statusMask & statusBit(status[row])) == 0 || deleted.get(row)
+                    || (after != null && rowDueDate == afterDueDate && compareRowTo(row, afterDueDate, afterHigh, afterLow) <= 0)) {
+                continue;
+            }
+            perDay[rowDueDate - first]++;
+        }
+        long due = 0;
+        for (int day = 0; day <= last - first; day++) {
+            due += perDay[day];
+            if (due >= limit) {
+                return first + day;
+            }
+        }
+        return toDueDate;
+    }
+
+    private void siftUp(int[] heap, int at) {
+        int row = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (compareRows(heap[parent], row) >= 0) {
+                break;
+            }
+            heap[at] = heap[parent];
+            at = parent;
+        }
+        heap[at] = row;
+    }
+
+    private void siftDown(int[] heap, int at, int size) {
+        int row = heap[at];
+        int half = size >>> 1;
+        while (at < half) {
+            int child = 2 * at + 1;
+            if (child + 1 < size && compareRows(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compareRows(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[at] = heap[child];
+            at = child;
+        }
+        heap[at] = row;
+    }
+
+    /**
+     * Due-date order of two rows, matching {@link DueDateKey}: due date first, then id as unsigned
+     * 128-bit number.
+     */
+    private int compareRows(int left, int right) {
+        return compareRowTo(left, dueDate[right], idHigh[right], idLow[right]);
+    }
+
+    private int compareRowTo(int row, int otherDueDate, long otherHigh, long otherLow) {
+        int byDate = Integer.compare(dueDate[row], otherDueDate);
+        if (byDate != 0) {
+            return byDate;
+        }
+        int byHigh = Long.compareUnsigned(idHigh[row], otherHigh);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(idLow[row], otherLow);
+    }
+
+    private Task taskAt(int row) {
+        return new Task(
+                new TaskId(idHigh[row], idLow[row]),
+                strings.get(title[row]),
+                strings.get(description[row]),
+                status[row] == NO_STATUS ? null : STATUSES[status[row]],
+                dueDate[row] == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDate[row]),
+                deleted.get(row),
+                version[row]
+        );
+    }
+
+    private static int encodeDueDate(LocalDate date) {
+        if (date == null) {
+            return NO_DUE_DATE;
+        }
+        long epochDay = date.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay >= NO_DUE_DATE) {
+            throw new IllegalArgumentException("Due date out of range: " + date);
+        }
+        return (int) epochDay;
+    }
+
+    /**
+     * Encodes a bound of a due-date range, clamped to the encodable dates; a null bound is open.
+     */
+    private static int rangeBound(LocalDate date, int open) {
+        if (date == null) {
+            return open;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(NO_DUE_DATE - 1, date.toEpochDay()));
+    }
+
+    private static int statusBit(byte code) {
+        return code >= NO_STATUS ? 1 << (code + 1) : 0;
+    }
+
+    private static byte statusCode(TaskStatus taskStatus) {
+        return taskStatus == null ? ANY_STATUS : (byte) taskStatus.ordinal();
+    }
+
+    private void recover() {
+        TaskJournal.ReplayHandler handler = new TaskJournal.ReplayHandler() {
+            @Override
+            public void onSave(Task task) {
+                // Recovered deletes restart their retention period from now
+                TaskId id = task.getId();
+                put(rowIndex.find(id.mostSignificantBits(), id.leastSignificantBits(), idHigh, idLow), task);
+            }
+
+            @Override
+            public void onPurge(TaskId id) {
+                int row = rowIndex.find(id.mostSignificantBits(), id.leastSignificantBits(), idHigh, idLow);
+                if (row >= 0) {
+                    freeRow(row);
+                }
+            }
+        };
+        lock.writeLock().lock();
+        try {
+            journal.replay(snapshots.load(handler), handler);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover the task store", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void awaitDurable(CompletableFuture<?> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void recordScan(long scanned, long returned) {
+        tasksScanned.add(scanned);
+        tasksReturned.add(returned);
+    }
+
+    /**
+     * Iterator that refills a small buffer of tasks on demand, so a long walk never materializes the
+     * whole store at once.
+     */
+    private abstract static class ChunkedIterator implements Iterator<Task> {
+        private final List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        private int position;
+        private boolean more = true;
+
+        /**
+         * Adds up to CHUNK_SIZE tasks and returns whether there may be more after them.
+         */
+        abstract boolean fill(List<Task> chunk);
+
+        @Override
+        public boolean hasNext() {
+            while (position == chunk.size() && more) {
+                chunk.clear();
+                position = 0;
+                more = fill(chunk);
+            }
+            return position < chunk.size();
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.get(position++);
+        }
+    }
+
+    private record Tombstone(TaskId id, Instant deletedAt) {
+    }
+}
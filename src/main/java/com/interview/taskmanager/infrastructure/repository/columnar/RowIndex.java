@@ -0,0 +1,91 @@
+package com.interview.taskmanager.infrastructure.repository.columnar;
+
+/**
+ * Open-addressing hash from task id to row number. Slots hold row + 1, with 0 marking an empty slot,
+ * and the ids themselves stay in the repository's id columns, which every lookup is handed; an entry
+ * costs one int instead of a map node, a boxed key and a boxed value. Linear probing with
+ * backward-shift deletion keeps probe chains short without tombstone slots. Not thread-safe; the
+ * repository guards it with its lock.
+ */
+final class RowIndex {
+
+    private int[] slots = new int[16];
+    private int size;
+
+    int find(long high, long low, long[] idHigh, long[] idLow) {
+        int mask = slots.length - 1;
+        for (int slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (row < 0) {
+                return -1;
+            }
+            if (idHigh[row] == high && idLow[row] == low) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Adds a row whose id is already written to the id columns and is not in the index yet.
+     */
+    void add(int row, long[] idHigh, long[] idLow) {
+        // Resize beyond two thirds full, where linear probe chains start to grow quickly
+        if ((long) (size + 1) * 3 > (long) slots.length * 2) {
+            resize(idHigh, idLow);
+        }
+        insert(row, idHigh, idLow);
+        size++;
+    }
+
+    void remove(int row, long[] idHigh, long[] idLow) {
+        int mask = slots.length - 1;
+        int hole = hash(idHigh[row], idLow[row]) & mask;
+        while (slots[hole] != row + 1) {
+            hole = (hole + 1) & mask;
+        }
+        slots[hole] = 0;
+        size--;
+        // Pull back every later entry of the chain that would no longer be reachable across the hole
+        for (int slot = (hole + 1) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int moved = slots[slot] - 1;
+            int home = hash(idHigh[moved], idLow[moved]) & mask;
+            boolean reachable = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!reachable) {
+                slots[hole] = slots[slot];
+                slots[slot] = 0;
+                hole = slot;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void insert(int row, long[] idHigh, long[] idLow) {
+        int mask = slots.length - 1;
+        int slot = hash(idHigh[row], idLow[row]) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+    }
+
+    private void resize(long[] idHigh, long[] idLow) {
+        int[] previous = slots;
+        slots = new int[previous.length * 2];
+        for (int entry : previous) {
+            if (entry != 0) {
+                insert(entry - 1, idHigh, idLow);
+            }
+        }
+    }
+
+    private static int hash(long high, long low) {
+        // Sequential ids differ only in a few bits, so both halves are mixed before the mask is applied
+        long mixed = (high * 0x9E3779B97F4A7C15L) ^ low;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (mixed ^ (mixed >>> 33));
+    }
+}
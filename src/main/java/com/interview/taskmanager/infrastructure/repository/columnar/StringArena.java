@@ -0,0 +1,100 @@
+package com.interview.taskmanager.infrastructure.repository.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Strings packed back to back as UTF-8 in one growing byte array. A string is referred to by a long
+ * holding its offset in the high half and its length in the low half, so a column of strings is a
+ * long[] rather than an array of String objects. Replaced strings are left in place as garbage and
+ * reclaimed by {@link #compact}. Not thread-safe; the repository guards it with its lock.
+ */
+final class StringArena {
+
+    static final long NULL = -1;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private byte[] bytes;
+    private int used;
+    private long garbage;
+
+    StringArena(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    long add(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, used, encoded.length);
+        long ref = (long) used << 32 | encoded.length;
+        used += encoded.length;
+        return ref;
+    }
+
+    String get(long ref) {
+        if (ref == NULL) {
+            return null;
+        }
+        return new String(bytes, offset(ref), length(ref), StandardCharsets.UTF_8);
+    }
+
+    void release(long ref) {
+        if (ref != NULL) {
+            garbage += length(ref);
+        }
+    }
+
+    /**
+     * True once at least half of the arena is unreachable, so that compacting it costs at most as much
+     * as the writes that produced the garbage.
+     */
+    boolean needsCompaction() {
+        return garbage > 4096 && garbage * 2 > used;
+    }
+
+    /**
+     * Copies the strings still referenced by the given columns into a fresh arena and rewrites the
+     * references in place. Only the first rows entries of each column are looked at.
+     */
+    void compact(int rows, long[]... columns) {
+        byte[] compacted = new byte[Math.max(16, (int) Math.min(MAX_CAPACITY, (long) (used - garbage) * 3 / 2))];
+        int position = 0;
+        for (long[] column : columns) {
+            for (int row = 0; row < rows; row++) {
+                long ref = column[row];
+                if (ref == NULL) {
+                    continue;
+                }
+                int length = length(ref);
+                System.arraycopy(bytes, offset(ref), compacted, position, length);
+                column[row] = (long) position << 32 | length;
+                position += length;
+            }
+        }
+        bytes = compacted;
+        used = position;
+        garbage = 0;
+    }
+
+    private void ensureCapacity(int extra) {
+        if ((long) used + extra > MAX_CAPACITY) {
+            throw new IllegalStateException("String arena is full");
+        }
+        if (used + extra > bytes.length) {
+            long grown = Math.max((long) bytes.length * 3 / 2, (long) used + extra);
+            bytes = Arrays.copyOf(bytes, (int) Math.min(grown, MAX_CAPACITY));
+        }
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int length(long ref) {
+        return (int) ref;
+    }
+}
@@ -0,0 +1,556 @@
+package com.interview.taskmanager.infrastructure.repository.jdbc;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.config.JdbcProperties;
+import com.interview.taskmanager.infrastructure.repository.VersionedTaskWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store over plain JDBC, by default an embedded H2 database file. Listings are pushed into SQL:
+ * the (deleted, due date, id) and (deleted, status, due date, id) indexes return pages in order, so
+ * nothing is sorted in the JVM.
+ *
+ * <p>Due dates are stored as epoch days with tasks without one at Integer.MAX_VALUE, and ids as their
+ * two halves with the sign bit flipped, so SQL's ordering on plain integer columns is exactly
+ * {@link DueDateKey} order. Writes lock the rows they touch, then send inserts and updates as JDBC
+ * batches in one transaction per call.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "taskmanager.store", name = "type", havingValue = "jdbc")
+public class JdbcTaskRepository implements ITaskRepository, VersionedTaskWriter {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int NO_STATUS = -1;
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+    // Ids compare unsigned; flipping the sign bit makes signed BIGINT order agree
+    private static final long SIGN_BIT = Long.MIN_VALUE;
+    private static final int STREAM_CHUNK = 1000;
+    // Ids locked per statement. H2 checks each row against the whole IN list, so past a few dozen ids a
+    // longer list costs more than the round trips it saves
+    private static final int LOCK_CHUNK = 64;
+    private static final String DUPLICATE_KEY = "23505";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS tasks ("
+                    + "id_high BIGINT NOT NULL, id_low BIGINT NOT NULL, title CHARACTER VARYING, description CHARACTER VARYING, "
+                    + "status TINYINT NOT NULL, due_day INT NOT NULL, deleted BOOLEAN NOT NULL, deleted_at BIGINT, "
+                    + "version BIGINT NOT NULL, PRIMARY KEY (id_high, id_low))",
+            "CREATE INDEX IF NOT EXISTS tasks_by_due_date ON tasks (deleted, due_day, id_high, id_low)",
+            "CREATE INDEX IF NOT EXISTS tasks_by_status ON tasks (deleted, status, due_day, id_high, id_low)",
+            "CREATE INDEX IF NOT EXISTS tasks_by_deleted_at ON tasks (deleted_at)"
+    };
+    private static final String COLUMNS = "id_high, id_low, title, description, status, due_day, deleted, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM tasks";
+    private static final String IN_ORDER = " ORDER BY due_day, id_high, id_low";
+    private static final String LOCK = "SELECT id_high, id_low, version FROM tasks WHERE (id_high, id_low) IN (%s)"
+            + " ORDER BY id_high, id_low FOR UPDATE";
+    private static final String INSERT = "INSERT INTO tasks (title, description, status, due_day, deleted, deleted_at, version, id_high, id_low) "
+            + "VALUES (?, ?, ?, ?, ?, CASE WHEN ? THEN ? END, ?, ?, ?)";
+    // A task deleted again keeps the time it was first deleted, so its retention is not extended
+    private static final String UPDATE = "UPDATE tasks SET title = ?, description = ?, status = ?, due_day = ?, deleted = ?, "
+            + "deleted_at = CASE WHEN ? THEN COALESCE(deleted_at, ?) END, version = ? WHERE id_high = ? AND id_low = ?";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final LongAdder tasksScanned = new LongAdder();
+    private final LongAdder tasksReturned = new LongAdder();
+    private final LongAdder modifications = new LongAdder();
+
+    @Autowired
+    public JdbcTaskRepository(DataSource dataSource, JdbcProperties properties) {
+        this(dataSource, properties.batchSize());
+    }
+
+    public JdbcTaskRepository(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the task schema", e);
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        return write(List.of(task), false).get(0).orElseThrow();
+    }
+
+    @Override
+    public Optional<Task> compareAndSet(long expectedVersion, Task updated) {
+        return write(List.of(updated.withVersion(expectedVersion)), true).get(0);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return write(tasks, false).stream()
+                .map(Optional::orElseThrow)
+                .toList();
+    }
+
+    @Override
+    public List<Optional<Task>> compareAndSetAll(List<Task> updated) {
+        return write(updated, true);
+    }
+
+    @Override
+    public Optional<Task> findById(TaskId id) {
+        List<Task> found = query(SELECT + " WHERE id_high = ? AND id_low = ?", statement -> bindId(statement, 1, id));
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return query(SELECT, statement -> {
+        });
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        return findAll().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findPage(TaskStatus status, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        long offset = (long) page * size;
+        String sql = SELECT + " WHERE deleted = FALSE" + (status == null ? "" : " AND status = ?")
+                + IN_ORDER + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        List<Task> found = query(sql, statement -> {
+            int index = 1;
+            if (status != null) {
+                statement.setInt(index++, status.ordinal());
+            }
+            statement.setLong(index++, offset);
+            statement.setInt(index, size);
+        });
+        // The database walks the skipped rows of the index to reach the offset, as the in-memory store does
+        recordScan(found.isEmpty() ? 0 : offset + found.size(), found.size());
+        return found;
+    }
+
+    @Override
+    public List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size) {
+        if (page < 0 || size <= 0 || (statuses != null && statuses.isEmpty())) {
+            return List.of();
+        }
+        long offset = (long) page * size;
+        List<TaskStatus> filter = statuses == null ? List.of() : List.copyOf(statuses);
+        String sql = SELECT + " WHERE deleted = FALSE AND due_day BETWEEN ? AND ?"
+                + (filter.isEmpty() ? "" : " AND status IN (" + "?, ".repeat(filter.size() - 1) + "?)")
+                + IN_ORDER + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        List<Task> found = query(sql, statement -> {
+            int index = 1;
+            statement.setInt(index++, rangeBound(dueFrom, Integer.MIN_VALUE));
+            statement.setInt(index++, rangeBound(dueTo, NO_DUE_DATE - 1));
+            for (TaskStatus status : filter) {
+                statement.setInt(index++, status.ordinal());
+            }
+            statement.setLong(index++, offset);
+            statement.setInt(index, size);
+        });
+        recordScan(found.isEmpty() ? 0 : offset + found.size(), found.size());
+        return found;
+    }
+
+    @Override
+    public List<Task> findAfter(TaskStatus status, DueDateKey after, int size) {
+        if (size <= 0) {
+            return List.of();
+        }
+        List<Task> found = selectAfter(status, after, size);
+        recordScan(found.size(), found.size());
+        return found;
+    }
+
+    /**
+     * Walks the index a chunk at a time, each chunk a keyset query resuming after the last task of the
+     * previous one, so no connection or cursor stays open while the caller consumes the stream.
+     */
+    @Override
+    public Stream<Task> streamByDueDate(TaskStatus status) {
+        Iterator<Task> tasks = new Iterator<>() {
+            private List<Task> chunk = selectAfter(status, null, STREAM_CHUNK);
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == chunk.size() && chunk.size() == STREAM_CHUNK) {
+                    chunk = selectAfter(status, DueDateKey.of(chunk.get(chunk.size() - 1)), STREAM_CHUNK);
+                    next = 0;
+                }
+                return next < chunk.size();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(next++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(tasks, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            counts.put(status, 0L);
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT status, COUNT(*) FROM tasks WHERE deleted = FALSE AND status <> ? GROUP BY status")) {
+            statement.setInt(1, NO_STATUS);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    counts.put(STATUSES[rows.getInt(1)], rows.getLong(2));
+                }
+            }
+            return counts;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count tasks", e);
+        }
+    }
+
+    @Override
+    public long size() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM tasks")) {
+            rows.next();
+            return rows.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count tasks", e);
+        }
+    }
+
+    /**
+     * Counts changes committed through this repository; writes made to the database by anything else
+     * are not seen.
+     */
+    @Override
+    public long modificationCount() {
+        return modifications.sum();
+    }
+
+    @Override
+    public long tasksScanned() {
+        return tasksScanned.sum();
+    }
+
+    @Override
+    public long tasksReturned() {
+        return tasksReturned.sum();
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM tasks WHERE deleted = TRUE AND deleted_at < ? FETCH FIRST ? ROWS ONLY")) {
+            statement.setLong(1, deletedBefore.toEpochMilli());
+            statement.setInt(2, limit);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not purge deleted tasks", e);
+        }
+    }
+
+    /**
+     * Stores tasks with the versions they carry, inserting those not stored yet, in one transaction.
+     */
+    @Override
+    public void putAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        inTransaction(connection -> {
+            store(connection, tasks, new HashSet<>(lockVersions(connection, tasks).keySet()));
+            return null;
+        });
+        modifications.add(tasks.size());
+    }
+
+    /**
+     * Stores the batch in one transaction and returns each task as stored, or empty where a conditional
+     * write found another version.
+     */
+    private List<Optional<Task>> write(List<Task> batch, boolean conditional) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        List<Optional<Task>> stored = inTransaction(connection -> write(connection, batch, conditional));
+        // Counted after the commit, so the count never runs ahead of what reads can see
+        modifications.add(stored.stream().filter(Optional::isPresent).count());
+        return stored;
+    }
+
+    /**
+     * Runs the work in a transaction. A concurrent insert of the same new id makes the transaction fail
+     * on the primary key; it is then retried, and finds the row the other writer created.
+     */
+    private <T> T inTransaction(Transaction<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    T result = work.run(connection);
+                    connection.commit();
+                    return result;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    if (!DUPLICATE_KEY.equals(e.getSQLState()) || attempt == 3) {
+                        throw e;
+                    }
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not store tasks", e);
+            }
+        }
+    }
+
+    private List<Optional<Task>> write(Connection connection, List<Task> batch, boolean conditional) throws SQLException {
+        Map<TaskId, Long> versions = lockVersions(connection, batch);
+        Set<TaskId> existing = new HashSet<>(versions.keySet());
+        List<Optional<Task>> stored = new ArrayList<>(batch.size());
+        List<Task> changed = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            Long current = versions.get(task.getId());
+            if (conditional && (current == null || current != task.getVersion())) {
+                stored.add(Optional.empty());
+                continue;
+            }
+            Task next = task.withVersion(current == null ? 1 : current + 1);
+            versions.put(next.getId(), next.getVersion());
+            stored.add(Optional.of(next));
+            changed.add(next);
+        }
+        store(connection, changed, existing);
+        return stored;
+    }
+
+    /**
+     * Sends the tasks as batched inserts and updates; existing holds the ids already stored and gains
+     * those inserted here.
+     */
+    private void store(Connection connection, List<Task> tasks, Set<TaskId> existing) throws SQLException {
+        long now = Instant.now().toEpochMilli();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT);
+             PreparedStatement update = connection.prepareStatement(UPDATE)) {
+            Set<TaskId> pendingInserts = new HashSet<>();
+            int pendingUpdates = 0;
+            for (Task task : tasks) {
+                if (existing.add(task.getId())) {
+                    bind(insert, task, now);
+                    insert.addBatch();
+                    pendingInserts.add(task.getId());
+                } else {
+                    // A task inserted earlier in this batch must exist before it can be updated
+                    if (pendingInserts.contains(task.getId())) {
+                        insert.executeBatch();
+                        pendingInserts.clear();
+                    }
+                    bind(update, task, now);
+                    update.addBatch();
+                    pendingUpdates++;
+                }
+                if (pendingInserts.size() == batchSize) {
+                    insert.executeBatch();
+                    pendingInserts.clear();
+                }
+                if (pendingUpdates == batchSize) {
+                    update.executeBatch();
+                    pendingUpdates = 0;
+                }
+            }
+            insert.executeBatch();
+            update.executeBatch();
+        }
+    }
+
+    /**
+     * Locks the rows of the batch's existing tasks and returns their versions, up to {@link #LOCK_CHUNK}
+     * rows per statement. Rows are locked in id order, so two batches touching the same tasks cannot
+     * deadlock.
+     */
+    private Map<TaskId, Long> lockVersions(Connection connection, List<Task> batch) throws SQLException {
+        List<TaskId> ids = new ArrayList<>(new TreeSet<>(batch.stream().map(Task::getId).toList()));
+        Map<TaskId, Long> versions = new HashMap<>();
+        int fullChunks = ids.size() / LOCK_CHUNK;
+        if (fullChunks > 0) {
+            try (PreparedStatement lock = connection.prepareStatement(lockStatement(LOCK_CHUNK))) {
+                for (int chunk = 0; chunk < fullChunks; chunk++) {
+                    lock(lock, ids.subList(chunk * LOCK_CHUNK, (chunk + 1) * LOCK_CHUNK), versions);
+                }
+            }
+        }
+        List<TaskId> rest = ids.subList(fullChunks * LOCK_CHUNK, ids.size());
+        if (!rest.isEmpty()) {
+            try (PreparedStatement lock = connection.prepareStatement(lockStatement(rest.size()))) {
+                lock(lock, rest, versions);
+            }
+        }
+        return versions;
+    }
+
+    private static String lockStatement(int ids) {
+        return LOCK.formatted("(?, ?), ".repeat(ids - 1) + "(?, ?)");
+    }
+
+    private static void lock(PreparedStatement lock, List<TaskId> ids, Map<TaskId, Long> versions) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            bindId(lock, 2 * i + 1, ids.get(i));
+        }
+        try (ResultSet rows = lock.executeQuery()) {
+            while (rows.next()) {
+                versions.put(new TaskId(rows.getLong(1) ^ SIGN_BIT, rows.getLong(2) ^ SIGN_BIT), rows.getLong(3));
+            }
+        }
+    }
+
+    private List<Task> selectAfter(TaskStatus status, DueDateKey after, int size) {
+        String sql = SELECT + " WHERE deleted = FALSE" + (status == null ? "" : " AND status = ?")
+                + (after == null ? "" : " AND (due_day, id_high, id_low) > (?, ?, ?)")
+                + IN_ORDER + " FETCH FIRST ? ROWS ONLY";
+        return query(sql, statement -> {
+            int index = 1;
+            if (status != null) {
+                statement.setInt(index++, status.ordinal());
+            }
+            if (after != null) {
+                statement.setInt(index++, encodeDueDate(after.dueDate()));
+                bindId(statement, index, after.id());
+                index += 2;
+            }
+            statement.setInt(index, size);
+        });
+    }
+
+    private List<Task> query(String sql, Binder binder) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            List<Task> found = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    found.add(toTask(rows));
+                }
+            }
+            return found;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read tasks", e);
+        }
+    }
+
+    /**
+     * Binds a task to {@link #INSERT} or {@link #UPDATE}, which take the same parameters in the same order.
+     */
+    private static void bind(PreparedStatement statement, Task task, long now) throws SQLException {
+        statement.setString(1, task.getTitle());
+        statement.setString(2, task.getDescription());
+        statement.setInt(3, task.getStatus() == null ? NO_STATUS : task.getStatus().ordinal());
+        statement.setInt(4, encodeDueDate(task.getDue_date()));
+        statement.setBoolean(5, task.isIsdeleted());
+        statement.setBoolean(6, task.isIsdeleted());
+        statement.setLong(7, now);
+        statement.setLong(8, task.getVersion());
+        bindId(statement, 9, task.getId());
+    }
+
+    private static void bindId(PreparedStatement statement, int index, TaskId id) throws SQLException {
+        statement.setLong(index, id.mostSignificantBits() ^ SIGN_BIT);
+        statement.setLong(index + 1, id.leastSignificantBits() ^ SIGN_BIT);
+    }
+
+    private static Task toTask(ResultSet rows) throws SQLException {
+        int status = rows.getInt(5);
+        int dueDay = rows.getInt(6);
+        return new Task(
+                new TaskId(rows.getLong(1) ^ SIGN_BIT, rows.getLong(2) ^ SIGN_BIT),
+                rows.getString(3),
+                rows.getString(4),
+                status == NO_STATUS ? null : STATUSES[status],
+                dueDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDay),
+                rows.getBoolean(7),
+                rows.getLong(8)
+        );
+    }
+
+    private static int encodeDueDate(LocalDate date) {
+        if (date == null) {
+            return NO_DUE_DATE;
+        }
+        long epochDay = date.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay >= NO_DUE_DATE) {
+            throw new IllegalArgumentException("Due date out of range: " + date);
+        }
+        return (int) epochDay;
+    }
+
+    private static int rangeBound(LocalDate date, int open) {
+        if (date == null) {
+            return open;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(NO_DUE_DATE - 1, date.toEpochDay()));
+    }
+
+    private void recordScan(long scanned, long returned) {
+        tasksScanned.add(scanned);
+        tasksReturned.add(returned);
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Transaction<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,288 @@
+package com.interview.taskmanager.infrastructure.repository.snapshot;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Stores snapshots column by column: one region per field holding that field for every task, so each
+ * region is a flat run of same-typed values. Strings are split into a length column and a byte column.
+ * Each column is streamed to its own temporary file while the tasks are walked once, then the columns
+ * are concatenated behind a header of offsets; memory use does not grow with the number of tasks.
+ * Loading maps every column read-only and decodes the rows straight out of the page cache.
+ */
+public class ColumnarSnapshotStore implements TaskSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarSnapshotStore.class);
+    private static final int MAGIC = 0x54534E50;
+    private static final int FORMAT_VERSION = 3;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final byte FLAG_DELETED = 1;
+    private static final byte FLAG_DUE_DATE = 2;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private enum Column {
+        ID_HIGH, ID_LOW, TITLE_LENGTH, TITLE, DESCRIPTION_LENGTH, DESCRIPTION, STATUS, FLAGS, DUE_DATE, VERSION
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + COLUMNS.length * Long.BYTES * 2;
+
+    private final Path directory;
+
+    public ColumnarSnapshotStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public long write(long logPosition, Iterator<Task> tasks) throws IOException {
+        Path target = directory.resolve(snapshotName(logPosition));
+        Path temp = directory.resolve(snapshotName(logPosition) + ".tmp");
+        ColumnWriter[] columns = new ColumnWriter[COLUMNS.length];
+        long rows = 0;
+        try {
+            for (Column column : COLUMNS) {
+                columns[column.ordinal()] = new ColumnWriter(directory.resolve(temp.getFileName() + "." + column.ordinal()));
+            }
+            while (tasks.hasNext()) {
+                writeRow(columns, tasks.next());
+                rows++;
+            }
+            assemble(temp, rows, logPosition, columns);
+        } finally {
+            for (ColumnWriter column : columns) {
+                if (column != null) {
+                    column.discard();
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (Path older : snapshots()) {
+            if (!older.equals(target)) {
+                Files.deleteIfExists(older);
+            }
+        }
+        log.info("Wrote snapshot of {} tasks at log position {} to {}", rows, logPosition, target);
+        return rows;
+    }
+
+    @Override
+    public long load(TaskJournal.ReplayHandler handler) throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(latest, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a task snapshot: " + latest);
+            }
+            long rows = header.getLong();
+            long logPosition = header.getLong();
+            MappedByteBuffer[] columns = new MappedByteBuffer[COLUMNS.length];
+            for (Column column : COLUMNS) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("Snapshot column " + column + " is too large to map: " + latest);
+                }
+                columns[column.ordinal()] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+            for (long row = 0; row < rows; row++) {
+                handler.onSave(readRow(columns));
+            }
+            log.info("Loaded snapshot of {} tasks at log position {} from {}", rows, logPosition, latest);
+            return logPosition;
+        }
+    }
+
+    private static void writeRow(ColumnWriter[] columns, Task task) throws IOException {
+        columns[Column.ID_HIGH.ordinal()].putLong(task.getId().mostSignificantBits());
+        columns[Column.ID_LOW.ordinal()].putLong(task.getId().leastSignificantBits());
+        writeString(columns[Column.TITLE_LENGTH.ordinal()], columns[Column.TITLE.ordinal()], task.getTitle());
+        writeString(columns[Column.DESCRIPTION_LENGTH.ordinal()], columns[Column.DESCRIPTION.ordinal()], task.getDescription());
+        TaskStatus status = task.getStatus();
+        LocalDate dueDate = task.getDue_date();
+        byte flags = 0;
+        if (task.isIsdeleted()) {
+            flags |= FLAG_DELETED;
+        }
+        if (dueDate != null) {
+            flags |= FLAG_DUE_DATE;
+        }
+        columns[Column.STATUS.ordinal()].putByte(status == null ? -1 : (byte) status.ordinal());
+        columns[Column.FLAGS.ordinal()].putByte(flags);
+        columns[Column.DUE_DATE.ordinal()].putInt(dueDate == null ? 0 : Math.toIntExact(dueDate.toEpochDay()));
+        columns[Column.VERSION.ordinal()].putLong(task.getVersion());
+    }
+
+    private static Task readRow(MappedByteBuffer[] columns) {
+        TaskId id = new TaskId(columns[Column.ID_HIGH.ordinal()].getLong(), columns[Column.ID_LOW.ordinal()].getLong());
+        String title = readString(columns[Column.TITLE_LENGTH.ordinal()], columns[Column.TITLE.ordinal()]);
+        String description = readString(columns[Column.DESCRIPTION_LENGTH.ordinal()], columns[Column.DESCRIPTION.ordinal()]);
+        byte status = columns[Column.STATUS.ordinal()].get();
+        byte flags = columns[Column.FLAGS.ordinal()].get();
+        int epochDay = columns[Column.DUE_DATE.ordinal()].getInt();
+        long version = columns[Column.VERSION.ordinal()].getLong();
+        return new Task(
+                id,
+                title,
+                description,
+                status < 0 ? null : STATUSES[status],
+                (flags & FLAG_DUE_DATE) != 0 ? LocalDate.ofEpochDay(epochDay) : null,
+                (flags & FLAG_DELETED) != 0,
+                version
+        );
+    }
+
+    private static void writeString(ColumnWriter lengths, ColumnWriter bytes, String value) throws IOException {
+        if (value == null) {
+            lengths.putInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        lengths.putInt(encoded.length);
+        bytes.putBytes(encoded);
+    }
+
+    private static String readString(ByteBuffer lengths, ByteBuffer bytes) {
+        int length = lengths.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        bytes.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void assemble(Path temp, long rows, long logPosition, ColumnWriter[] columns) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(rows).putLong(logPosition);
+        long offset = HEADER_BYTES;
+        for (ColumnWriter column : columns) {
+            column.finish();
+            header.putLong(offset).putLong(column.size());
+            offset += column.size();
+        }
+        header.flip();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (ColumnWriter column : columns) {
+                column.transferTo(out);
+            }
+            out.force(true);
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String snapshotName(long logPosition) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, logPosition, SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Buffered append-only writer for one column's temporary file.
+     */
+    private static final class ColumnWriter {
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+
+        ColumnWriter(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putBytes(byte[] value) throws IOException {
+            int offset = 0;
+            while (offset < value.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), value.length - offset);
+                buffer.put(value, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void finish() throws IOException {
+            drain();
+        }
+
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        void transferTo(FileChannel target) throws IOException {
+            long size = channel.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += channel.transferTo(transferred, size - transferred, target);
+            }
+        }
+
+        void discard() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
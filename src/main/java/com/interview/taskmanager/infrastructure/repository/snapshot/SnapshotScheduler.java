@@ -0,0 +1,32 @@
+package com.interview.taskmanager.infrastructure.repository.snapshot;
+
+import com.interview.taskmanager.infrastructure.repository.CheckpointableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(prefix = "taskmanager.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final CheckpointableRepository taskRepository;
+
+    public SnapshotScheduler(CheckpointableRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.snapshot.interval:PT10M}", initialDelayString = "${taskmanager.snapshot.interval:PT10M}")
+    public void snapshot() {
+        try {
+            taskRepository.checkpoint();
+        } catch (IOException ex) {
+            log.error("Failed to write task snapshot", ex);
+        }
+    }
+}
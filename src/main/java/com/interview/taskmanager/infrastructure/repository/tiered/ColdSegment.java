@@ -0,0 +1,401 @@
+package com.interview.taskmanager.infrastructure.repository.tiered;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One immutable file of DONE tasks moved out of memory, laid out as data, directory, id index, the
+ * segments it was compacted from, and a fixed footer:
+ * <ul>
+ *     <li>data: title and description of each task as length-prefixed UTF-8, -1 standing for null;</li>
+ *     <li>directory: one fixed-width entry per task in due-date order, then id: id, due day, data
+ *     offset and version, so ordered walks and seeks never touch the strings;</li>
+ *     <li>id index: (id, directory row) sorted by id, so a lookup is a binary search.</li>
+ * </ul>
+ * The file is mapped read-only and read with absolute gets only, so any number of threads read it at
+ * once and none of it is copied to the heap. The only heap used per task is one bit, set once the task
+ * has been written again in memory or removed, which hides the row from then on.
+ */
+final class ColdSegment {
+
+    static final String PREFIX = "segment-";
+    static final String SUFFIX = ".cold";
+
+    private static final int MAGIC = 0x54434F4C;
+    private static final int FORMAT_VERSION = 1;
+    private static final int ENTRY_BYTES = Long.BYTES * 2 + Integer.BYTES * 2 + Long.BYTES;
+    private static final int INDEX_BYTES = Long.BYTES * 2 + Integer.BYTES;
+    private static final int FOOTER_BYTES = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * 5;
+    // Leaves room for the directory and index behind the data within one mapping
+    private static final int MAX_DATA_BYTES = 1 << 30;
+    // Sorts after every real due date, as tasks without one do
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+
+    private final long sequence;
+    private final Path path;
+    private final ByteBuffer file;
+    private final int rows;
+    private final int directoryOffset;
+    private final int indexOffset;
+    private final long[] replaced;
+    private final AtomicLongArray dead;
+    private final AtomicInteger deadRows = new AtomicInteger();
+    private volatile boolean retired;
+
+    private ColdSegment(long sequence, Path path, ByteBuffer file, int rows, int directoryOffset, int indexOffset, long[] replaced) {
+        this.sequence = sequence;
+        this.path = path;
+        this.file = file;
+        this.rows = rows;
+        this.directoryOffset = directoryOffset;
+        this.indexOffset = indexOffset;
+        this.replaced = replaced;
+        this.dead = new AtomicLongArray((rows + 63) / 64);
+    }
+
+    static String fileName(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    /**
+     * Whether the task fits the format: DONE, live, and due within the range the directory encodes.
+     */
+    static boolean canStore(Task task) {
+        if (task.getStatus() != TaskStatus.DONE || task.isIsdeleted()) {
+            return false;
+        }
+        LocalDate dueDate = task.getDue_date();
+        return dueDate == null || (dueDate.toEpochDay() >= Integer.MIN_VALUE && dueDate.toEpochDay() < NO_DUE_DATE);
+    }
+
+    /**
+     * Writes the tasks, which must come in due-date order, to a new segment file and maps it. The file
+     * is forced to disk and renamed into place, so a crash never leaves a partial segment behind.
+     */
+    static ColdSegment write(Path directory, long sequence, Iterator<Task> tasks, long[] replaced) throws IOException {
+        Path target = directory.resolve(fileName(sequence));
+        Path temp = directory.resolve(fileName(sequence) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            Directory entries = new Directory();
+            while (tasks.hasNext()) {
+                Task task = tasks.next();
+                if (!canStore(task)) {
+                    throw new IllegalArgumentException("Task " + task.getId() + " cannot be moved to the disk tier");
+                }
+                entries.add(task, out.size());
+                writeString(out, task.getTitle());
+                writeString(out, task.getDescription());
+                if (out.size() > MAX_DATA_BYTES) {
+                    throw new IOException("Cold segment " + sequence + " exceeds " + MAX_DATA_BYTES + " bytes of task data");
+                }
+            }
+            int directoryOffset = out.size();
+            for (int row = 0; row < entries.size; row++) {
+                out.writeLong(entries.high[row]);
+                out.writeLong(entries.low[row]);
+                out.writeInt(entries.dueDay[row]);
+                out.writeInt(entries.dataOffset[row]);
+                out.writeLong(entries.version[row]);
+            }
+            int indexOffset = out.size();
+            for (int row : entries.rowsById()) {
+                out.writeLong(entries.high[row]);
+                out.writeLong(entries.low[row]);
+                out.writeInt(row);
+            }
+            int replacedOffset = out.size();
+            for (long source : replaced) {
+                out.writeLong(source);
+            }
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(sequence);
+            out.writeInt(entries.size);
+            out.writeInt(directoryOffset);
+            out.writeInt(indexOffset);
+            out.writeInt(replacedOffset);
+            out.writeInt(replaced.length);
+            out.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(target);
+    }
+
+    static ColdSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a cold task segment: " + path);
+            }
+            // The mapping stays valid after the channel is closed and after the file is deleted
+            ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int footer = (int) size - FOOTER_BYTES;
+            if (file.getInt(footer) != MAGIC || file.getInt(footer + 4) != FORMAT_VERSION) {
+                throw new IOException("Not a cold task segment: " + path);
+            }
+            long sequence = file.getLong(footer + 8);
+            int rows = file.getInt(footer + 16);
+            int directoryOffset = file.getInt(footer + 20);
+            int indexOffset = file.getInt(footer + 24);
+            int replacedOffset = file.getInt(footer + 28);
+            long[] replaced = new long[file.getInt(footer + 32)];
+            for (int i = 0; i < replaced.length; i++) {
+                replaced[i] = file.getLong(replacedOffset + i * Long.BYTES);
+            }
+            return new ColdSegment(sequence, path, file, rows, directoryOffset, indexOffset, replaced);
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int liveRows() {
+        return rows - deadRows.get();
+    }
+
+    int deadRows() {
+        return deadRows.get();
+    }
+
+    long bytes() {
+        return file.capacity();
+    }
+
+    /**
+     * Sequence numbers of the segments this one was compacted from.
+     */
+    long[] replaced() {
+        return replaced;
+    }
+
+    /**
+     * Set once a compacted segment has taken this one's place; rows read from it may be stale.
+     */
+    boolean isRetired() {
+        return retired;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    boolean isLive(int row) {
+        return (dead.get(row >>> 6) & (1L << row)) == 0;
+    }
+
+    /**
+     * Hides the row. Returns false when it already was hidden.
+     */
+    boolean markDead(int row) {
+        long bit = 1L << row;
+        while (true) {
+            long word = dead.get(row >>> 6);
+            if ((word & bit) != 0) {
+                return false;
+            }
+            if (dead.compareAndSet(row >>> 6, word, word | bit)) {
+                deadRows.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Directory row of the task with this id, whether live or not, or -1.
+     */
+    int find(TaskId id) {
+        if (rows == 0 || compareIndexEntry(0, id) > 0 || compareIndexEntry(rows - 1, id) < 0) {
+            // Tasks move in the order they were finished, so time-ordered ids rarely overlap between segments
+            return -1;
+        }
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = compareIndexEntry(middle, id);
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return file.getInt(indexOffset + middle * INDEX_BYTES + Long.BYTES * 2);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First directory row at or after the key, or strictly after it when not inclusive; rows when
+     * every row comes before.
+     */
+    int seek(DueDateKey key, boolean inclusive) {
+        long dueDay = key.dueDate() == null ? Long.MAX_VALUE : key.dueDate().toEpochDay();
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int order = compareKey(middle, dueDay, key.id());
+            if (order < 0 || (order == 0 && !inclusive)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the row's position in due-date order with the given key.
+     */
+    int compareKey(int row, long dueDay, TaskId id) {
+        int byDate = Long.compare(dueDay(row), dueDay);
+        if (byDate != 0) {
+            return byDate;
+        }
+        int at = directoryOffset + row * ENTRY_BYTES;
+        return compareIds(file.getLong(at), file.getLong(at + Long.BYTES), id);
+    }
+
+    /**
+     * Compares the positions of two rows, possibly of different segments, in due-date order.
+     */
+    static int compareRows(ColdSegment left, int leftRow, ColdSegment right, int rightRow) {
+        int byDate = Long.compare(left.dueDay(leftRow), right.dueDay(rightRow));
+        if (byDate != 0) {
+            return byDate;
+        }
+        int l = left.directoryOffset + leftRow * ENTRY_BYTES;
+        int r = right.directoryOffset + rightRow * ENTRY_BYTES;
+        int high = Long.compareUnsigned(left.file.getLong(l), right.file.getLong(r));
+        return high != 0 ? high : Long.compareUnsigned(left.file.getLong(l + Long.BYTES), right.file.getLong(r + Long.BYTES));
+    }
+
+    TaskId idAt(int row) {
+        int at = directoryOffset + row * ENTRY_BYTES;
+        return new TaskId(file.getLong(at), file.getLong(at + Long.BYTES));
+    }
+
+    Task read(int row) {
+        int at = directoryOffset + row * ENTRY_BYTES;
+        int dueDay = file.getInt(at + Long.BYTES * 2);
+        int data = file.getInt(at + Long.BYTES * 2 + Integer.BYTES);
+        String title = readString(data);
+        String description = readString(data + Integer.BYTES + Math.max(0, file.getInt(data)));
+        return new Task(
+                idAt(row),
+                title,
+                description,
+                TaskStatus.DONE,
+                dueDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDay),
+                false,
+                file.getLong(at + Long.BYTES * 2 + Integer.BYTES * 2)
+        );
+    }
+
+    private long dueDay(int row) {
+        int dueDay = file.getInt(directoryOffset + row * ENTRY_BYTES + Long.BYTES * 2);
+        return dueDay == NO_DUE_DATE ? Long.MAX_VALUE : dueDay;
+    }
+
+    private String readString(int at) {
+        int length = file.getInt(at);
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        file.get(at + Integer.BYTES, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private int compareIndexEntry(int entry, TaskId id) {
+        int at = indexOffset + entry * INDEX_BYTES;
+        return compareIds(file.getLong(at), file.getLong(at + Long.BYTES), id);
+    }
+
+    private static int compareIds(long high, long low, TaskId id) {
+        int order = Long.compareUnsigned(high, id.mostSignificantBits());
+        return order != 0 ? order : Long.compareUnsigned(low, id.leastSignificantBits());
+    }
+
+    /**
+     * Directory entries gathered while the data is written, in primitive arrays.
+     */
+    private static final class Directory {
+        private long[] high = new long[1024];
+        private long[] low = new long[1024];
+        private int[] dueDay = new int[1024];
+        private int[] dataOffset = new int[1024];
+        private long[] version = new long[1024];
+        private int size;
+
+        void add(Task task, int offset) {
+            if (size == high.length) {
+                int capacity = size * 2;
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                dueDay = Arrays.copyOf(dueDay, capacity);
+                dataOffset = Arrays.copyOf(dataOffset, capacity);
+                version = Arrays.copyOf(version, capacity);
+            }
+            high[size] = task.getId().mostSignificantBits();
+            low[size] = task.getId().leastSignificantBits();
+            dueDay[size] = task.getDue_date() == null ? NO_DUE_DATE : (int) task.getDue_date().toEpochDay();
+            dataOffset[size] = offset;
+            version[size] = task.getVersion();
+            size++;
+        }
+
+        Integer[] rowsById() {
+            Integer[] rows = new Integer[size];
+            Arrays.setAll(rows, row -> row);
+            Arrays.sort(rows, (a, b) -> {
+                int order = Long.compareUnsigned(high[a], high[b]);
+                return order != 0 ? order : Long.compareUnsigned(low[a], low[b]);
+            });
+            return rows;
+        }
+    }
+}
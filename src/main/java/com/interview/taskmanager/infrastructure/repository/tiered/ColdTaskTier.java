@@ -0,0 +1,505 @@
+package com.interview.taskmanager.infrastructure.repository.tiered;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * The disk tier: DONE tasks in immutable, memory-mapped segment files, each sorted by due date and
+ * indexed by id. Tasks are never changed in place; a task written again goes back to memory and its row
+ * here is marked dead. Dead rows are recorded in an append-only log, forced before the mark is relied
+ * on, and dropped when segments are compacted.
+ *
+ * <p>Lookups by id go through a striped LRU cache of decoded tasks; a cached task is only served while
+ * its row is live and its segment has not been compacted away. Walks in due-date order merge the
+ * segments row by row without decoding rows they skip.
+ */
+final class ColdTaskTier implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdTaskTier.class);
+    private static final String DEAD_ROWS = "dead-rows.log";
+    private static final int DEAD_ROW_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int STRIPES = 64;
+
+    private final Path directory;
+    private final Stripe[] cache = new Stripe[STRIPES];
+    // Guards changes to the segment list and the dead-row log; readers take the list as it is
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile List<ColdSegment> segments = List.of();
+    private FileChannel deadRows;
+    private long nextSequence;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Opens the segments in the directory, or discards them when recover is false, as when the
+     * tasks kept in memory do not survive a restart either and the tiers would no longer agree.
+     */
+    ColdTaskTier(Path directory, int cacheSize, boolean recover) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        for (int i = 0; i < STRIPES; i++) {
+            cache[i] = new Stripe(Math.max(1, cacheSize / STRIPES));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp") || (!recover && (name.equals(DEAD_ROWS) || isSegment(file)))) {
+                    Files.delete(file);
+                }
+            }
+        }
+        recover();
+    }
+
+    /**
+     * The live task with this id, or null.
+     */
+    Task find(TaskId id) {
+        Stripe stripe = stripeFor(id);
+        Cached cached;
+        stripe.lock.lock();
+        try {
+            cached = stripe.tasks.get(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (cached != null && !cached.segment().isRetired() && cached.segment().isLive(cached.row())) {
+            cacheHits.increment();
+            return cached.task();
+        }
+        cacheMisses.increment();
+        for (ColdSegment segment : segments) {
+            int row = segment.find(id);
+            if (row >= 0 && segment.isLive(row)) {
+                Task task = segment.read(row);
+                stripe.lock.lock();
+                try {
+                    stripe.tasks.put(id, new Cached(task, segment, row));
+                } finally {
+                    stripe.lock.unlock();
+                }
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the tasks, in due-date order, as a new segment and makes them readable.
+     */
+    void add(List<Task> tasks) throws IOException {
+        ColdSegment segment = ColdSegment.write(directory, allocateSequence(), tasks.iterator(), new long[0]);
+        lock.lock();
+        try {
+            List<ColdSegment> next = new ArrayList<>(segments);
+            next.add(segment);
+            segments = List.copyOf(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hides the live rows of these tasks, durably. Returns how many rows were hidden.
+     */
+    int markDead(Collection<TaskId> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            ByteBuffer records = ByteBuffer.allocate(ids.size() * DEAD_ROW_BYTES);
+            int marked = 0;
+            for (TaskId id : ids) {
+                for (ColdSegment segment : segments) {
+                    int row = segment.find(id);
+                    if (row >= 0 && segment.markDead(row)) {
+                        records.putLong(segment.sequence()).putInt(row);
+                        marked++;
+                        break;
+                    }
+                }
+                Stripe stripe = stripeFor(id);
+                stripe.lock.lock();
+                try {
+                    stripe.tasks.remove(id);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            if (marked > 0) {
+                records.flip();
+                while (records.hasRemaining()) {
+                    deadRows.write(records);
+                }
+                deadRows.force(false);
+            }
+            return marked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Walks live rows in due-date order from the given key, or from the start when it is null, up to
+     * and including the upper key, or to the end when that is null.
+     */
+    Iterator<Task> iterator(DueDateKey from, boolean inclusive, DueDateKey to) {
+        return new MergingIterator(segments, from, inclusive, to);
+    }
+
+    /**
+     * Rewrites segments without their dead rows, merging small ones together, at most one compaction
+     * per call: the smallest segments, up to maxSegmentTasks live tasks between them, once there are
+     * more than maxSegments, otherwise a segment that is mostly dead on its own. Returns how many dead
+     * rows were reclaimed.
+     */
+    int compact(int maxSegments, int maxSegmentTasks) throws IOException {
+        List<ColdSegment> chosen = chooseForCompaction(segments, maxSegments, maxSegmentTasks);
+        if (chosen.isEmpty()) {
+            return 0;
+        }
+        // Which row of the new segment each source row became, to carry over rows that die meanwhile
+        int[][] movedTo = new int[chosen.size()][];
+        for (int i = 0; i < chosen.size(); i++) {
+            movedTo[i] = new int[chosen.get(i).rows()];
+            Arrays.fill(movedTo[i], -1);
+        }
+        MergingIterator live = new MergingIterator(chosen, null, true, null);
+        int[] written = new int[1];
+        Iterator<Task> recording = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return live.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                Task task = live.next();
+                movedTo[chosen.indexOf(live.lastSegment)][live.lastRow] = written[0]++;
+                return task;
+            }
+        };
+        long[] replaced = chosen.stream().mapToLong(ColdSegment::sequence).toArray();
+        ColdSegment merged = ColdSegment.write(directory, allocateSequence(), recording, replaced);
+        int reclaimed = 0;
+        lock.lock();
+        try {
+            for (int i = 0; i < chosen.size(); i++) {
+                ColdSegment source = chosen.get(i);
+                reclaimed += source.rows();
+                for (int row = 0; row < source.rows(); row++) {
+                    if (movedTo[i][row] >= 0 && !source.isLive(row)) {
+                        merged.markDead(movedTo[i][row]);
+                    }
+                }
+                source.retire();
+            }
+            reclaimed -= merged.liveRows();
+            List<ColdSegment> next = new ArrayList<>(segments);
+            next.removeAll(chosen);
+            if (merged.rows() > 0) {
+                next.add(merged);
+            }
+            segments = List.copyOf(next);
+            rewriteDeadRows();
+        } finally {
+            lock.unlock();
+        }
+        if (merged.rows() == 0) {
+            Files.deleteIfExists(merged.path());
+        }
+        for (ColdSegment source : chosen) {
+            Files.deleteIfExists(source.path());
+        }
+        log.info("Compacted {} cold segments into {} live tasks, reclaiming {} dead rows", chosen.size(), merged.liveRows(), reclaimed);
+        return reclaimed;
+    }
+
+    long liveTasks() {
+        long live = 0;
+        for (ColdSegment segment : segments) {
+            live += segment.liveRows();
+        }
+        return live;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    long bytes() {
+        long bytes = 0;
+        for (ColdSegment segment : segments) {
+            bytes += segment.bytes();
+        }
+        return bytes;
+    }
+
+    long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            deadRows.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<ColdSegment> chooseForCompaction(List<ColdSegment> segments, int maxSegments, int maxSegmentTasks) {
+        if (segments.size() > maxSegments) {
+            List<ColdSegment> smallestFirst = segments.stream().sorted(Comparator.comparingInt(ColdSegment::liveRows)).toList();
+            List<ColdSegment> chosen = new ArrayList<>();
+            long live = 0;
+            for (ColdSegment segment : smallestFirst) {
+                if (chosen.size() >= 2 && live + segment.liveRows() > maxSegmentTasks) {
+                    break;
+                }
+                chosen.add(segment);
+                live += segment.liveRows();
+            }
+            return chosen;
+        }
+        for (ColdSegment segment : segments) {
+            if (segment.deadRows() > segment.liveRows()) {
+                return List.of(segment);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Opens every segment, applies the dead-row log, then drops segments a compaction replaced. A
+     * crash can leave both a compacted segment and its sources; rows that died in a source after it
+     * was copied are found again by id in the compacted one.
+     */
+    private void recover() throws IOException {
+        Map<Long, ColdSegment> bySequence = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(ColdTaskTier::isSegment).sorted().toList()) {
+                ColdSegment segment = ColdSegment.open(file);
+                bySequence.put(segment.sequence(), segment);
+                nextSequence = Math.max(nextSequence, segment.sequence() + 1);
+            }
+        }
+        Path deadRowsFile = directory.resolve(DEAD_ROWS);
+        if (Files.exists(deadRowsFile)) {
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(deadRowsFile));
+            // A record torn by a crash is at the end and is ignored; its mark was never relied on
+            while (records.remaining() >= DEAD_ROW_BYTES) {
+                ColdSegment segment = bySequence.get(records.getLong());
+                int row = records.getInt();
+                if (segment != null && row >= 0 && row < segment.rows()) {
+                    segment.markDead(row);
+                }
+            }
+        }
+        Set<Long> replaced = new HashSet<>();
+        for (ColdSegment segment : bySequence.values()) {
+            for (long source : segment.replaced()) {
+                ColdSegment old = bySequence.get(source);
+                if (old == null) {
+                    continue;
+                }
+                replaced.add(source);
+                for (int row = 0; row < old.rows(); row++) {
+                    if (!old.isLive(row)) {
+                        int moved = segment.find(old.idAt(row));
+                        if (moved >= 0) {
+                            segment.markDead(moved);
+                        }
+                    }
+                }
+            }
+        }
+        List<ColdSegment> kept = new ArrayList<>();
+        for (ColdSegment segment : bySequence.values()) {
+            if (replaced.contains(segment.sequence())) {
+                Files.deleteIfExists(segment.path());
+            } else {
+                kept.add(segment);
+            }
+        }
+        kept.sort(Comparator.comparingLong(ColdSegment::sequence));
+        segments = List.copyOf(kept);
+        rewriteDeadRows();
+        if (!kept.isEmpty()) {
+            log.info("Opened {} cold segments holding {} tasks", kept.size(), liveTasks());
+        }
+    }
+
+    /**
+     * Replaces the dead-row log with the marks of the current segments only. Called under the lock.
+     */
+    private void rewriteDeadRows() throws IOException {
+        Path target = directory.resolve(DEAD_ROWS);
+        Path temp = directory.resolve(DEAD_ROWS + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (ColdSegment segment : segments) {
+                for (int row = 0; row < segment.rows(); row++) {
+                    if (segment.isLive(row)) {
+                        continue;
+                    }
+                    if (buffer.remaining() < DEAD_ROW_BYTES) {
+                        drain(buffer, out);
+                    }
+                    buffer.putLong(segment.sequence()).putInt(row);
+                }
+            }
+            drain(buffer, out);
+            out.force(true);
+        }
+        if (deadRows != null) {
+            deadRows.close();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deadRows = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private long allocateSequence() {
+        lock.lock();
+        try {
+            return nextSequence++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(ColdSegment.PREFIX) && name.endsWith(ColdSegment.SUFFIX);
+    }
+
+    private Stripe stripeFor(TaskId id) {
+        // From the high bits of a mixed hash: the stripe's own map buckets by the low ones, which would
+        // otherwise be the same for every id in a stripe
+        return cache[(id.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(STRIPES))];
+    }
+
+    private record Cached(Task task, ColdSegment segment, int row) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<TaskId, Cached> tasks;
+
+        private Stripe(int capacity) {
+            this.tasks = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TaskId, Cached> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    /**
+     * Merges the live rows of several segments into one walk in due-date order. Rows are compared in
+     * the mapped files and only the rows returned are decoded.
+     */
+    private static final class MergingIterator implements Iterator<Task> {
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                (a, b) -> ColdSegment.compareRows(a.segment, a.row, b.segment, b.row));
+        private final DueDateKey to;
+        private final long toDueDay;
+        private ColdSegment lastSegment;
+        private int lastRow;
+
+        private MergingIterator(List<ColdSegment> segments, DueDateKey from, boolean inclusive, DueDateKey to) {
+            this.to = to;
+            this.toDueDay = to == null || to.dueDate() == null ? Long.MAX_VALUE : to.dueDate().toEpochDay();
+            for (ColdSegment segment : segments) {
+                Cursor cursor = new Cursor(segment, from == null ? 0 : segment.seek(from, inclusive));
+                if (cursor.skipDead()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            Cursor head = cursors.peek();
+            return head != null && (to == null || head.segment.compareKey(head.row, toDueDay, to.id()) <= 0);
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Cursor head = cursors.poll();
+            lastSegment = head.segment;
+            lastRow = head.row;
+            Task task = head.segment.read(head.row);
+            head.row++;
+            if (head.skipDead()) {
+                cursors.add(head);
+            }
+            return task;
+        }
+    }
+
+    private static final class Cursor {
+        private final ColdSegment segment;
+        private int row;
+
+        private Cursor(ColdSegment segment, int row) {
+            this.segment = segment;
+            this.row = row;
+        }
+
+        /**
+         * Moves to the next live row; false once the segment is exhausted.
+         */
+        boolean skipDead() {
+            while (row < segment.rows() && !segment.isLive(row)) {
+                row++;
+            }
+            return row < segment.rows();
+        }
+    }
+}
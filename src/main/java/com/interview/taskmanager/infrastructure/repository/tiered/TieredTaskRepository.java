@@ -0,0 +1,470 @@
+package com.interview.taskmanager.infrastructure.repository.tiered;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.config.TieringProperties;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps active tasks in memory and moves DONE tasks that have not changed for a while to a disk tier,
+ * so the heap holds what is being worked on rather than every task ever finished.
+ *
+ * <p>Every task lives in exactly one tier. The in-memory store holds PENDING and IN_PROGRESS tasks,
+ * deleted ones and recently finished ones; {@link #migrate} moves the rest into a new memory-mapped
+ * segment and then drops them from memory. Writing a task that is on disk first brings it back to
+ * memory with its version, and hides its row on disk, so versions and compare-and-set carry on as if
+ * it had never moved. Writes to one id are serialized by striped locks so a move and a write can never
+ * interleave.
+ *
+ * <p>Reads go to memory first. Status and due-date listings that can include DONE tasks merge the two
+ * tiers in due-date order; listings of other statuses only touch memory. While tasks are being moved a
+ * task can briefly be in both tiers, so merged walks skip disk rows whose id is in memory, and counts
+ * may run high for that moment.
+ */
+public class TieredTaskRepository implements ITaskRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredTaskRepository.class);
+    private static final int STRIPES = 256;
+
+    private final InMemoryTaskRepository hot;
+    private final ColdTaskTier cold;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    // DONE tasks in the order they were finished; entries for tasks that changed since are skipped
+    private final ConcurrentLinkedQueue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock migrationLock = new ReentrantLock();
+    private final int maxSegments;
+    private final int maxSegmentTasks;
+
+    private final LongAdder migrated = new LongAdder();
+    private final LongAdder promoted = new LongAdder();
+    private final LongAdder coldScanned = new LongAdder();
+    private final LongAdder coldReturned = new LongAdder();
+
+    public TieredTaskRepository(InMemoryTaskRepository hot, TieringProperties properties, boolean recover) throws IOException {
+        this(hot, properties.directory(), properties.cacheSize(), properties.maxSegments(), properties.maxSegmentTasks(), recover);
+    }
+
+    /**
+     * @param recover whether to reopen the tasks already on disk; only safe when the in-memory store
+     *                recovered its own tasks too
+     */
+    public TieredTaskRepository(InMemoryTaskRepository hot, Path directory, int cacheSize, int maxSegments, int maxSegmentTasks,
+                                boolean recover) throws IOException {
+        this.hot = hot;
+        this.cold = new ColdTaskTier(directory, cacheSize, recover);
+        this.maxSegments = maxSegments;
+        this.maxSegmentTasks = maxSegmentTasks;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        // A crash between moving tasks and dropping them from memory leaves them in both tiers; memory
+        // wins. Finished tasks recovered into memory restart their wait from now.
+        List<TaskId> inMemory = new ArrayList<>();
+        Instant now = Instant.now();
+        for (Task task : hot.findAll()) {
+            inMemory.add(task.getId());
+            track(task, now);
+        }
+        cold.markDead(inMemory);
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task stored = write(List.of(task), () -> hot.save(task));
+        track(stored, Instant.now());
+        return stored;
+    }
+
+    @Override
+    public Optional<Task> compareAndSet(long expectedVersion, Task updated) {
+        Optional<Task> stored = write(List.of(updated), () -> hot.compareAndSet(expectedVersion, updated));
+        stored.ifPresent(task -> track(task, Instant.now()));
+        return stored;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> stored = write(tasks, () -> hot.saveAll(tasks));
+        Instant now = Instant.now();
+        stored.forEach(task -> track(task, now));
+        return stored;
+    }
+
+    @Override
+    public List<Optional<Task>> compareAndSetAll(List<Task> updated) {
+        List<Optional<Task>> stored = write(updated, () -> hot.compareAndSetAll(updated));
+        Instant now = Instant.now();
+        stored.forEach(result -> result.ifPresent(task -> track(task, now)));
+        return stored;
+    }
+
+    @Override
+    public Optional<Task> findById(TaskId id) {
+        Optional<Task> task = hot.findById(id);
+        return task.isPresent() ? task : Optional.ofNullable(cold.find(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return findAll(task -> true);
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        List<Task> found = new ArrayList<>(hot.findAll(filter));
+        cold.iterator(null, true, null).forEachRemaining(task -> {
+            if (filter.test(task) && hot.findById(task.getId()).isEmpty()) {
+                found.add(task);
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public List<Task> findPage(TaskStatus status, int page, int size) {
+        if (!includesDone(status) || page < 0 || size <= 0) {
+            return hot.findPage(status, page, size);
+        }
+        List<Task> fromMemory = hot.findPage(status, 0, prefix(page, size));
+        return page(merge(fromMemory.iterator(), cold.iterator(null, true, null)), page, size);
+    }
+
+    @Override
+    public List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size) {
+        if ((statuses != null && !statuses.contains(TaskStatus.DONE)) || page < 0 || size <= 0) {
+            return hot.findPageDueBetween(statuses, dueFrom, dueTo, page, size);
+        }
+        List<Task> fromMemory = hot.findPageDueBetween(statuses, dueFrom, dueTo, 0, prefix(page, size));
+        DueDateKey from = new DueDateKey(dueFrom == null ? LocalDate.MIN : dueFrom, new TaskId(0, 0));
+        DueDateKey to = new DueDateKey(dueTo == null ? LocalDate.MAX : dueTo, new TaskId(-1, -1));
+        return page(merge(fromMemory.iterator(), cold.iterator(from, true, to)), page, size);
+    }
+
+    @Override
+    public List<Task> findAfter(TaskStatus status, DueDateKey after, int size) {
+        if (!includesDone(status) || size <= 0) {
+            return hot.findAfter(status, after, size);
+        }
+        List<Task> fromMemory = hot.findAfter(status, after, size);
+        return page(merge(fromMemory.iterator(), cold.iterator(after, false, null)), 0, size);
+    }
+
+    @Override
+    public Stream<Task> streamByDueDate(TaskStatus status) {
+        if (!includesDone(status)) {
+            return hot.streamByDueDate(status);
+        }
+        Stream<Task> fromMemory = hot.streamByDueDate(status);
+        Iterator<Task> merged = merge(fromMemory.iterator(), cold.iterator(null, true, null));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(fromMemory::close);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Map<TaskStatus, Long> counts = hot.countByStatus();
+        counts.merge(TaskStatus.DONE, cold.liveTasks(), Long::sum);
+        return counts;
+    }
+
+    @Override
+    public long size() {
+        return hot.size() + cold.liveTasks();
+    }
+
+    @Override
+    public long modificationCount() {
+        return hot.modificationCount();
+    }
+
+    /**
+     * The in-memory store's own count plus the disk rows walked by merged listings.
+     */
+    @Override
+    public long tasksScanned() {
+        return hot.tasksScanned() + coldScanned.sum();
+    }
+
+    @Override
+    public long tasksReturned() {
+        return hot.tasksReturned() + coldReturned.sum();
+    }
+
+    /**
+     * Only memory holds deleted tasks, so purging is left to it.
+     */
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        return hot.purgeDeleted(deletedBefore, limit);
+    }
+
+    /**
+     * Moves up to limit tasks that have been DONE since before the cutoff, unchanged, to a new disk
+     * segment, then drops them from memory. Returns how many moved.
+     */
+    public int migrate(Instant doneBefore, int limit) throws IOException {
+        migrationLock.lock();
+        try {
+            List<Task> moving = new ArrayList<>();
+            Set<TaskId> seen = new HashSet<>();
+            while (moving.size() < limit) {
+                Completion completion = completions.peek();
+                if (completion == null || !completion.doneAt().isBefore(doneBefore)) {
+                    break;
+                }
+                completions.poll();
+                Task task = hot.findById(completion.id()).orElse(null);
+                if (task != null && task.getVersion() == completion.version() && ColdSegment.canStore(task) && seen.add(task.getId())) {
+                    moving.add(task);
+                }
+            }
+            if (moving.isEmpty()) {
+                return 0;
+            }
+            moving.sort(Comparator.comparing(DueDateKey::of));
+            cold.add(moving);
+            int moved = 0;
+            List<TaskId> changed = new ArrayList<>();
+            for (Task task : moving) {
+                ReentrantLock lock = lockFor(task.getId());
+                lock.lock();
+                try {
+                    if (hot.evict(task)) {
+                        moved++;
+                    } else {
+                        changed.add(task.getId());
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            // Written again while the segment was being written; the copy on disk is stale
+            cold.markDead(changed);
+            migrated.add(moved);
+            log.info("Moved {} finished tasks to the disk tier", moved);
+            return moved;
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites disk segments without the rows of tasks that have gone back to memory; see
+     * {@link ColdTaskTier#compact}. Returns how many rows were reclaimed.
+     */
+    public int compact() throws IOException {
+        migrationLock.lock();
+        try {
+            return cold.compact(maxSegments, maxSegmentTasks);
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        cold.close();
+    }
+
+    public long hotTasks() {
+        return hot.size();
+    }
+
+    public long coldTasks() {
+        return cold.liveTasks();
+    }
+
+    public int coldSegments() {
+        return cold.segmentCount();
+    }
+
+    public long coldBytes() {
+        return cold.bytes();
+    }
+
+    public long migratedTasks() {
+        return migrated.sum();
+    }
+
+    public long promotedTasks() {
+        return promoted.sum();
+    }
+
+    public long coldCacheHits() {
+        return cold.cacheHits();
+    }
+
+    public long coldCacheMisses() {
+        return cold.cacheMisses();
+    }
+
+    /**
+     * Runs the write with every id it touches locked, after bringing back to memory those of them
+     * that are only on disk.
+     */
+    private <T> T write(List<Task> tasks, Supplier<T> write) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Task task : tasks) {
+            stripes.add(stripeOf(task.getId()));
+        }
+        // In stripe order, so batches sharing stripes cannot deadlock
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            promote(tasks);
+            return write.get();
+        } finally {
+            for (int stripe : stripes.descendingSet()) {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    /**
+     * Copies the tasks that are only on disk back to memory, with their versions, then hides them on
+     * disk. In that order, so a reader always finds the task in one tier or the other.
+     */
+    private void promote(List<Task> tasks) {
+        List<Task> returning = new ArrayList<>();
+        Set<TaskId> seen = new HashSet<>();
+        for (Task task : tasks) {
+            if (seen.add(task.getId()) && hot.findById(task.getId()).isEmpty()) {
+                Task onDisk = cold.find(task.getId());
+                if (onDisk != null) {
+                    returning.add(onDisk);
+                }
+            }
+        }
+        if (returning.isEmpty()) {
+            return;
+        }
+        hot.putAll(returning);
+        try {
+            cold.markDead(returning.stream().map(Task::getId).toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to hide tasks moved back from the disk tier", ex);
+        }
+        Instant now = Instant.now();
+        // Tracked again in case the write that needed them fails
+        returning.forEach(task -> track(task, now));
+        promoted.add(returning.size());
+    }
+
+    private void track(Task task, Instant now) {
+        if (task.getStatus() == TaskStatus.DONE && !task.isIsdeleted()) {
+            completions.add(new Completion(task.getId(), task.getVersion(), now));
+        }
+    }
+
+    /**
+     * Merges a run of tasks from memory with one from disk, both in due-date order, dropping disk rows
+     * of tasks that are also in memory and counting the disk rows walked and returned.
+     */
+    private Iterator<Task> merge(Iterator<Task> fromMemory, Iterator<Task> fromDisk) {
+        return new Iterator<>() {
+            private Task memoryHead = fromMemory.hasNext() ? fromMemory.next() : null;
+            private Task diskHead = nextOnDisk();
+
+            @Override
+            public boolean hasNext() {
+                return memoryHead != null || diskHead != null;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task next;
+                if (diskHead == null || (memoryHead != null && DueDateKey.of(memoryHead).compareTo(DueDateKey.of(diskHead)) < 0)) {
+                    next = memoryHead;
+                    memoryHead = fromMemory.hasNext() ? fromMemory.next() : null;
+                } else {
+                    next = diskHead;
+                    coldReturned.increment();
+                    diskHead = nextOnDisk();
+                }
+                return next;
+            }
+
+            private Task nextOnDisk() {
+                while (fromDisk.hasNext()) {
+                    Task task = fromDisk.next();
+                    coldScanned.increment();
+                    if (hot.findById(task.getId()).isEmpty()) {
+                        return task;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private static List<Task> page(Iterator<Task> tasks, int page, int size) {
+        long offset = (long) page * size;
+        for (long skipped = 0; skipped < offset && tasks.hasNext(); skipped++) {
+            tasks.next();
+        }
+        // Not sized by the request: the size a client asks for says nothing about how many tasks exist
+        List<Task> found = new ArrayList<>();
+        while (found.size() < size && tasks.hasNext()) {
+            found.add(tasks.next());
+        }
+        return found;
+    }
+
+    /**
+     * How many tasks from memory a merged page can need: everything up to the end of the page, and never
+     * more than memory holds.
+     */
+    private int prefix(int page, int size) {
+        return (int) Math.min(Math.min(Integer.MAX_VALUE, hot.size()), ((long) page + 1) * size);
+    }
+
+    private static boolean includesDone(TaskStatus status) {
+        return status == null || status == TaskStatus.DONE;
+    }
+
+    private int stripeOf(TaskId id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private ReentrantLock lockFor(TaskId id) {
+        return locks[stripeOf(id)];
+    }
+
+    private record Completion(TaskId id, long version, Instant doneAt) {
+    }
+}
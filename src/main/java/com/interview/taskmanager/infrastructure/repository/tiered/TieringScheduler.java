@@ -0,0 +1,37 @@
+package com.interview.taskmanager.infrastructure.repository.tiered;
+
+import com.interview.taskmanager.infrastructure.config.TieringProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(prefix = "taskmanager.tiering", name = "enabled", havingValue = "true")
+public class TieringScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TieringScheduler.class);
+
+    private final TieredTaskRepository taskRepository;
+    private final TieringProperties properties;
+
+    public TieringScheduler(TieredTaskRepository taskRepository, TieringProperties properties) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.tiering.migrate-interval:PT1M}", initialDelayString = "${taskmanager.tiering.migrate-interval:PT1M}")
+    public void migrate() {
+        try {
+            taskRepository.migrate(Instant.now().minus(properties.doneAge()), properties.batchSize());
+            taskRepository.compact();
+        } catch (IOException | RuntimeException ex) {
+            // Tasks that did not move stay in memory and are picked up by the next run
+            log.error("Failed to move finished tasks to the disk tier", ex);
+        }
+    }
+}
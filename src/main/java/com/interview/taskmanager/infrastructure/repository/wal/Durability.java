@@ -0,0 +1,13 @@
+package com.interview.taskmanager.infrastructure.repository.wal;
+
+/**
+ * How long a writer waits before its change is acknowledged.
+ */
+public enum Durability {
+    /** Every record is forced to disk on its own before the writer returns. */
+    SYNC,
+    /** Writers queued behind an fsync share the next one; each still waits for its record to be forced. */
+    GROUP,
+    /** Writers return once the record is queued; the log is forced on a timer. */
+    ASYNC
+}
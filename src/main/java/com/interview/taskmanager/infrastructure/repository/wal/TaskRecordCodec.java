@@ -0,0 +1,152 @@
+package com.interview.taskmanager.infrastructure.repository.wal;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a log record: a frame header of body length and CRC32C of the body, then a type
+ * byte and the fields. Task ids are two longs; strings are length-prefixed UTF-8 with -1 standing for null.
+ */
+final class TaskRecordCodec {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int ID_BYTES = Long.BYTES * 2;
+
+    private static final byte SAVE = 1;
+    private static final byte PURGE = 2;
+    private static final byte FLAG_DELETED = 1;
+    private static final byte FLAG_DUE_DATE = 2;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private TaskRecordCodec() {
+    }
+
+    static byte[] encodeSave(Task task) {
+        byte[] title = utf8(task.getTitle());
+        byte[] description = utf8(task.getDescription());
+        int bodyLength = 1 + 1 + 1 + Long.BYTES + Long.BYTES + ID_BYTES + stringBytes(title) + stringBytes(description);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bodyLength);
+        record.position(HEADER_BYTES);
+        byte flags = 0;
+        if (task.isIsdeleted()) {
+            flags |= FLAG_DELETED;
+        }
+        if (task.getDue_date() != null) {
+            flags |= FLAG_DUE_DATE;
+        }
+        record.put(SAVE);
+        record.put(flags);
+        record.put(task.getStatus() == null ? -1 : (byte) task.getStatus().ordinal());
+        record.putLong(task.getDue_date() == null ? 0 : task.getDue_date().toEpochDay());
+        record.putLong(task.getVersion());
+        putId(record, task.getId());
+        putString(record, title);
+        putString(record, description);
+        return seal(record);
+    }
+
+    static byte[] encodePurge(TaskId taskId) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + 1 + ID_BYTES);
+        record.position(HEADER_BYTES);
+        record.put(PURGE);
+        putId(record, taskId);
+        return seal(record);
+    }
+
+    /**
+     * Decodes the record at the buffer's position and advances past it. Returns false without
+     * consuming anything when the remaining bytes do not hold a complete, intact record, which is
+     * what a write torn by a crash looks like.
+     */
+    static boolean decode(ByteBuffer buffer, TaskJournal.ReplayHandler handler) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return false;
+        }
+        int start = buffer.position();
+        int bodyLength = buffer.getInt(start);
+        int checksum = buffer.getInt(start + Integer.BYTES);
+        if (bodyLength <= 0 || bodyLength > buffer.remaining() - HEADER_BYTES) {
+            return false;
+        }
+        ByteBuffer body = buffer.slice(start + HEADER_BYTES, bodyLength);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+        byte type = body.get();
+        if (type == SAVE) {
+            byte flags = body.get();
+            byte status = body.get();
+            long epochDay = body.getLong();
+            long version = body.getLong();
+            handler.onSave(new Task(
+                    getId(body),
+                    getString(body),
+                    getString(body),
+                    status < 0 ? null : STATUSES[status],
+                    (flags & FLAG_DUE_DATE) != 0 ? LocalDate.ofEpochDay(epochDay) : null,
+                    (flags & FLAG_DELETED) != 0,
+                    version
+            ));
+        } else if (type == PURGE) {
+            handler.onPurge(getId(body));
+        } else {
+            return false;
+        }
+        buffer.position(start + HEADER_BYTES + bodyLength);
+        return true;
+    }
+
+    private static byte[] seal(ByteBuffer record) {
+        int bodyLength = record.capacity() - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER_BYTES, bodyLength);
+        record.putInt(0, bodyLength);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringBytes(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static void putId(ByteBuffer buffer, TaskId id) {
+        buffer.putLong(id.mostSignificantBits());
+        buffer.putLong(id.leastSignificantBits());
+    }
+
+    private static TaskId getId(ByteBuffer buffer) {
+        return new TaskId(buffer.getLong(), buffer.getLong());
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
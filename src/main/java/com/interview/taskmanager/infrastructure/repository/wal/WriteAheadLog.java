@@ -0,0 +1,334 @@
+package com.interview.taskmanager.infrastructure.repository.wal;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of task changes split into numbered segment files. Callers only encode their record
+ * and queue it; a single writer thread drains the queue, writes whatever has accumulated with one
+ * gathering write and, depending on {@link Durability}, forces it with one fsync for the whole batch.
+ * Every start opens a fresh segment, so a record torn by a crash is always at the end of a segment.
+ * Segment numbers double as log positions: {@link #mark()} rolls to a new segment and returns its
+ * number, which a snapshot records so recovery only replays the segments written after it.
+ */
+public class WriteAheadLog implements TaskJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null, null, null);
+
+    private final Path directory;
+    private final Durability durability;
+    private final long segmentSize;
+    private final int maxBatchSize;
+    private final long asyncFlushNanos;
+    // Writers enqueue from inside the repository's ConcurrentHashMap.compute, which holds a monitor. A
+    // LinkedBlockingQueue can park them on its put lock there, pinning a virtual thread's carrier;
+    // LinkedTransferQueue adds without ever blocking
+    private final BlockingQueue<PendingWrite> queue = new LinkedTransferQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Owned by the writer thread
+    private FileChannel segment;
+    private long segmentIndex;
+    private long segmentBytes;
+    // Where this batch's records start in the current segment, so a failed batch can be cut off
+    private long batchStartBytes;
+    private boolean unforced;
+    private long lastForceNanos = System.nanoTime();
+
+    public WriteAheadLog(Path directory, Durability durability, long segmentSize, int maxBatchSize, Duration asyncFlushInterval) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.durability = durability;
+        this.segmentSize = segmentSize;
+        this.maxBatchSize = durability == Durability.SYNC ? 1 : maxBatchSize;
+        this.asyncFlushNanos = asyncFlushInterval.toNanos();
+        List<Path> existing = segments();
+        this.segmentIndex = existing.isEmpty() ? 0 : segmentIndexOf(existing.get(existing.size() - 1));
+        this.writer = new Thread(this::runWriter, "task-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> appendSave(Task task) {
+        return enqueue(TaskRecordCodec.encodeSave(task));
+    }
+
+    @Override
+    public CompletableFuture<Void> appendPurge(TaskId id) {
+        return enqueue(TaskRecordCodec.encodePurge(id));
+    }
+
+    @Override
+    public CompletableFuture<Long> mark() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        CompletableFuture<Long> position = new CompletableFuture<>();
+        queue.add(new PendingWrite(null, null, position));
+        return position;
+    }
+
+    @Override
+    public void replay(long fromPosition, ReplayHandler handler) throws IOException {
+        long replayed = 0;
+        for (Path path : segments()) {
+            if (segmentIndexOf(path) < fromPosition) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (TaskRecordCodec.decode(buffer, handler)) {
+                    replayed++;
+                }
+                if (buffer.hasRemaining()) {
+                    log.warn("Ignoring {} bytes of incomplete records at the end of {}", buffer.remaining(), path);
+                }
+            }
+        }
+        log.info("Replayed {} write-ahead log records from {}", replayed, directory);
+    }
+
+    @Override
+    public void truncate(long beforePosition) throws IOException {
+        for (Path path : segments()) {
+            if (segmentIndexOf(path) < beforePosition) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting writes, waits for everything already queued to be written and forced, and closes
+     * the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything that raced past the closed check after the writer stopped will never be written
+        List<PendingWrite> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        stranded.forEach(write -> write.fail(new IllegalStateException("Write-ahead log is closed")));
+    }
+
+    private CompletableFuture<Void> enqueue(byte[] record) {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        if (durability == Durability.ASYNC) {
+            queue.add(new PendingWrite(record, null, null));
+            return CompletableFuture.completedFuture(null);
+        }
+        PendingWrite write = new PendingWrite(record, new CompletableFuture<>(), null);
+        queue.add(write);
+        return write.done();
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                PendingWrite first = durability == Durability.ASYNC
+                        ? queue.poll(asyncFlushNanos, TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                running = !batch.remove(SHUTDOWN);
+                writeBatch(batch);
+            } catch (InterruptedException ex) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        closeSegment();
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        batchStartBytes = segmentBytes;
+        try {
+            int from = 0;
+            while (from < batch.size()) {
+                PendingWrite next = batch.get(from);
+                if (next.isMark()) {
+                    rollSegment();
+                    next.position().complete(segmentIndex);
+                    from++;
+                } else {
+                    from = writeUntilSegmentIsFull(batch, from);
+                }
+            }
+            // ASYNC writers were acknowledged on enqueue, so their records are forced on the timer instead
+            if (durability != Durability.ASYNC || System.nanoTime() - lastForceNanos >= asyncFlushNanos) {
+                force();
+            }
+            batch.forEach(PendingWrite::complete);
+        } catch (IOException ex) {
+            log.error("Failed to append to the write-ahead log in {}", directory, ex);
+            UncheckedIOException failure = new UncheckedIOException(ex);
+            batch.forEach(write -> write.fail(failure));
+            abandonSegment();
+        }
+    }
+
+    /**
+     * Cuts the failed batch, and any partial record it left, off the current segment and closes it, so
+     * the next write starts a fresh segment instead of appending after bytes replay would stop at.
+     * Records the batch already forced into earlier segments when it rolled over are kept.
+     */
+    private void abandonSegment() {
+        if (segment == null) {
+            return;
+        }
+        try (FileChannel failed = segment) {
+            failed.truncate(batchStartBytes);
+        } catch (IOException ex) {
+            log.error("Failed to cut a failed write off write-ahead log segment {}", segmentPath(segmentIndex), ex);
+        }
+        segment = null;
+        segmentBytes = 0;
+        unforced = false;
+    }
+
+    private int writeUntilSegmentIsFull(List<PendingWrite> batch, int from) throws IOException {
+        if (segment == null || (segmentBytes > 0 && segmentBytes + batch.get(from).record().length > segmentSize)) {
+            rollSegment();
+        }
+        int to = from;
+        long bytes = 0;
+        while (to < batch.size() && !batch.get(to).isMark()
+                && (to == from || segmentBytes + bytes + batch.get(to).record().length <= segmentSize)) {
+            bytes += batch.get(to).record().length;
+            to++;
+        }
+        ByteBuffer[] records = new ByteBuffer[to - from];
+        for (int i = from; i < to; i++) {
+            records[i - from] = ByteBuffer.wrap(batch.get(i).record());
+        }
+        long written = 0;
+        while (written < bytes) {
+            written += segment.write(records);
+        }
+        segmentBytes += bytes;
+        unforced = true;
+        return to;
+    }
+
+    private void force() throws IOException {
+        if (segment != null && unforced) {
+            segment.force(false);
+            unforced = false;
+        }
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void rollSegment() throws IOException {
+        force();
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+        segmentIndex++;
+        segment = openSegment(segmentPath(segmentIndex));
+        segmentBytes = 0;
+        batchStartBytes = 0;
+    }
+
+    /**
+     * Creates a segment file for writing. Overridable so a test can hand the log a channel that fails.
+     */
+    protected FileChannel openSegment(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            force();
+            segment.close();
+        } catch (IOException ex) {
+            log.error("Failed to close write-ahead log segment {}", segmentPath(segmentIndex), ex);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentIndexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A queued record and the future its writer waits on, or a request to roll to a new segment.
+     */
+    private record PendingWrite(byte[] record, CompletableFuture<Void> done, CompletableFuture<Long> position) {
+        boolean isMark() {
+            return position != null;
+        }
+
+        void complete() {
+            if (done != null) {
+                done.complete(null);
+            }
+        }
+
+        void fail(RuntimeException failure) {
+            if (done != null) {
+                done.completeExceptionally(failure);
+            }
+            if (position != null) {
+                position.completeExceptionally(failure);
+            }
+        }
+    }
+}
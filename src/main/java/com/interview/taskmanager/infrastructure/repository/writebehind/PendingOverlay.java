@@ -0,0 +1,168 @@
+package com.interview.taskmanager.infrastructure.repository.writebehind;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Pending changes laid over one listing of the store, in due-date order: the stored copies of pending
+ * tasks the store lists are dropped from what it returns, and their latest states are merged in where
+ * they now belong.
+ *
+ * <p>Built from the pending changes as they were when the store was read, so the stored copies are
+ * exactly the rows the store returned for those tasks. That is what lets a page be placed by offset:
+ * the dropped rows before it and the merged tasks before it are both known.
+ */
+final class PendingOverlay {
+
+    private static final Comparator<Task> BY_DUE_DATE = Comparator.comparing(DueDateKey::of);
+
+    private final List<Task> dropped;
+    private final List<Task> added;
+    private final Set<TaskId> pendingIds = new HashSet<>();
+
+    PendingOverlay(List<Task> dropped, List<Task> added) {
+        this.dropped = new ArrayList<>(dropped);
+        this.added = new ArrayList<>(added);
+        this.dropped.sort(BY_DUE_DATE);
+        this.added.sort(BY_DUE_DATE);
+        dropped.forEach(task -> pendingIds.add(task.getId()));
+        added.forEach(task -> pendingIds.add(task.getId()));
+    }
+
+    boolean isEmpty() {
+        return pendingIds.isEmpty();
+    }
+
+    /**
+     * The tasks at offset to offset + size of the listing with the changes applied. Every merged task
+     * can move the page back by one and every dropped row forward by one, so the store is read from
+     * offset minus the merged tasks to offset plus size plus the dropped rows, which always holds the
+     * rows of the page.
+     */
+    List<Task> page(long offset, int size, StorePages store) {
+        long from = Math.max(0, offset - added.size());
+        long to = offset + size + dropped.size();
+        List<Task> rows = read(store, from, to);
+        if (rows.isEmpty() && from > 0) {
+            // The store lists at most offset - added.size() rows, so the listing ends before the page
+            return List.of();
+        }
+        // Rows that stay in the listing before the first one read
+        long position = from - (rows.isEmpty() ? 0 : count(dropped, DueDateKey.of(rows.get(0)), false));
+        Iterator<Task> merged = merge(rows.iterator(), null);
+        // Not sized by the request: the size a client asks for says nothing about how many tasks exist
+        List<Task> page = new ArrayList<>();
+        while (merged.hasNext() && page.size() < size) {
+            Task task = merged.next();
+            if (position++ >= offset) {
+                page.add(task);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Up to size tasks after the key, reading as many more rows from the store as it may drop.
+     */
+    List<Task> after(DueDateKey after, int size, StoreKeyset store) {
+        int droppedAfter = after == null ? dropped.size() : dropped.size() - count(dropped, after, true);
+        Iterator<Task> merged = merge(store.read(after, (int) Math.min(Integer.MAX_VALUE, (long) size + droppedAfter)).iterator(), after);
+        List<Task> found = new ArrayList<>();
+        while (merged.hasNext() && found.size() < size) {
+            found.add(merged.next());
+        }
+        return found;
+    }
+
+    /**
+     * Merges rows of the store in due-date order with the changed tasks after the key (all of them
+     * when it is null), skipping rows of pending tasks.
+     */
+    Iterator<Task> merge(Iterator<Task> rows, DueDateKey after) {
+        int first = after == null ? 0 : count(added, after, true);
+        return new Iterator<>() {
+            private int nextAdded = first;
+            private Task nextRow = advance();
+
+            @Override
+            public boolean hasNext() {
+                return nextRow != null || nextAdded < added.size();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (nextRow == null || (nextAdded < added.size() && BY_DUE_DATE.compare(added.get(nextAdded), nextRow) < 0)) {
+                    return added.get(nextAdded++);
+                }
+                Task row = nextRow;
+                nextRow = advance();
+                return row;
+            }
+
+            private Task advance() {
+                while (rows.hasNext()) {
+                    Task row = rows.next();
+                    if (!pendingIds.contains(row.getId())) {
+                        return row;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Rows from to to of the store's listing, read as the one or two pages of that length covering them.
+     * A range longer than a page can be is read as one page of Integer.MAX_VALUE rows, which no store fills.
+     */
+    private static List<Task> read(StorePages store, long from, long to) {
+        int length = (int) Math.min(Integer.MAX_VALUE, to - from);
+        int page = (int) (from / length);
+        List<Task> rows = new ArrayList<>(store.read(page, length));
+        if (rows.size() == length) {
+            rows.addAll(store.read(page + 1, length));
+        }
+        int start = (int) (from - (long) page * length);
+        return start >= rows.size() ? List.of() : rows.subList(start, (int) Math.min(rows.size(), (long) start + length));
+    }
+
+    /**
+     * Tasks of the sorted list before the key, or up to and including it.
+     */
+    private static int count(List<Task> sorted, DueDateKey key, boolean inclusive) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int order = DueDateKey.of(sorted.get(middle)).compareTo(key);
+            if (order < 0 || (inclusive && order == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    interface StorePages {
+        List<Task> read(int page, int size);
+    }
+
+    @FunctionalInterface
+    interface StoreKeyset {
+        List<Task> read(DueDateKey after, int size);
+    }
+}
@@ -0,0 +1,513 @@
+package com.interview.taskmanager.infrastructure.repository.writebehind;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.config.WriteBehindProperties;
+import com.interview.taskmanager.infrastructure.repository.VersionedTaskWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps writes in memory and hands them to a slower store in the background, so a task updated many
+ * times between flushes costs the store one write.
+ *
+ * <p>Versions are assigned here, and the store is given tasks with their versions as they are; pending
+ * changes sit in a dirty map holding the latest state per id, which is what coalesces repeated writes.
+ * A flush runs every flush interval, as soon as a batch worth of tasks is dirty, and when the
+ * repository is closed. Writers that find the dirty map full flush before applying their change, which
+ * bounds both the memory held and how far the store falls behind; if that flush fails the write is
+ * refused, untouched, rather than acknowledged beyond the bound.
+ *
+ * <p>Reads by id come from the dirty map or a striped LRU cache of recently used tasks and only go to
+ * the store on a miss. Listings and counts are answered by the store with the pending changes laid over
+ * them (see {@link PendingOverlay}), so they see every acknowledged write without waiting for a flush.
+ * Each pending change remembers the copy the store holds, and a read that overlapped a batch being
+ * committed, which changes those copies, is retried once while holding the commit out. Purges still
+ * flush first.
+ */
+public class WriteBehindTaskRepository implements ITaskRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindTaskRepository.class);
+    private static final int STRIPES = 64;
+
+    private final ITaskRepository store;
+    private final VersionedTaskWriter writer;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Map<TaskId, Pending> dirty = new ConcurrentHashMap<>();
+    private final int maxDirtyTasks;
+    private final int batchSize;
+    // Flushes must not overlap: an older batch committed after a newer one would roll tasks back
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Held while a batch is stored and the pending changes it covered are settled; odd commit counts
+    // mark a batch in progress, so reads can tell whether one overlapped them
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder flushedTasks = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    public <S extends ITaskRepository & VersionedTaskWriter> WriteBehindTaskRepository(S store, WriteBehindProperties properties) {
+        this(store, properties.maxCachedTasks(), properties.maxDirtyTasks(), properties.batchSize(), properties.flushInterval());
+    }
+
+    public <S extends ITaskRepository & VersionedTaskWriter> WriteBehindTaskRepository(
+            S store, int maxCachedTasks, int maxDirtyTasks, int batchSize, Duration flushInterval) {
+        this.store = store;
+        this.writer = store;
+        this.maxDirtyTasks = maxDirtyTasks;
+        this.batchSize = batchSize;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxCachedTasks / STRIPES));
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Task save(Task task) {
+        return write(task.getId(), previous -> task.withVersion(previous == null ? 1 : previous.getVersion() + 1));
+    }
+
+    @Override
+    public Optional<Task> compareAndSet(long expectedVersion, Task updated) {
+        return Optional.ofNullable(write(updated.getId(), previous ->
+                previous != null && previous.getVersion() == expectedVersion ? updated.withVersion(expectedVersion + 1) : null));
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> stored = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            stored.add(save(task));
+        }
+        return stored;
+    }
+
+    @Override
+    public List<Optional<Task>> compareAndSetAll(List<Task> updated) {
+        List<Optional<Task>> stored = new ArrayList<>(updated.size());
+        for (Task task : updated) {
+            stored.add(compareAndSet(task.getVersion(), task));
+        }
+        return stored;
+    }
+
+    @Override
+    public Optional<Task> findById(TaskId id) {
+        Pending pending = dirty.get(id);
+        if (pending != null) {
+            return Optional.of(pending.latest());
+        }
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            return Optional.ofNullable(current(stripe, id));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return consistentRead(() -> {
+            List<Task> found = new ArrayList<>();
+            for (Task task : store.findAll()) {
+                if (!dirty.containsKey(task.getId())) {
+                    found.add(task);
+                }
+            }
+            dirty.values().forEach(pending -> found.add(pending.latest()));
+            return found;
+        });
+    }
+
+    @Override
+    public List<Task> findAll(Predicate<Task> filter) {
+        return findAll().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findPage(TaskStatus status, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        return consistentRead(() -> {
+            PendingOverlay overlay = overlay(listed(status));
+            if (overlay.isEmpty()) {
+                return store.findPage(status, page, size);
+            }
+            return overlay.page((long) page * size, size, (storePage, storeSize) -> store.findPage(status, storePage, storeSize));
+        });
+    }
+
+    @Override
+    public List<Task> findPageDueBetween(Set<TaskStatus> statuses, LocalDate dueFrom, LocalDate dueTo, int page, int size) {
+        if (page < 0 || size <= 0 || (statuses != null && statuses.isEmpty())) {
+            return List.of();
+        }
+        // Tasks without a due date are never in a range, as in the stores
+        Predicate<Task> listed = task -> !task.isIsdeleted() && task.getDue_date() != null
+                && (dueFrom == null || !task.getDue_date().isBefore(dueFrom))
+                && (dueTo == null || !task.getDue_date().isAfter(dueTo))
+                && (statuses == null || (task.getStatus() != null && statuses.contains(task.getStatus())));
+        return consistentRead(() -> {
+            PendingOverlay overlay = overlay(listed);
+            if (overlay.isEmpty()) {
+                return store.findPageDueBetween(statuses, dueFrom, dueTo, page, size);
+            }
+            return overlay.page((long) page * size, size,
+                    (storePage, storeSize) -> store.findPageDueBetween(statuses, dueFrom, dueTo, storePage, storeSize));
+        });
+    }
+
+    @Override
+    public List<Task> findAfter(TaskStatus status, DueDateKey after, int size) {
+        if (size <= 0) {
+            return List.of();
+        }
+        return consistentRead(() -> {
+            PendingOverlay overlay = overlay(listed(status));
+            if (overlay.isEmpty()) {
+                return store.findAfter(status, after, size);
+            }
+            return overlay.after(after, size, (storeAfter, storeSize) -> store.findAfter(status, storeAfter, storeSize));
+        });
+    }
+
+    /**
+     * Merges the store's stream with the pending changes as they are when it starts. The stream is read
+     * lazily, so like the store's own it is not a snapshot: rows flushed while it runs may show up in
+     * their newer state.
+     */
+    @Override
+    public Stream<Task> streamByDueDate(TaskStatus status) {
+        PendingOverlay overlay = overlay(listed(status));
+        Stream<Task> stored = store.streamByDueDate(status);
+        if (overlay.isEmpty()) {
+            return stored;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(overlay.merge(stored.iterator(), null),
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(stored::close);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return consistentRead(() -> {
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            counts.putAll(store.countByStatus());
+            for (Pending pending : dirty.values()) {
+                if (pending.stored() != null && !pending.stored().isIsdeleted() && pending.stored().getStatus() != null) {
+                    counts.merge(pending.stored().getStatus(), -1L, Long::sum);
+                }
+                if (!pending.latest().isIsdeleted() && pending.latest().getStatus() != null) {
+                    counts.merge(pending.latest().getStatus(), 1L, Long::sum);
+                }
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public long size() {
+        return consistentRead(() -> store.size() + dirty.values().stream().filter(pending -> pending.stored() == null).count());
+    }
+
+    /**
+     * Counts accepted writes, which reads through this repository see at once, whether or not they
+     * have reached the store yet.
+     */
+    @Override
+    public long modificationCount() {
+        return writes.sum();
+    }
+
+    @Override
+    public long tasksScanned() {
+        return store.tasksScanned();
+    }
+
+    @Override
+    public long tasksReturned() {
+        return store.tasksReturned();
+    }
+
+    /**
+     * Purges in the store, then drops cached tombstones, since some of them are now gone from the store
+     * and findById must not keep returning them.
+     */
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int limit) {
+        flush();
+        commitLock.lock();
+        commits.incrementAndGet();
+        try {
+            int purged = store.purgeDeleted(deletedBefore, limit);
+            if (purged > 0) {
+                for (Stripe stripe : stripes) {
+                    stripe.lock.lock();
+                    try {
+                        stripe.tasks.values().removeIf(Task::isIsdeleted);
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                }
+                // A tombstone written over since the flush may just have left the store
+                for (Map.Entry<TaskId, Pending> entry : dirty.entrySet()) {
+                    if (entry.getValue().stored() != null && entry.getValue().stored().isIsdeleted()) {
+                        Task stored = store.findById(entry.getKey()).orElse(null);
+                        dirty.computeIfPresent(entry.getKey(), (id, pending) -> new Pending(stored, pending.latest()));
+                    }
+                }
+            }
+            return purged;
+        } finally {
+            commits.incrementAndGet();
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Writes every change accepted before the call to the store, in batches.
+     */
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<Task> batch = new ArrayList<>(Math.min(batchSize, dirty.size()));
+            for (Pending pending : dirty.values()) {
+                batch.add(pending.latest());
+                if (batch.size() == batchSize) {
+                    flushBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushBatch(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flusher and writes out everything still pending.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public long dirtyTasks() {
+        return dirty.size();
+    }
+
+    public long writes() {
+        return writes.sum();
+    }
+
+    public long flushedTasks() {
+        return flushedTasks.sum();
+    }
+
+    public long flushes() {
+        return flushes.sum();
+    }
+
+    public double flushSeconds() {
+        return flushNanos.sum() / 1e9;
+    }
+
+    private Task write(TaskId id, UnaryOperator<Task> change) {
+        if (dirty.size() >= maxDirtyTasks && !flushQuietly()) {
+            throw new IllegalStateException("Write-behind cache is full with " + dirty.size()
+                    + " pending tasks and the store cannot be written");
+        }
+        Stripe stripe = stripeFor(id);
+        Task next;
+        stripe.lock.lock();
+        try {
+            Task previous = current(stripe, id);
+            next = change.apply(previous);
+            if (next == null) {
+                return null;
+            }
+            stripe.tasks.put(id, next);
+            // A task's first pending change keeps what the store holds, which is the state it replaces
+            Task latest = next;
+            dirty.compute(id, (key, pending) -> new Pending(pending == null ? previous : pending.stored(), latest));
+            writes.increment();
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (dirty.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+        return next;
+    }
+
+    /**
+     * The latest state of the task, loading it from the store on a miss. Called under the stripe lock,
+     * so no write to the task can slip in between the load and caching it.
+     */
+    private Task current(Stripe stripe, TaskId id) {
+        Pending pending = dirty.get(id);
+        if (pending != null) {
+            return pending.latest();
+        }
+        Task cached = stripe.tasks.get(id);
+        if (cached == null) {
+            cached = store.findById(id).orElse(null);
+            if (cached != null) {
+                stripe.tasks.put(id, cached);
+            }
+        }
+        return cached;
+    }
+
+    private void flushBatch(List<Task> batch) {
+        long start = System.nanoTime();
+        commitLock.lock();
+        commits.incrementAndGet();
+        try {
+            writer.putAll(batch);
+            for (Task task : batch) {
+                // Settled only if no newer write arrived meanwhile, compared by version as Task.equals
+                // ignores it and the deleted flag; a newer one stays pending over the copy just stored
+                dirty.computeIfPresent(task.getId(), (id, pending) ->
+                        pending.latest().getVersion() == task.getVersion() ? null : new Pending(task, pending.latest()));
+            }
+        } finally {
+            commits.incrementAndGet();
+            commitLock.unlock();
+        }
+        flushNanos.add(System.nanoTime() - start);
+        flushes.increment();
+        flushedTasks.add(batch.size());
+    }
+
+    /**
+     * Flushes, logging a failure instead of throwing it; the changes stay dirty and are retried on the
+     * next run. Returns whether the flush succeeded.
+     */
+    private boolean flushQuietly() {
+        try {
+            flush();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush failed, {} tasks pending", dirty.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Runs a read of the store together with the pending changes. If a batch was committed meanwhile the
+     * stored copies no longer match what the store returned, so the read runs again with commits held
+     * out; it then waits for at most the batch in progress, never for a flush of everything pending.
+     */
+    private <T> T consistentRead(Supplier<T> read) {
+        long before = commits.get();
+        if ((before & 1) == 0) {
+            T result = read.get();
+            if (commits.get() == before) {
+                return result;
+            }
+        }
+        commitLock.lock();
+        try {
+            return read.get();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private PendingOverlay overlay(Predicate<Task> listed) {
+        List<Task> dropped = new ArrayList<>();
+        List<Task> added = new ArrayList<>();
+        for (Pending pending : dirty.values()) {
+            if (pending.stored() != null && listed.test(pending.stored())) {
+                dropped.add(pending.stored());
+            }
+            if (listed.test(pending.latest())) {
+                added.add(pending.latest());
+            }
+        }
+        return new PendingOverlay(dropped, added);
+    }
+
+    private static Predicate<Task> listed(TaskStatus status) {
+        return task -> !task.isIsdeleted() && (status == null || task.getStatus() == status);
+    }
+
+    private Stripe stripeFor(TaskId id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * A change not flushed yet: the task as the store holds it, null if it was never stored, and its
+     * latest state.
+     */
+    private record Pending(Task stored, Task latest) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<TaskId, Task> tasks;
+
+        private Stripe(int capacity) {
+            // Evicting a dirty task is harmless: reads check the dirty map first
+            this.tasks = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TaskId, Task> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.interview.taskmanager.infrastructure.search;
+
+import com.interview.taskmanager.application.service.TaskChangeListener;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.domain.repository.ITaskSearchIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions. Every indexed version of a task is a
+ * document with an increasing int number, and each word maps to the documents containing it, in
+ * document order, with a weight counting title hits double. A change never edits a posting list: the
+ * task's previous document is marked dead in a bitset and the new version appended, so writers only
+ * touch the lists of the words they contain. Dead documents are skipped by queries and dropped once
+ * they outnumber the live ones.
+ * <p>
+ * A query intersects the lists of its words, shortest first, using binary search into the longer
+ * ones, so its cost follows the rarest word rather than the store size. Results are scored by
+ * summing each word's weight times its inverse document frequency.
+ */
+@Component
+public class InvertedTaskIndex implements ITaskSearchIndex, TaskChangeListener {
+
+    static final int MAX_QUERY_WORDS = 8;
+    // A short prefix can match thousands of words; only the first ones in alphabetical order are used
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_WORD_LENGTH = 64;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+    private static final byte NO_STATUS = -1;
+
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<TaskId, Integer> documentOf = new HashMap<>();
+    // Per-document columns, indexed by document number
+    private TaskId[] documentIds = new TaskId[1024];
+    private long[] documentVersions = new long[1024];
+    private int[] documentDueDates = new int[1024];
+    private byte[] documentStatuses = new byte[1024];
+    private final BitSet dead = new BitSet();
+    private int documentCount;
+    private int deadCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedTaskIndex(ITaskRepository taskRepository) {
+        // Tasks recovered from the journal or snapshot at startup never pass through the service
+        taskRepository.streamByDueDate(null).forEach(this::onTaskChanged);
+    }
+
+    @Override
+    public void onTaskChanged(Task task) {
+        Map<String, Integer> words = task.isIsdeleted() ? Map.of() : weighWords(task);
+        lock.writeLock().lock();
+        try {
+            Integer previous = documentOf.get(task.getId());
+            if (previous != null) {
+                if (documentVersions[previous] >= task.getVersion()) {
+                    // A newer version has been indexed already
+                    return;
+                }
+                if (!dead.get(previous)) {
+                    dead.set(previous);
+                    deadCount++;
+                }
+            }
+            int document = addDocument(task);
+            documentOf.put(task.getId(), document);
+            if (task.isIsdeleted()) {
+                // Kept as a dead document so a late notification for an older version stays ignored
+                dead.set(document);
+                deadCount++;
+            } else {
+                words.forEach((word, weight) -> postings.computeIfAbsent(word, w -> new Postings()).add(document, weight));
+            }
+            if (deadCount > 1024 && deadCount > documentCount - deadCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskId> search(String query, TaskStatus status, TaskSearchOrder order, int limit) {
+        List<String> words = parseQuery(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Match match = null;
+            List<Match> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                Match wordMatch = word.endsWith("*") ? matchPrefix(word.substring(0, word.length() - 1)) : matchWord(word);
+                if (wordMatch.size == 0) {
+                    return List.of();
+                }
+                matches.add(wordMatch);
+            }
+            matches.sort((left, right) -> Integer.compare(left.size, right.size));
+            for (Match wordMatch : matches) {
+                match = match == null ? wordMatch.copy() : match.intersect(wordMatch);
+            }
+            return rank(match, status, order, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int liveDocuments() {
+        lock.readLock().lock();
+        try {
+            return documentCount - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalize(text.substring(start, i)));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static List<String> parseQuery(String query) {
+        List<String> parsed = new ArrayList<>();
+        if (query == null) {
+            return parsed;
+        }
+        for (String token : query.trim().split("\\s+")) {
+            boolean prefix = token.endsWith("*");
+            List<String> words = words(token);
+            for (int i = 0; i < words.size() && parsed.size() < MAX_QUERY_WORDS; i++) {
+                // "re-open*" is the words re and open, the last of them as a prefix
+                parsed.add(prefix && i == words.size() - 1 ? words.get(i) + "*" : words.get(i));
+            }
+        }
+        return parsed;
+    }
+
+    private static String normalize(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        return lower.length() > MAX_WORD_LENGTH ? lower.substring(0, MAX_WORD_LENGTH) : lower;
+    }
+
+    private static Map<String, Integer> weighWords(Task task) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String word : words(task.getTitle())) {
+            weights.merge(word, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String word : words(task.getDescription())) {
+            weights.merge(word, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    private Match matchWord(String word) {
+        Postings list = postings.get(word);
+        if (list == null) {
+            return Match.EMPTY;
+        }
+        float idf = idf(list.size);
+        float[] scores = new float[list.size];
+        for (int i = 0; i < list.size; i++) {
+            scores[i] = list.weights[i] * idf;
+        }
+        return new Match(list.documents, scores, list.size);
+    }
+
+    /**
+     * Merges the lists of the words starting with the prefix. A document containing several of them
+     * keeps its best score.
+     */
+    private Match matchPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return Match.EMPTY;
+        }
+        NavigableMap<String, Postings> expansions = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        List<Match> lists = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Postings> entry : expansions.entrySet()) {
+            if (lists.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Match list = matchWord(entry.getKey());
+            lists.add(list);
+            total += list.size;
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        // Sort (document, score) pairs packed into longs, then keep the best score per document
+        long[] pairs = new long[total];
+        int n = 0;
+        for (Match list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                pairs[n++] = (long) list.documents[i] << 32 | Float.floatToIntBits(list.scores[i]) & 0xFFFFFFFFL;
+            }
+        }
+        Arrays.sort(pairs);
+        int[] documents = new int[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (long pair : pairs) {
+            int document = (int) (pair >>> 32);
+            float score = Float.intBitsToFloat((int) pair);
+            if (size > 0 && documents[size - 1] == document) {
+                scores[size - 1] = Math.max(scores[size - 1], score);
+            } else {
+                documents[size] = document;
+                scores[size++] = score;
+            }
+        }
+        return new Match(documents, scores, size);
+    }
+
+    private List<TaskId> rank(Match match, TaskStatus status, TaskSearchOrder order, int limit) {
+        byte wanted = status == null ? NO_STATUS : (byte) status.ordinal();
+        // Bounded heap whose root is the worst of the best limit candidates seen so far
+        int[] heap = new int[Math.min(limit, match.size)];
+        float[] heapScores = new float[heap.length];
+        int size = 0;
+        for (int i = 0; i < match.size; i++) {
+            int document = match.documents[i];
+            if (dead.get(document) || (status != null && documentStatuses[document] != wanted)) {
+                continue;
+            }
+            float score = match.scores[i];
+            if (size < heap.length) {
+                heap[size] = document;
+                heapScores[size] = score;
+                siftUp(heap, heapScores, size++, order);
+            } else if (better(document, score, heap[0], heapScores[0], order)) {
+                heap[0] = document;
+                heapScores[0] = score;
+                siftDown(heap, heapScores, size, order);
+            }
+        }
+        TaskId[] ranked = new TaskId[size];
+        for (int end = size - 1; end >= 0; end--) {
+            ranked[end] = documentIds[heap[0]];
+            heap[0] = heap[end];
+            heapScores[0] = heapScores[end];
+            siftDown(heap, heapScores, end, order);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    /**
+     * Whether the first document ranks ahead of the second: by score, then due date and id, or by due
+     * date and id alone.
+     */
+    private boolean better(int document, float score, int other, float otherScore, TaskSearchOrder order) {
+        if (order == TaskSearchOrder.RELEVANCE && score != otherScore) {
+            return score > otherScore;
+        }
+        int byDueDate = Integer.compare(documentDueDates[document], documentDueDates[other]);
+        if (byDueDate != 0) {
+            return byDueDate < 0;
+        }
+        return documentIds[document].compareTo(documentIds[other]) < 0;
+    }
+
+    private void siftUp(int[] heap, float[] scores, int at, TaskSearchOrder order) {
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (!better(heap[parent], scores[parent], heap[at], scores[at], order)) {
+                break;
+            }
+            swap(heap, scores, at, parent);
+            at = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, float[] scores, int size, TaskSearchOrder order) {
+        int at = 0;
+        while (2 * at + 1 < size) {
+            int child = 2 * at + 1;
+            if (child + 1 < size && better(heap[child], scores[child], heap[child + 1], scores[child + 1], order)) {
+                child++;
+            }
+            if (!better(heap[at], scores[at], heap[child], scores[child], order)) {
+                break;
+            }
+            swap(heap, scores, at, child);
+            at = child;
+        }
+    }
+
+    private static void swap(int[] heap, float[] scores, int i, int j) {
+        int document = heap[i];
+        heap[i] = heap[j];
+        heap[j] = document;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (double) Math.max(1, documentCount - deadCount) / documentFrequency);
+    }
+
+    private int addDocument(Task task) {
+        if (documentCount == documentIds.length) {
+            int capacity = documentIds.length * 2;
+            documentIds = Arrays.copyOf(documentIds, capacity);
+            documentVersions = Arrays.copyOf(documentVersions, capacity);
+            documentDueDates = Arrays.copyOf(documentDueDates, capacity);
+            documentStatuses = Arrays.copyOf(documentStatuses, capacity);
+        }
+        int document = documentCount++;
+        documentIds[document] = task.getId();
+        documentVersions[document] = task.getVersion();
+        documentDueDates[document] = task.getDue_date() == null
+                ? NO_DUE_DATE
+                : (int) Math.max(Integer.MIN_VALUE, Math.min(task.getDue_date().toEpochDay(), NO_DUE_DATE - 1));
+        documentStatuses[document] = task.getStatus() == null ? NO_STATUS : (byte) task.getStatus().ordinal();
+        return document;
+    }
+
+    /**
+     * Renumbers the live documents from zero, keeping their order, and drops dead ones from every
+     * list. Deleted tasks are forgotten here, long after any late notification about them.
+     */
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (dead.get(document)) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            documentIds[live] = documentIds[document];
+            documentVersions[live] = documentVersions[document];
+            documentDueDates[live] = documentDueDates[document];
+            documentStatuses[live] = documentStatuses[document];
+            live++;
+        }
+        Arrays.fill(documentIds, live, documentCount, null);
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+        documentOf.clear();
+        for (int document = 0; document < live; document++) {
+            documentOf.put(documentIds[document], document);
+        }
+        dead.clear();
+        documentCount = live;
+        deadCount = 0;
+    }
+
+    /**
+     * Documents containing one word, in increasing order, with the word's weight in each.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size++] = (byte) Math.min(weight, Byte.MAX_VALUE);
+        }
+
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept] = document;
+                    weights[kept++] = weights[i];
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+
+    /**
+     * Documents matched so far, in increasing order, with their accumulated scores.
+     */
+    private static final class Match {
+        static final Match EMPTY = new Match(new int[0], new float[0], 0);
+
+        private final int[] documents;
+        private final float[] scores;
+        private final int size;
+
+        Match(int[] documents, float[] scores, int size) {
+            this.documents = documents;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        Match copy() {
+            return new Match(Arrays.copyOf(documents, size), Arrays.copyOf(scores, size), size);
+        }
+
+        /**
+         * Keeps the documents also in other, adding their scores. This match is the shorter one, so each
+         * of its documents is looked up in other by binary search from where the previous one was found.
+         */
+        Match intersect(Match other) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < other.size; i++) {
+                int found = Arrays.binarySearch(other.documents, from, other.size, documents[i]);
+                if (found >= 0) {
+                    documents[kept] = documents[i];
+                    scores[kept++] = scores[i] + other.scores[found];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return new Match(documents, scores, kept);
+        }
+    }
+}
@@ -2,28 +2,46 @@ package com.interview.taskmanager.application;
 
 import com.interview.taskmanager.api.TaskRequestDTO;
 import com.interview.taskmanager.api.TaskUpdateRequestDTO;
+import com.interview.taskmanager.application.service.TaskBatchResult;
+import com.interview.taskmanager.application.service.TaskBatchUpdate;
+import com.interview.taskmanager.application.service.TaskChangeListener;
+import com.interview.taskmanager.application.service.TaskIdGenerator;
 import com.interview.taskmanager.application.service.TaskService;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
 import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
 import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.domain.repository.ITaskSearchIndex;
 import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+import com.interview.taskmanager.infrastructure.id.UuidV7TaskIdGenerator;
+import com.interview.taskmanager.infrastructure.metrics.TaskMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +50,18 @@ public class TaskServiceTest {
     @Mock
     private ITaskRepository taskRepository;
 
+    @Mock
+    private TaskMetrics taskMetrics;
+
+    @Spy
+    private TaskIdGenerator idGenerator = new UuidV7TaskIdGenerator();
+
+    @Mock
+    private ITaskSearchIndex searchIndex;
+
+    @Spy
+    private List<TaskChangeListener> changeListeners = new ArrayList<>();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -40,9 +70,9 @@ public class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
-        task1 = new Task("1","Title 1","Description of Title 1", TaskStatus.PENDING, LocalDate.now().plusDays(3));
-        task2 = new Task("2","Title 2","Description of Title 2", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1));
-        task3 = new Task("3","Title 3","Description of Title 3", TaskStatus.DONE, LocalDate.now().plusDays(2));
+        task1 = new Task(id(1),"Title 1","Description of Title 1", TaskStatus.PENDING, LocalDate.now().plusDays(3));
+        task2 = new Task(id(2),"Title 2","Description of Title 2", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1));
+        task3 = new Task(id(3),"Title 3","Description of Title 3", TaskStatus.DONE, LocalDate.now().plusDays(2));
         allTasks = Arrays.asList(task1, task2, task3);
     }
 
@@ -66,7 +96,7 @@ public class TaskServiceTest {
     @Test
     void getTask_shouldReturnTaskWhenFound() throws TaskNotFoundException {
         //Mock the repository to return the mock task data
-        when(taskRepository.findById("1")).thenReturn(Optional.of(task1));
+        when(taskRepository.findById(id(1))).thenReturn(Optional.of(task1));
 
         //When we call service getTask method we should get the task
         Task result = taskService.getTask(task1.getId());
@@ -77,76 +107,219 @@ public class TaskServiceTest {
     @Test
     void getTask_shouldThrowTaskNotFoundExceptionWhenNotFound() {
         // Mock the repository to return the empty result
-        when(taskRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(taskRepository.findById(any(TaskId.class))).thenReturn(Optional.empty());
 
         // When we try to get the task by a non-existent ID then an exception should be thrown
-        assertThrows(TaskNotFoundException.class, () -> taskService.getTask("non-existent-id"));
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(id(404)));
     }
 
     @Test
-    void updateTask_shouldUpdateTaskFields() throws TaskNotFoundException {
+    void updateTask_shouldUpdateTaskFields() throws Exception {
         // Giving the updated request
         TaskUpdateRequestDTO request = new TaskUpdateRequestDTO("Updated Title", null, TaskStatus.DONE, null);
 
         // Mocking repository to return the mock response
         when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1));
-        when(taskRepository.save(any(Task.class))).thenReturn(task1);
+        when(taskRepository.compareAndSet(eq(0L), any(Task.class))).thenAnswer(invocation -> Optional.of(invocation.<Task>getArgument(1).withVersion(1)));
 
-        Task updatedTask = taskService.updateTask(task1.getId(), request);
+        Task updatedTask = taskService.updateTask(task1.getId(), request, null);
 
         assertEquals("Updated Title", updatedTask.getTitle());
         assertEquals(TaskStatus.DONE, updatedTask.getStatus());
+        assertEquals(1, updatedTask.getVersion());
+        // The stored snapshot is never modified in place
+        assertEquals("Title 1", task1.getTitle());
+    }
+
+    @Test
+    void updateTask_shouldRetryFromNewerVersionWhenAnotherWriteWins() throws Exception {
+        Task concurrentlyUpdated = task1.withDescription("Changed by someone else").withVersion(1);
+        when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1), Optional.of(concurrentlyUpdated));
+        when(taskRepository.compareAndSet(eq(0L), any(Task.class))).thenReturn(Optional.empty());
+        when(taskRepository.compareAndSet(eq(1L), any(Task.class))).thenAnswer(invocation -> Optional.of(invocation.<Task>getArgument(1).withVersion(2)));
+
+        Task updatedTask = taskService.updateTask(task1.getId(), new TaskUpdateRequestDTO("Updated Title", null, null, null), null);
+
+        // The retry is derived from the newer version, so the concurrent change is kept
+        assertEquals("Updated Title", updatedTask.getTitle());
+        assertEquals("Changed by someone else", updatedTask.getDescription());
+        assertEquals(2, updatedTask.getVersion());
+    }
+
+    @Test
+    void updateTask_shouldThrowVersionMismatchWhenIfMatchIsStale() {
+        when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1.withVersion(3)));
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(task1.getId(), new TaskUpdateRequestDTO(), 2L));
+        verify(taskRepository, never()).compareAndSet(anyLong(), any(Task.class));
     }
 
     @Test
     void updateTask_shouldThrowTaskNotFoundExceptionWhenNotFound() {
         // Mock the repository to return the empty result
-        when(taskRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(taskRepository.findById(any(TaskId.class))).thenReturn(Optional.empty());
 
         // When we try to get the task by a non-existent ID then an exception should be thrown
-        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask("non-existent-id", new TaskUpdateRequestDTO()));
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(id(404), new TaskUpdateRequestDTO(), null));
     }
 
     @Test
     void deleteTask_shouldCallRepoDeleteMethodWhenTaskExists() throws TaskNotFoundException {
         when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1));
+        when(taskRepository.compareAndSet(eq(0L), any(Task.class))).thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
 
         taskService.deleteTask(task1.getId());
 
-        verify(taskRepository, times(1)).save(task1);
+        ArgumentCaptor<Task> deleted = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository, times(1)).compareAndSet(eq(0L), deleted.capture());
+        assertTrue(deleted.getValue().isIsdeleted());
     }
 
     @Test
     void deleteTask_shouldThrowExceptionWhenNotFound() {
-        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask("non-existent-id"));
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(id(404)));
     }
 
     @Test
-    void getAllTasks_shouldReturnAllTasksSortedByDueDate() {
-        // Mocking a repository that returns a list of unsorted tasks
-        when(taskRepository.findAll()).thenReturn(allTasks);
+    void getAllTasks_shouldReadUnfilteredPageFromDueDateIndex() {
+        // Mocking a repository whose due-date index returns the page already in order
+        when(taskRepository.findPage(null, 0, 10)).thenReturn(Arrays.asList(task2, task3, task1));
 
-        // When we call the service method to get all tasks, then the service should return the tasks sorted by due date
+        // When we call the service method to get all tasks, then the page comes from the index without a full scan
         List<Task> result = taskService.getAllTasks(null, 0, 10);
 
         assertEquals(3, result.size());
         assertEquals(task2, result.get(0));
         assertEquals(task3, result.get(1));
         assertEquals(task1, result.get(2));
+        verify(taskRepository, never()).findAll();
     }
 
     @Test
-    void getAllTasks_shouldFilterAndPaginate() {
-        // Mocking a repository to returns a list of PENDING tasks
-        List<Task> pendingTasks = Arrays.asList(task2, task3);
-        when(taskRepository.findAll(any(Predicate.class))).thenReturn(pendingTasks);
+    void getAllTasks_shouldFilterAndPaginateThroughStatusIndex() {
+        // Mocking a repository whose PENDING partition returns the requested page
+        when(taskRepository.findPage(TaskStatus.PENDING, 1, 1)).thenReturn(List.of(task3));
 
         // When we call the service method with filter and pagination
         List<Task> result = taskService.getAllTasks(TaskStatus.PENDING, 1, 1);
 
-        // Then the service should return the correct paginated subset of the filtered list
+        // Then the page comes from the status index rather than a predicate scan
         assertEquals(1, result.size());
         assertEquals(task3, result.get(0));
+        verify(taskRepository, never()).findAll(any(Predicate.class));
+    }
+
+    @Test
+    void getTasksDueBetween_overdueShouldCapTheRangeAndLeaveOutDoneTasks() {
+        LocalDate today = LocalDate.of(2030, 6, 15);
+        when(taskRepository.findPageDueBetween(any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(task1));
+
+        assertEquals(List.of(task1), taskService.getTasksDueBetween(null, null, LocalDate.of(2030, 7, 1), today, 0, 10));
+        verify(taskRepository).findPageDueBetween(EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), null, today.minusDays(1), 0, 10);
+
+        // Overdue DONE tasks cannot exist, and a plain range keeps the status as asked
+        taskService.getTasksDueBetween(TaskStatus.DONE, null, null, today, 0, 10);
+        verify(taskRepository).findPageDueBetween(EnumSet.noneOf(TaskStatus.class), null, today.minusDays(1), 0, 10);
+        taskService.getTasksDueBetween(TaskStatus.DONE, today, today.plusDays(6), null, 0, 10);
+        verify(taskRepository).findPageDueBetween(EnumSet.of(TaskStatus.DONE), today, today.plusDays(6), 0, 10);
+        verify(taskRepository, never()).findAll(any(Predicate.class));
+    }
+
+    @Test
+    void getTaskCounts_shouldReturnRepositoryCounters() {
+        Map<TaskStatus, Long> counts = Map.of(TaskStatus.PENDING, 2L, TaskStatus.IN_PROGRESS, 1L, TaskStatus.DONE, 0L);
+        when(taskRepository.countByStatus()).thenReturn(counts);
+
+        assertEquals(counts, taskService.getTaskCounts());
+    }
+
+
+    @Test
+    void createTasks_shouldSaveTheWholeBatchAtOnce() {
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> created = taskService.createTasks(List.of(
+                new TaskRequestDTO("Title 1", null, null, LocalDate.now()),
+                new TaskRequestDTO("Title 2", null, TaskStatus.DONE, LocalDate.now())));
+
+        assertEquals(List.of("Title 1", "Title 2"), created.stream().map(Task::getTitle).toList());
+        // Ids are time-ordered, so tasks created later sort later
+        assertTrue(created.get(0).getId().compareTo(created.get(1).getId()) < 0);
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
+    @Test
+    void updateTasks_shouldReportFailuresPerItemAndRetryLostRaces() {
+        when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1));
+        when(taskRepository.findById(task2.getId())).thenReturn(Optional.of(task2.withVersion(5)));
+        when(taskRepository.findById(id(404))).thenReturn(Optional.empty());
+        // The batch write loses the race for task1, which is then retried on its own
+        when(taskRepository.compareAndSetAll(anyList())).thenReturn(List.of(Optional.empty()));
+        when(taskRepository.compareAndSet(eq(0L), any(Task.class))).thenAnswer(invocation -> Optional.of(invocation.<Task>getArgument(1).withVersion(1)));
+
+        List<TaskBatchResult> results = taskService.updateTasks(List.of(
+                new TaskBatchUpdate(task1.getId(), null, new TaskUpdateRequestDTO("Updated Title", null, null, null)),
+                new TaskBatchUpdate(task2.getId(), 4L, new TaskUpdateRequestDTO("Stale", null, null, null)),
+                new TaskBatchUpdate(id(404), null, new TaskUpdateRequestDTO("Title", null, null, null))));
+
+        assertEquals("Updated Title", results.get(0).task().getTitle());
+        assertTrue(results.get(1).failure() instanceof TaskVersionMismatchException);
+        assertTrue(results.get(2).failure() instanceof TaskNotFoundException);
+    }
+
+    @Test
+    void deleteTasks_shouldDeleteEveryFoundTaskWithOneBatchWrite() {
+        when(taskRepository.findById(task1.getId())).thenReturn(Optional.of(task1));
+        when(taskRepository.findById(id(404))).thenReturn(Optional.empty());
+        when(taskRepository.compareAndSetAll(anyList())).thenAnswer(invocation -> invocation.<List<Task>>getArgument(0).stream().map(Optional::of).toList());
+
+        List<TaskBatchResult> results = taskService.deleteTasks(List.of(task1.getId(), id(404)));
+
+        assertTrue(results.get(0).isSucceeded());
+        assertTrue(results.get(0).task().isIsdeleted());
+        assertEquals(id(404), results.get(1).id());
+        assertTrue(results.get(1).failure() instanceof TaskNotFoundException);
+    }
+
+    @Test
+    void getTask_shouldRecordLatencyEvenWhenNotFound() {
+        when(taskRepository.findById(id(404))).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(id(404)));
+
+        verify(taskMetrics, times(1)).record(eq(TaskMetrics.Operation.GET), anyLong());
+    }
+
+    @Test
+    void writes_shouldNotifyChangeListenersWithTheStoredTask() throws Exception {
+        TaskChangeListener changeListener = mock(TaskChangeListener.class);
+        TaskService notifyingService = new TaskService(taskRepository, taskMetrics, idGenerator, searchIndex, List.of(changeListener));
+        Task stored = task1.withVersion(1);
+        when(taskRepository.findById(id(1))).thenReturn(Optional.of(stored));
+        when(taskRepository.compareAndSet(eq(1L), any())).thenAnswer(invocation -> Optional.of(invocation.<Task>getArgument(1).withVersion(2)));
+
+        notifyingService.updateTask(id(1), new TaskUpdateRequestDTO("Renamed", null, null, null), null);
+        notifyingService.deleteTask(id(1));
+
+        ArgumentCaptor<Task> notified = ArgumentCaptor.forClass(Task.class);
+        verify(changeListener, times(2)).onTaskChanged(notified.capture());
+        assertEquals("Renamed", notified.getAllValues().get(0).getTitle());
+        assertTrue(notified.getAllValues().get(1).isIsdeleted());
+        assertEquals(2, notified.getAllValues().get(1).getVersion());
+    }
+
+    @Test
+    void searchTasks_shouldRereadHitsAndDropDeletedOnes() {
+        when(searchIndex.search("title", TaskStatus.PENDING, TaskSearchOrder.RELEVANCE, 10)).thenReturn(List.of(id(2), id(1), id(9)));
+        when(taskRepository.findById(id(2))).thenReturn(Optional.of(task2.asDeleted()));
+        when(taskRepository.findById(id(1))).thenReturn(Optional.of(task1));
+        when(taskRepository.findById(id(9))).thenReturn(Optional.empty());
+
+        assertEquals(List.of(task1), taskService.searchTasks("title", TaskStatus.PENDING, TaskSearchOrder.RELEVANCE, 10));
+    }
+
+    private static TaskId id(long n) {
+        return new TaskId(0, n);
+    }
 }
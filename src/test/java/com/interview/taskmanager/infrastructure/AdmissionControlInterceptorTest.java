@@ -0,0 +1,91 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.infrastructure.admission.AdaptiveConcurrencyLimit;
+import com.interview.taskmanager.infrastructure.admission.AdmissionControlInterceptor;
+import com.interview.taskmanager.infrastructure.admission.RequestClass;
+import com.interview.taskmanager.infrastructure.config.AdmissionProperties;
+import com.interview.taskmanager.infrastructure.controller.TaskController;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControlInterceptorTest {
+
+    private final AdmissionControlInterceptor interceptor =
+            new AdmissionControlInterceptor(new AdmissionProperties(true, 2, 1, 10, 2, 2.0, Duration.ofSeconds(3)));
+
+    @Test
+    void preHandle_shouldShedListingsAtTheLimitWhilePointReadsAreAdmitted() throws Exception {
+        List<MockHttpServletRequest> lists = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("listAllTasks")));
+            lists.add(request);
+        }
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/tasks"), shed, handler("listAllTasks")));
+        assertEquals(503, shed.getStatus());
+        assertEquals("3", shed.getHeader("Retry-After"));
+        assertEquals(1, interceptor.rejected(RequestClass.LIST));
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/tasks/1"), new MockHttpServletResponse(), handler("getTask")));
+        assertEquals(1, interceptor.inFlight(RequestClass.POINT_READ));
+
+        // A finished listing frees its slot for the next one
+        interceptor.afterCompletion(lists.get(0), new MockHttpServletResponse(), handler("listAllTasks"), null);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/tasks"), new MockHttpServletResponse(), handler("listAllTasks")));
+    }
+
+    @Test
+    void preHandle_shouldNotLimitStreams() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/tasks/export"), new MockHttpServletResponse(), handler("exportTasks")));
+        }
+    }
+
+    @Test
+    void limit_shouldGrowWhileLatencyHoldsAndShrinkWhenItClimbs() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 2.0);
+        for (int i = 0; i < 20; i++) {
+            saturate(limit, 5);
+        }
+        int grown = limit.limit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        for (int i = 0; i < 5; i++) {
+            saturate(limit, 100);
+        }
+        assertTrue(limit.limit() < grown / 2, "limit " + limit.limit());
+    }
+
+    /**
+     * Fills the limit, as a burst would, then completes every request with the given latency.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long latencyMillis) {
+        List<Integer> admitted = new ArrayList<>();
+        for (int inFlight; (inFlight = limit.tryAcquire()) > 0; ) {
+            admitted.add(inFlight);
+        }
+        admitted.forEach(inFlight -> limit.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis), inFlight));
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        for (var method : TaskController.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return new HandlerMethod(new Object(), method);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+}
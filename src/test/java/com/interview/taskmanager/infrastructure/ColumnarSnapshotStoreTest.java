@@ -0,0 +1,174 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.TaskJournal;
+import com.interview.taskmanager.infrastructure.repository.snapshot.ColumnarSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.wal.Durability;
+import com.interview.taskmanager.infrastructure.repository.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recovery_shouldLoadSnapshotAndReplayOnlyTheLogAfterIt() throws Exception {
+        try (WriteAheadLog wal = openLog()) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, openSnapshots());
+            for (int i = 0; i < 100; i++) {
+                taskRepository.save(task(i));
+            }
+            taskRepository.save(taskRepository.findById(id(4)).orElseThrow().asDeleted());
+
+            assertEquals(100, taskRepository.checkpoint());
+            // Changes after the snapshot only live in the log
+            taskRepository.save(taskRepository.findById(id(7)).orElseThrow().withStatus(TaskStatus.DONE));
+            taskRepository.save(task(100));
+        }
+        assertEquals(1, files("wal").count());
+
+        try (WriteAheadLog wal = openLog()) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, openSnapshots());
+            assertEquals(101, restored.findAll().size());
+            assertEquals(TaskStatus.DONE, restored.findById(id(7)).orElseThrow().getStatus());
+            assertEquals(2, restored.findById(id(7)).orElseThrow().getVersion());
+            assertTrue(restored.findById(id(4)).orElseThrow().isIsdeleted());
+            assertEquals(100, restored.findPage(null, 0, 200).size());
+            assertEquals(task(42), restored.findById(id(42)).orElseThrow());
+        }
+    }
+
+    @Test
+    void checkpoint_shouldNotLoseWritesRacingWithIt() throws Exception {
+        Map<TaskId, Task> expected;
+        try (WriteAheadLog wal = openLog()) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, openSnapshots());
+            ExecutorService writers = Executors.newFixedThreadPool(4);
+            Future<?>[] running = new Future<?>[4];
+            for (int w = 0; w < running.length; w++) {
+                int writer = w;
+                running[w] = writers.submit(() -> {
+                    for (int i = writer; i < 4000; i += 4) {
+                        taskRepository.save(task(i));
+                    }
+                });
+            }
+            for (int round = 0; round < 5; round++) {
+                taskRepository.checkpoint();
+            }
+            for (Future<?> writer : running) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            writers.shutdown();
+            expected = taskRepository.findAll().stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        }
+
+        try (WriteAheadLog wal = openLog()) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, openSnapshots());
+            assertEquals(expected, restored.findAll().stream().collect(Collectors.toMap(Task::getId, Function.identity())));
+        }
+        assertEquals(1, files("snapshots").count());
+    }
+
+    @Test
+    void checkpoint_shouldWaitForAWriteAlreadyRunning() throws Exception {
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskJournal journal = new TaskJournal() {
+            @Override
+            public CompletableFuture<Void> appendSave(Task task) {
+                appending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return TaskJournal.NONE.appendSave(task);
+            }
+
+            @Override
+            public CompletableFuture<Void> appendPurge(TaskId id) {
+                return TaskJournal.NONE.appendPurge(id);
+            }
+
+            @Override
+            public CompletableFuture<Long> mark() {
+                return TaskJournal.NONE.mark();
+            }
+
+            @Override
+            public void replay(long fromPosition, ReplayHandler handler) {
+            }
+
+            @Override
+            public void truncate(long beforePosition) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(journal, openSnapshots());
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> write = threads.submit(() -> taskRepository.save(task(1)));
+            assertTrue(appending.await(10, TimeUnit.SECONDS));
+            Future<Long> checkpoint = threads.submit(taskRepository::checkpoint);
+            assertThrows(TimeoutException.class, () -> checkpoint.get(100, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            write.get(10, TimeUnit.SECONDS);
+            // The write was still inside the store when the checkpoint began, so the snapshot holds it
+            assertEquals(1, checkpoint.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            threads.shutdownNow();
+        }
+    }
+
+    private WriteAheadLog openLog() throws IOException {
+        return new WriteAheadLog(directory.resolve("wal"), Durability.GROUP, 64 * 1024 * 1024, 1024, Duration.ofMillis(10));
+    }
+
+    private ColumnarSnapshotStore openSnapshots() throws IOException {
+        return new ColumnarSnapshotStore(directory.resolve("snapshots"));
+    }
+
+    private Stream<Path> files(String subdirectory) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(subdirectory))) {
+            return files.toList().stream();
+        }
+    }
+
+    private static Task task(int n) {
+        TaskStatus status = TaskStatus.values()[n % TaskStatus.values().length];
+        return new Task(id(n), "Title " + n, n % 5 == 0 ? null : "Description of Title " + n, status, n % 11 == 0 ? null : LocalDate.now().plusDays(n % 30));
+    }
+}
@@ -0,0 +1,141 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.columnar.ColumnarTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.snapshot.ColumnarSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.wal.Durability;
+import com.interview.taskmanager.infrastructure.repository.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository contract tests against the columnar store, plus the parts specific to it.
+ */
+public class ColumnarTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Override
+    protected ITaskRepository createRepository() {
+        return new ColumnarTaskRepository();
+    }
+
+    @Test
+    void purgeDeleted_shouldRecycleRowsWithoutLosingOtherTasks() {
+        ColumnarTaskRepository store = new ColumnarTaskRepository();
+        Map<TaskId, Task> expected = new HashMap<>();
+        Random random = new Random(42);
+        // Interleaved inserts and purges move entries around the id hash and reuse freed rows
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 500; i++) {
+                Task task = store.save(task(random.nextInt(5000)));
+                expected.put(task.getId(), task);
+            }
+            for (Task task : List.copyOf(expected.values())) {
+                if (random.nextInt(3) == 0) {
+                    store.save(task.asDeleted());
+                    expected.remove(task.getId());
+                }
+            }
+            store.purgeDeleted(Instant.now().plusSeconds(1), Integer.MAX_VALUE);
+        }
+
+        assertEquals(expected.size(), store.size());
+        expected.values().forEach(task -> assertEquals(task, store.findById(task.getId()).orElseThrow()));
+        assertEquals(expected.size(), store.findPage(null, 0, 10_000).size());
+    }
+
+    @Test
+    void save_shouldKeepTextIntactAcrossArenaCompactions() {
+        ColumnarTaskRepository store = new ColumnarTaskRepository();
+        for (int i = 0; i < 100; i++) {
+            store.save(task(i));
+        }
+        // Each rename leaves the old title behind as garbage until the arena is compacted
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                Task stored = store.findById(id(i)).orElseThrow();
+                store.save(stored.withTitle("Título " + i + " revision " + round));
+            }
+        }
+
+        assertEquals("Título 7 revision 49", store.findById(id(7)).orElseThrow().getTitle());
+        assertEquals("Description of task " + 7, store.findById(id(7)).orElseThrow().getDescription());
+    }
+
+    @Test
+    void findPage_shouldSortTasksWithoutDueDateOrStatusLast() {
+        ColumnarTaskRepository store = new ColumnarTaskRepository();
+        Task undated = store.save(new Task(id(1), "Undated", null, null, null));
+        Task dated = store.save(new Task(id(2), "Dated", null, TaskStatus.PENDING, LocalDate.now()));
+
+        assertEquals(List.of(dated, undated), store.findPage(null, 0, 10));
+        assertEquals(List.of(dated), store.findPage(TaskStatus.PENDING, 0, 10));
+        assertEquals(List.of(dated, undated), store.streamByDueDate(null).toList());
+        assertEquals(0L, store.countByStatus().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void streamByDueDate_shouldWalkEveryChunkInOrder() {
+        ColumnarTaskRepository store = new ColumnarTaskRepository();
+        InMemoryTaskRepository expected = new InMemoryTaskRepository();
+        // More tasks than one chunk, due over more days than the cutoff counts, some without a due date
+        for (int n = 0; n < 150_000; n++) {
+            Task task = task(n).withDue_date(n % 11 == 0 ? null : LocalDate.of(2030, 1, 1).plusDays(n * 7919L % 6000));
+            if (n % 13 == 0) {
+                task = task.asDeleted();
+            }
+            store.save(task);
+            expected.save(task);
+        }
+
+        assertEquals(expected.streamByDueDate(null).toList(), store.streamByDueDate(null).toList());
+        assertEquals(expected.streamByDueDate(TaskStatus.DONE).toList(), store.streamByDueDate(TaskStatus.DONE).toList());
+    }
+
+    @Test
+    void recovery_shouldRestoreTheColumnsFromSnapshotAndLog() throws Exception {
+        try (WriteAheadLog wal = openLog()) {
+            ColumnarTaskRepository store = new ColumnarTaskRepository(wal, new ColumnarSnapshotStore(directory.resolve("snapshots")));
+            for (int i = 0; i < 100; i++) {
+                store.save(task(i));
+            }
+            store.save(store.findById(id(4)).orElseThrow().asDeleted());
+            assertEquals(100, store.checkpoint());
+            store.save(store.findById(id(7)).orElseThrow().withStatus(TaskStatus.DONE));
+            store.save(store.findById(id(5)).orElseThrow().asDeleted());
+            assertEquals(2, store.purgeDeleted(Instant.now().plusSeconds(1), 10));
+        }
+
+        try (WriteAheadLog wal = openLog()) {
+            ColumnarTaskRepository restored = new ColumnarTaskRepository(wal, new ColumnarSnapshotStore(directory.resolve("snapshots")));
+            assertEquals(98, restored.size());
+            assertEquals(TaskStatus.DONE, restored.findById(id(7)).orElseThrow().getStatus());
+            assertEquals(2, restored.findById(id(7)).orElseThrow().getVersion());
+            assertTrue(restored.findById(id(5)).isEmpty());
+            assertEquals(task(42), restored.findById(id(42)).orElseThrow());
+        }
+    }
+
+    private WriteAheadLog openLog() throws Exception {
+        return new WriteAheadLog(directory.resolve("wal"), Durability.SYNC, 64 * 1024 * 1024, 1024, Duration.ofMillis(10));
+    }
+}
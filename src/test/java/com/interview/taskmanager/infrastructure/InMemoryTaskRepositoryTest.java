@@ -0,0 +1,217 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryTaskRepositoryTest {
+
+    protected ITaskRepository taskRepository;
+    private Task task1, task2, task3;
+
+    /**
+     * Store under test; other ITaskRepository implementations reuse these tests by overriding it.
+     */
+    protected ITaskRepository createRepository() {
+        return new InMemoryTaskRepository();
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = createRepository();
+        task1 = new Task(id(1),"Title 1","Description of Title 1", TaskStatus.PENDING, LocalDate.now().plusDays(3));
+        task2 = new Task(id(2),"Title 2","Description of Title 2", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1));
+        task3 = new Task(id(3),"Title 3","Description of Title 3", TaskStatus.DONE, LocalDate.now().plusDays(2));
+        taskRepository.save(task1);
+        taskRepository.save(task2);
+        taskRepository.save(task3);
+    }
+
+    @Test
+    void findPage_shouldReturnTasksInDueDateOrder() {
+        assertEquals(List.of(task2, task3, task1), taskRepository.findPage(null, 0, 10));
+        assertEquals(List.of(task3), taskRepository.findPage(null, 1, 1));
+        assertTrue(taskRepository.findPage(null, 3, 1).isEmpty());
+    }
+
+    @Test
+    void findPage_shouldReindexTaskWhenDueDateChanges() {
+        // Moving task2 to the latest due date must drop its old index entry
+        task2 = taskRepository.save(task2.withDue_date(LocalDate.now().plusDays(9)));
+
+        assertEquals(List.of(task3, task1, task2), taskRepository.findPage(null, 0, 10));
+    }
+
+    @Test
+    void findPage_shouldSkipDeletedTasksWithoutShorteningThePage() {
+        taskRepository.save(task2.asDeleted());
+
+        assertEquals(List.of(task3, task1), taskRepository.findPage(null, 0, 2));
+    }
+
+    @Test
+    void findPage_shouldMoveTaskBetweenStatusPartitions() {
+        task1 = taskRepository.save(task1.withStatus(TaskStatus.DONE));
+
+        assertTrue(taskRepository.findPage(TaskStatus.PENDING, 0, 10).isEmpty());
+        assertEquals(List.of(task3, task1), taskRepository.findPage(TaskStatus.DONE, 0, 10));
+        assertEquals(List.of(task1), taskRepository.findPage(TaskStatus.DONE, 1, 1));
+    }
+
+    @Test
+    void countByStatus_shouldTrackStatusChangesAndDeletes() {
+        task1 = taskRepository.save(task1.withStatus(TaskStatus.DONE));
+        taskRepository.save(task2.asDeleted());
+
+        Map<TaskStatus, Long> counts = taskRepository.countByStatus();
+        assertEquals(0L, counts.get(TaskStatus.PENDING));
+        assertEquals(0L, counts.get(TaskStatus.IN_PROGRESS));
+        assertEquals(2L, counts.get(TaskStatus.DONE));
+    }
+
+    @Test
+    void findAfter_shouldResumeStrictlyAfterTheGivenKey() {
+        assertEquals(List.of(task2, task3), taskRepository.findAfter(null, null, 2));
+        assertEquals(List.of(task1), taskRepository.findAfter(null, DueDateKey.of(task3), 2));
+        assertTrue(taskRepository.findAfter(null, DueDateKey.of(task1), 2).isEmpty());
+    }
+
+    @Test
+    void findAfter_shouldNotShiftWhenEarlierTasksAreInserted() {
+        DueDateKey lastSeen = DueDateKey.of(task2);
+        taskRepository.save(new Task(id(0),"Title 0","Description of Title 0", TaskStatus.PENDING, LocalDate.now()));
+
+        assertEquals(List.of(task3, task1), taskRepository.findAfter(null, lastSeen, 5));
+        assertEquals(List.of(task1), taskRepository.findAfter(TaskStatus.PENDING, lastSeen, 5));
+    }
+
+    @Test
+    void findPageDueBetween_shouldWalkOnlyTheRangeOfTheRequestedStatuses() {
+        taskRepository.save(new Task(id(4), "Undated", null, TaskStatus.PENDING, null));
+        LocalDate today = LocalDate.now();
+
+        assertEquals(List.of(task2, task3), taskRepository.findPageDueBetween(null, today.plusDays(1), today.plusDays(2), 0, 10));
+        assertEquals(List.of(task2, task1), taskRepository.findPageDueBetween(EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), null, null, 0, 10));
+        assertEquals(List.of(task1), taskRepository.findPageDueBetween(EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), null, null, 1, 1));
+        assertEquals(List.of(task3, task1), taskRepository.findPageDueBetween(null, today.plusDays(2), null, 0, 10));
+        assertTrue(taskRepository.findPageDueBetween(null, today.plusDays(3), today.plusDays(2), 0, 10).isEmpty());
+        assertTrue(taskRepository.findPageDueBetween(EnumSet.noneOf(TaskStatus.class), null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void findPageDueBetween_shouldServeASizeFarBeyondTheStore() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(taskRepository.findPage(null, 0, 10),
+                taskRepository.findPageDueBetween(null, today.minusYears(10), null, 0, Integer.MAX_VALUE));
+        assertTrue(taskRepository.findPageDueBetween(null, today.minusYears(10), null, 1, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void modificationCount_shouldCountStoredChangesOnly() {
+        assertEquals(3, taskRepository.modificationCount());
+
+        assertTrue(taskRepository.compareAndSet(99, task1.withTitle("Lost race")).isEmpty());
+        taskRepository.findPage(null, 0, 10);
+        assertEquals(3, taskRepository.modificationCount());
+
+        taskRepository.saveAll(List.of(task1.withTitle("Renamed"), task2.asDeleted()));
+        assertEquals(5, taskRepository.modificationCount());
+    }
+
+    @Test
+    void purgeDeleted_shouldRemoveOnlyTombstonesOlderThanTheCutoff() {
+        taskRepository.save(task2.asDeleted());
+
+        assertEquals(0, taskRepository.purgeDeleted(Instant.now().minusSeconds(60), 10));
+        assertTrue(taskRepository.findById(id(2)).isPresent());
+
+        assertEquals(1, taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 10));
+        assertTrue(taskRepository.findById(id(2)).isEmpty());
+        assertEquals(List.of(task3, task1), taskRepository.findPage(null, 0, 10));
+    }
+
+    @Test
+    void purgeDeleted_shouldStopAtTheBatchLimit() {
+        taskRepository.save(task1.asDeleted());
+        taskRepository.save(task2.asDeleted());
+
+        assertEquals(1, taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 1));
+        assertEquals(1, taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 1));
+        assertEquals(0, taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 1));
+    }
+
+    @Test
+    void save_shouldAssignIncreasingVersions() {
+        assertEquals(1, taskRepository.findById(id(1)).orElseThrow().getVersion());
+        assertEquals(2, taskRepository.save(task1.withTitle("Renamed")).getVersion());
+    }
+
+    @Test
+    void compareAndSet_shouldOnlyReplaceTheExpectedVersion() {
+        Task stored = taskRepository.findById(id(1)).orElseThrow();
+
+        Optional<Task> replaced = taskRepository.compareAndSet(stored.getVersion(), stored.withStatus(TaskStatus.DONE));
+        assertEquals(2, replaced.orElseThrow().getVersion());
+        assertEquals(List.of(replaced.get()), taskRepository.findPage(TaskStatus.DONE, 0, 10).stream().filter(task -> task.getId().equals(id(1))).toList());
+
+        // A writer still holding version 1 loses the race and changes nothing
+        assertTrue(taskRepository.compareAndSet(stored.getVersion(), stored.withTitle("Stale")).isEmpty());
+        assertEquals(TaskStatus.DONE, taskRepository.findById(id(1)).orElseThrow().getStatus());
+        assertTrue(taskRepository.compareAndSet(1, new Task(id(404), "Title", null, TaskStatus.PENDING, LocalDate.now())).isEmpty());
+    }
+
+    @Test
+    void saveAll_shouldStoreAndIndexEveryTaskInOrder() {
+        Task task4 = new Task(id(4),"Title 4",null, TaskStatus.PENDING, LocalDate.now());
+        List<Task> saved = taskRepository.saveAll(List.of(task4, task1.withTitle("Renamed")));
+
+        assertEquals(List.of(1L, 2L), saved.stream().map(Task::getVersion).toList());
+        assertEquals(List.of(id(4), id(2), id(3), id(1)), taskRepository.findPage(null, 0, 10).stream().map(Task::getId).toList());
+        assertEquals(2, taskRepository.countByStatus().get(TaskStatus.PENDING));
+    }
+
+    @Test
+    void compareAndSetAll_shouldReplaceOnlyTasksStillAtTheirVersion() {
+        Task stored = taskRepository.findById(id(1)).orElseThrow();
+
+        // The second update of the same id was derived from version 1 too, so it loses to the first
+        List<Optional<Task>> results = taskRepository.compareAndSetAll(List.of(
+                stored.withStatus(TaskStatus.DONE),
+                stored.withTitle("Stale"),
+                taskRepository.findById(id(2)).orElseThrow().asDeleted()));
+
+        assertEquals(2, results.get(0).orElseThrow().getVersion());
+        assertTrue(results.get(1).isEmpty());
+        assertTrue(results.get(2).orElseThrow().isIsdeleted());
+        assertEquals("Title 1", taskRepository.findById(id(1)).orElseThrow().getTitle());
+        assertEquals(List.of(id(3), id(1)), taskRepository.findPage(null, 0, 10).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void streamByDueDate_shouldWalkLiveTasksInDueDateOrder() {
+        taskRepository.save(task3.asDeleted());
+
+        assertEquals(List.of(task2, task1), taskRepository.streamByDueDate(null).toList());
+        assertEquals(List.of(task1), taskRepository.streamByDueDate(TaskStatus.PENDING).toList());
+    }
+
+    protected static TaskId id(long n) {
+        return new TaskId(0, n);
+    }
+}
@@ -0,0 +1,85 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.search.InvertedTaskIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvertedTaskIndexTest {
+
+    private InMemoryTaskRepository taskRepository;
+    private InvertedTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new InMemoryTaskRepository();
+        // Tasks already stored are picked up when the index is built
+        taskRepository.save(new Task(id(1), "Renew passport", "Book an appointment at the consulate", TaskStatus.PENDING, LocalDate.now().plusDays(5)));
+        index = new InvertedTaskIndex(taskRepository);
+        index.onTaskChanged(taskRepository.save(new Task(id(2), "Book flights", "Compare passport rules for the trip", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1))));
+        index.onTaskChanged(taskRepository.save(new Task(id(3), "Pay invoice", "Booking reference 4711", TaskStatus.DONE, LocalDate.now().plusDays(3))));
+    }
+
+    @Test
+    void search_shouldRequireEveryWordAndRankTitleHitsFirst() {
+        assertEquals(List.of(id(1), id(2)), index.search("passport", null, TaskSearchOrder.RELEVANCE, 10));
+        assertEquals(List.of(id(2), id(1)), index.search("BOOK passport", null, TaskSearchOrder.RELEVANCE, 10));
+        assertTrue(index.search("passport invoice", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+        assertTrue(index.search("  ", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndCombineWithStatusAndDueDateOrder() {
+        assertEquals(List.of(id(2), id(3), id(1)), index.search("book*", null, TaskSearchOrder.DUE_DATE, 10));
+        assertEquals(List.of(id(3)), index.search("book*", TaskStatus.DONE, TaskSearchOrder.RELEVANCE, 10));
+        assertEquals(List.of(id(2)), index.search("book*", null, TaskSearchOrder.DUE_DATE, 1));
+    }
+
+    @Test
+    void onTaskChanged_shouldReindexUpdatesAndDropDeletes() {
+        Task renamed = taskRepository.save(taskRepository.findById(id(1)).orElseThrow().withTitle("Renew visa"));
+        Task deleted = taskRepository.save(taskRepository.findById(id(2)).orElseThrow().asDeleted());
+        index.onTaskChanged(renamed);
+        index.onTaskChanged(deleted);
+
+        assertEquals(List.of(id(1)), index.search("visa", null, TaskSearchOrder.RELEVANCE, 10));
+        assertTrue(index.search("passport", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+        assertTrue(index.search("flights", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+    }
+
+    @Test
+    void onTaskChanged_shouldIgnoreNotificationsOlderThanTheIndexedVersion() {
+        Task first = taskRepository.save(taskRepository.findById(id(3)).orElseThrow().withTitle("Pay rent"));
+        Task second = taskRepository.save(first.withTitle("Pay taxes"));
+        // Writers racing on one task can notify out of order
+        index.onTaskChanged(second);
+        index.onTaskChanged(first);
+
+        assertEquals(List.of(id(3)), index.search("taxes", null, TaskSearchOrder.RELEVANCE, 10));
+        assertTrue(index.search("rent", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+    }
+
+    @Test
+    void onTaskChanged_shouldKeepResultsAcrossCompaction() {
+        Task task = taskRepository.findById(id(3)).orElseThrow();
+        // Enough superseded versions to trigger compaction several times
+        for (int i = 0; i < 5000; i++) {
+            task = taskRepository.save(task.withDescription("Revision " + i));
+            index.onTaskChanged(task);
+        }
+
+        assertEquals(List.of(id(3)), index.search("revision 4999", null, TaskSearchOrder.RELEVANCE, 10));
+        assertTrue(index.search("4711", null, TaskSearchOrder.RELEVANCE, 10).isEmpty());
+        assertEquals(List.of(id(2), id(1)), index.search("passport", null, TaskSearchOrder.DUE_DATE, 10));
+    }
+}
@@ -0,0 +1,114 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.jdbc.JdbcTaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository contract tests against the JDBC store on an in-memory H2 database, plus the
+ * parts specific to it.
+ */
+public class JdbcTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    @Override
+    protected ITaskRepository createRepository() {
+        return createRepository(3);
+    }
+
+    @AfterEach
+    void closeDataSources() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void saveAll_shouldSpanSeveralJdbcBatchesAndRepeatedIds() {
+        JdbcTaskRepository store = createRepository(4);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(task(i));
+        }
+        // The same task twice in one call: inserted, then updated once the insert batch is flushed
+        batch.add(task(3).withTitle("Renamed"));
+
+        List<Task> stored = store.saveAll(batch);
+
+        assertEquals(1, stored.get(3).getVersion());
+        assertEquals(2, stored.get(10).getVersion());
+        assertEquals("Renamed", store.findById(id(3)).orElseThrow().getTitle());
+        assertEquals(10, store.size());
+        assertEquals(11, store.modificationCount());
+    }
+
+    @Test
+    void compareAndSetAll_shouldSeeVersionsWrittenEarlierInTheSameBatch() {
+        JdbcTaskRepository store = createRepository(4);
+        Task stored = store.save(task(1));
+
+        List<Optional<Task>> result = store.compareAndSetAll(List.of(stored.withTitle("First"), stored.withTitle("Second")));
+
+        assertEquals("First", result.get(0).orElseThrow().getTitle());
+        assertTrue(result.get(1).isEmpty());
+        assertEquals(2, store.findById(id(1)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveAll_shouldFindExistingTasksAcrossSeveralLockStatements() {
+        JdbcTaskRepository store = createRepository(500);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            batch.add(task(i));
+        }
+        // Ids whose halves have the top bit set, stored with the sign flipped
+        batch.add(new Task(new TaskId(-1, -1), "Highest", null, TaskStatus.PENDING, null));
+        batch.add(new Task(new TaskId(Long.MIN_VALUE, 7), "High", null, TaskStatus.PENDING, null));
+        store.saveAll(batch);
+
+        List<Task> stored = store.saveAll(batch.stream().map(task -> task.withTitle("Again")).toList());
+
+        assertTrue(stored.stream().allMatch(task -> task.getVersion() == 2));
+        assertEquals(152, store.size());
+        assertEquals("Again", store.findById(new TaskId(-1, -1)).orElseThrow().getTitle());
+    }
+
+    @Test
+    void streamByDueDate_shouldResumeAcrossChunks() {
+        JdbcTaskRepository store = createRepository(500);
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            batch.add(task(i));
+        }
+        store.saveAll(batch);
+        store.save(new Task(id(9999), "Undated", null, null, null));
+
+        List<Task> streamed = store.streamByDueDate(null).toList();
+
+        assertEquals(2501, streamed.size());
+        assertEquals(streamed, store.findPage(null, 0, 3000));
+        assertEquals("Undated", streamed.get(2500).getTitle());
+        assertEquals(833, store.streamByDueDate(TaskStatus.DONE).count());
+    }
+
+    private JdbcTaskRepository createRepository(int batchSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        dataSource.setMaximumPoolSize(2);
+        dataSources.add(dataSource);
+        return new JdbcTaskRepository(dataSource, batchSize);
+    }
+}
@@ -0,0 +1,151 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.application.service.TaskBatchResult;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+import com.interview.taskmanager.infrastructure.controller.TaskBatchController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@WebMvcTest(TaskBatchController.class)
+@AutoConfigureMockMvc
+public class TaskBatchControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    TaskService taskService;
+
+    @Test
+    void applyBatch_shouldReportEachCreateSeparately() throws Exception {
+        String jsonPayload = String.format("""
+                {
+                  "create": [
+                    { "title": "Title 1", "due_date": "%s" },
+                    { "description": "No title", "due_date": "%s" }
+                  ]
+                }
+                """, LocalDate.now(), LocalDate.now());
+        Task created = new Task(id(1), "Title 1", null, TaskStatus.PENDING, LocalDate.now(), false, 1);
+        when(taskService.createTasks(anyList())).thenReturn(List.of(created));
+        when(taskService.updateTasks(anyList())).thenReturn(List.of());
+        when(taskService.deleteTasks(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonPayload))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[0].status").value(201))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[0].task.id").value(id(1).toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[1].index").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[1].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[1].errors.title").value("Title is mandatory"));
+
+        // Only the valid item reaches the service
+        verify(taskService).createTasks(argThat(requests -> requests.size() == 1));
+    }
+
+    @Test
+    void applyBatch_shouldMapUpdateAndDeleteFailuresToTheirStatus() throws Exception {
+        String jsonPayload = String.format("""
+                {
+                  "update": [
+                    { "id": "%s", "title": "Updated" },
+                    { "id": "%s", "version": 4, "title": "Stale" },
+                    { "title": "No id" }
+                  ],
+                  "delete": ["%s", "%s", "missing"]
+                }
+                """, id(1), id(2), id(3), id(4));
+        Task updated = new Task(id(1), "Updated", null, TaskStatus.PENDING, null, false, 2);
+        when(taskService.createTasks(anyList())).thenReturn(List.of());
+        when(taskService.updateTasks(anyList())).thenReturn(List.of(
+                TaskBatchResult.succeeded(updated),
+                TaskBatchResult.failed(id(2), new TaskVersionMismatchException("Task 2 is at version 5, not 4"))));
+        when(taskService.deleteTasks(anyList())).thenReturn(List.of(
+                TaskBatchResult.succeeded(new Task(id(3), "Title 3", null, TaskStatus.DONE, null)),
+                TaskBatchResult.failed(id(4), new TaskNotFoundException("Task not found with ID: " + id(4)))));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonPayload))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[0].task.title").value("Updated"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[1].status").value(412))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[1].error").value("Task 2 is at version 5, not 4"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[2].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[2].errors.id").value("Id is mandatory"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete[0].status").value(204))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete[1].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete[2].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete[2].id").value("missing"));
+
+        // A malformed id cannot name a task, so it never reaches the service
+        verify(taskService).deleteTasks(argThat(ids -> ids.equals(List.of(id(3), id(4)))));
+    }
+
+    @Test
+    void applyBatch_shouldReportNullItemsSeparately() throws Exception {
+        String jsonPayload = String.format("""
+                {
+                  "create": [null, { "title": "Title 1", "due_date": "%s" }],
+                  "update": [null],
+                  "delete": [null]
+                }
+                """, LocalDate.now());
+        Task created = new Task(id(1), "Title 1", null, TaskStatus.PENDING, LocalDate.now(), false, 1);
+        when(taskService.createTasks(anyList())).thenReturn(List.of(created));
+        when(taskService.updateTasks(anyList())).thenReturn(List.of());
+        when(taskService.deleteTasks(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonPayload))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[0].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[0].errors.item").value("Item is mandatory"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.create[1].status").value(201))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[0].status").value(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.update[0].errors.item").value("Item is mandatory"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete[0].status").value(400));
+
+        verify(taskService).createTasks(argThat(requests -> requests.size() == 1));
+    }
+
+    @Test
+    void applyBatch_shouldRejectOversizedBatch() throws Exception {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i <= 1000; i++) {
+            ids.append(i == 0 ? "" : ",").append('"').append(i).append('"');
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"delete\": [" + ids + "] }"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.delete").value("At most 1000 deletes per batch"));
+
+        verify(taskService, never()).deleteTasks(any());
+    }
+}
@@ -0,0 +1,162 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.TooManySubscribersException;
+import com.interview.taskmanager.infrastructure.feed.TaskChangeFeed;
+import com.interview.taskmanager.infrastructure.feed.TaskChangeSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class TaskChangeFeedTest {
+
+    private final TaskChangeFeed feed = new TaskChangeFeed(8, 2, 2);
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void subscribe_shouldReplayRetainedChangesAndFollowNewOnesMatchingTheStatus() throws Exception {
+        feed.onTaskChanged(task(1, TaskStatus.PENDING));
+        feed.onTaskChanged(task(2, TaskStatus.DONE));
+        feed.onTaskChanged(task(3, TaskStatus.PENDING));
+        RecordingSink sink = new RecordingSink();
+
+        feed.subscribe(1L, TaskStatus.PENDING, sink);
+        feed.onTaskChanged(task(4, TaskStatus.DONE));
+        feed.onTaskChanged(task(5, TaskStatus.PENDING));
+
+        assertEquals("change 3", sink.next());
+        assertEquals("change 5", sink.next());
+        assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void subscribe_shouldAskForResyncOnceTheChangesAfterSinceAreOverwritten() throws Exception {
+        for (int i = 1; i <= 20; i++) {
+            feed.onTaskChanged(task(i, TaskStatus.PENDING));
+        }
+        RecordingSink sink = new RecordingSink();
+
+        TaskChangeFeed.Subscription subscription = feed.subscribe(3L, null, sink);
+
+        assertEquals("resync 20", sink.next());
+        assertEquals("closed", sink.next());
+        // A subscriber without since starts at the latest change and sees nothing old
+        RecordingSink live = new RecordingSink();
+        feed.subscribe(null, null, live);
+        feed.onTaskChanged(task(21, TaskStatus.DONE));
+        assertEquals("change 21", live.next());
+        subscription.cancel();
+    }
+
+    @Test
+    void onTaskChanged_shouldNotWaitForABlockedSubscriberAndDisconnectItOnceLapped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink blocked = new RecordingSink() {
+            @Override
+            public void send(TaskChangeFeed.TaskChange change) throws IOException {
+                super.send(change);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        feed.subscribe(null, null, blocked);
+        feed.onTaskChanged(task(1, TaskStatus.PENDING));
+        assertEquals("change 1", blocked.next());
+
+        for (int i = 2; i <= 20; i++) {
+            feed.onTaskChanged(task(i, TaskStatus.PENDING));
+        }
+
+        assertEquals("closed", blocked.next());
+        assertEquals(20, feed.lastSequence());
+        release.countDown();
+    }
+
+    @Test
+    void subscribe_shouldRefuseSubscribersBeyondTheLimit() throws Exception {
+        TaskChangeFeed.Subscription first = feed.subscribe(null, null, new RecordingSink());
+        feed.subscribe(null, null, new RecordingSink());
+
+        assertThrows(TooManySubscribersException.class, () -> feed.subscribe(null, null, new RecordingSink()));
+        first.cancel();
+        assertNotNull(feed.subscribe(null, null, new RecordingSink()));
+    }
+
+    @Test
+    void subscribe_shouldNotOvershootTheLimitWhenSubscribersRace() throws Exception {
+        ExecutorService subscribers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(subscribers.submit(() -> {
+                start.await();
+                try {
+                    feed.subscribe(null, null, new RecordingSink());
+                    return true;
+                } catch (TooManySubscribersException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int subscribed = 0;
+        for (Future<Boolean> attempt : attempts) {
+            subscribed += attempt.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        subscribers.shutdown();
+
+        assertEquals(2, subscribed);
+    }
+
+    private static Task task(long n, TaskStatus status) {
+        return new Task(new TaskId(0, n), "Task " + n, null, status, LocalDate.now());
+    }
+
+    private static class RecordingSink implements TaskChangeSink {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(TaskChangeFeed.TaskChange change) throws IOException {
+            events.add("change " + change.task().getId().leastSignificantBits());
+        }
+
+        @Override
+        public void resync(long sequence) {
+            events.add("resync " + sequence);
+        }
+
+        @Override
+        public void close() {
+            events.add("closed");
+        }
+
+        String next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -1,31 +1,48 @@
 package com.interview.taskmanager.infrastructure;
 
+import com.interview.taskmanager.api.TaskCursor;
 import com.interview.taskmanager.api.TaskResponseDTO;
 import com.interview.taskmanager.api.TaskUpdateRequestDTO;
 import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.DueDateKey;
 import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskSearchOrder;
 import com.interview.taskmanager.domain.models.TaskStatus;
 import com.interview.taskmanager.infrastructure.Exception.TaskNotFoundException;
+import com.interview.taskmanager.infrastructure.Exception.TaskVersionMismatchException;
+import com.interview.taskmanager.infrastructure.cache.TaskJsonCache;
+import com.interview.taskmanager.infrastructure.config.JsonCacheProperties;
 import com.interview.taskmanager.infrastructure.controller.TaskController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @WebMvcTest(TaskController.class)
+@Import(TaskJsonCache.class)
+@EnableConfigurationProperties(JsonCacheProperties.class)
 @AutoConfigureMockMvc
 public class TaskControllerTest {
 
@@ -40,9 +57,9 @@ public class TaskControllerTest {
 
     @BeforeEach
     void setUp() {
-        task1 = new Task("1","Title 1","Description of Title 1", TaskStatus.PENDING, LocalDate.now().plusDays(3));
-        task2 = new Task("2","Title 2","Description of Title 2", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(4));
-        task3 = new Task("3","Title 3","Description of Title 3", TaskStatus.DONE, LocalDate.now().plusDays(5));
+        task1 = new Task(id(1),"Title 1","Description of Title 1", TaskStatus.PENDING, LocalDate.now().plusDays(3));
+        task2 = new Task(id(2),"Title 2","Description of Title 2", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(4));
+        task3 = new Task(id(3),"Title 3","Description of Title 3", TaskStatus.DONE, LocalDate.now().plusDays(5));
         allTasks = Arrays.asList(task1, task2, task3);
     }
 
@@ -59,9 +76,7 @@ public class TaskControllerTest {
                 }
                 """, LocalDate.now());
         //Mock Task data
-        Task mockedTask = new Task();
-        mockedTask.setId("1234");
-        mockedTask.setTitle("Title");
+        Task mockedTask = new Task(id(1234), "Title", null, TaskStatus.PENDING, LocalDate.now(), false, 1);
 
         //Mocking service layer to return valid task
         when(taskService.createTask(any())).thenReturn(mockedTask);
@@ -71,30 +86,30 @@ public class TaskControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonPayload))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(mockedTask.getId()))
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(mockedTask.getId().toString()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(mockedTask.getTitle()));
     }
 
     @Test
     void getTask_shouldReturnTaskWhenFound() throws Exception {
         //Task which exists in the memory
-        Task mockedTask = new Task();
-        mockedTask.setId("1234");
-        mockedTask.setTitle("Title");
+        Task mockedTask = new Task(id(1234), "Title", null, null, null, false, 3);
 
         //Mocking the getTask method to retrun mock task
-        when(taskService.getTask("1234")).thenReturn(mockedTask);
+        when(taskService.getTask(id(1234))).thenReturn(mockedTask);
 
         //When we perform GET request for the task Id, we expect 200 OK Status and JSON response
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/{id}", "1234"))
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/{id}", id(1234)))
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("1234"))
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(id(1234).toString()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Title"));
     }
 
     @Test
     void getTask_shouldReturnTaskNotFoundWhenTaskDoesNotExist() throws Exception {
-        String nonExistentId = "non-existent-id";
+        TaskId nonExistentId = id(404);
 
         // Mock the service to throw the expected exception
         when(taskService.getTask(nonExistentId)).thenThrow(new TaskNotFoundException("Task not found"));
@@ -107,39 +122,68 @@ public class TaskControllerTest {
     @Test
     void updateTask_shouldReturnUpdatedTask() throws Exception {
         //Mock Updated task
-        Task updatedTask = new Task();
-        updatedTask.setTitle(task1.getTitle());
-        updatedTask.setDescription("Updated Description");
-        updatedTask.setStatus(task1.getStatus());
-        updatedTask.setDue_date(LocalDate.now().plusDays(8));
+        Task updatedTask = new Task(task1.getId(), task1.getTitle(), "Updated Description", task1.getStatus(), LocalDate.now().plusDays(8), false, 2);
 
         //request Payload
-        String jsonPayload = """
+        String jsonPayload = String.format("""
                 {
                   "title": "Title 1",
                   "description": "Updated Description",
                   "status": "PENDING",
-                  "due_date": "2025-08-15"
+                  "due_date": "%s"
                 }
-                """;
+                """, LocalDate.now().plusDays(8));
 
         //mock the service call with the mock data
-        when(taskService.updateTask(any(), any(TaskUpdateRequestDTO.class))).thenReturn(updatedTask);
+        when(taskService.updateTask(any(), any(TaskUpdateRequestDTO.class), isNull())).thenReturn(updatedTask);
 
         //When we perform PUT request from an
         mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/tasks/{id}", task1.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonPayload))
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"2\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description").value(updatedTask.getDescription()));
     }
 
+    @Test
+    void updateTask_shouldPassIfMatchVersionToService() throws Exception {
+        Task updatedTask = new Task(task1.getId(), "Renamed", task1.getDescription(), task1.getStatus(), task1.getDue_date(), false, 5);
+        when(taskService.updateTask(eq(task1.getId()), any(TaskUpdateRequestDTO.class), eq(4L))).thenReturn(updatedTask);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/tasks/{id}", task1.getId())
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Renamed\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    void updateTask_shouldReturnPreconditionFailedOnVersionMismatch() throws Exception {
+        when(taskService.updateTask(eq(task1.getId()), any(TaskUpdateRequestDTO.class), eq(4L)))
+                .thenThrow(new TaskVersionMismatchException("Task 1 is at version 5, not 4"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/tasks/{id}", task1.getId())
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        // A weak or malformed tag can never match a version
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/tasks/{id}", task1.getId())
+                        .header("If-Match", "W/\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
     @Test
     void updateTask_shouldReturnTaskNotFoundWhenTaskDoesNotExist() throws Exception {
-        String nonExistentId = "non-existent-id";
+        TaskId nonExistentId = id(404);
 
         // Mock the service to throw the expected exception
-        when(taskService.updateTask(anyString(), any(TaskUpdateRequestDTO.class))).thenThrow(new TaskNotFoundException("Task not found"));
+        when(taskService.updateTask(any(TaskId.class), any(TaskUpdateRequestDTO.class), isNull())).thenThrow(new TaskNotFoundException("Task not found"));
 
         // WHEN we perform a PUT request for a non-existent ID, then we expect a 404 Not Found status
         mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/tasks/{id}", nonExistentId)
@@ -164,7 +208,7 @@ public class TaskControllerTest {
     @Test
     void deleteTask_shouldReturnNotFoundWhenTaskDoesNotExist() throws Exception {
         // Given a non-existing Id
-        String nonExistentId = "non-existent-id";
+        TaskId nonExistentId = id(404);
 
         // We mock the service to throw a TaskNotFoundException
         doThrow(new TaskNotFoundException("Task not found")).when(taskService).deleteTask(nonExistentId);
@@ -185,4 +229,150 @@ public class TaskControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].title").value("Title 2"));
     }
 
+    @Test
+    void listAllTasks_shouldCapHugeSizesAndRejectNegativeOnes() throws Exception {
+        when(taskService.getTasksDueBetween(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(allTasks);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks")
+                        .param("dueFrom", "2020-01-01")
+                        .param("size", Integer.toString(Integer.MAX_VALUE)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        verify(taskService).getTasksDueBetween(null, LocalDate.of(2020, 1, 1), null, null, 0, 1000);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("size", "-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("page", "-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/search").param("q", "renew").param("size", "-5"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(taskService, never()).getAllTasks(any(), anyInt(), anyInt());
+        verify(taskService, never()).searchTasks(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getTask_shouldAnswerNotModifiedWhenIfNoneMatchNamesTheCurrentVersion() throws Exception {
+        when(taskService.getTask(id(1234))).thenReturn(new Task(id(1234), "Title", null, null, null, false, 3));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/{id}", id(1234)).header("If-None-Match", "\"2\", W/\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/{id}", id(1234)).header("If-None-Match", "\"2\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Title"));
+    }
+
+    @Test
+    void listAllTasks_shouldAnswerNotModifiedWithoutReadingThePageUntilTheStoreChanges() throws Exception {
+        when(taskService.getModificationCount()).thenReturn(7L);
+        when(taskService.getAllTasks(nullable(TaskStatus.class), anyInt(), anyInt())).thenReturn(allTasks);
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("status", "PENDING"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("status", "PENDING").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        verify(taskService, times(1)).getAllTasks(any(), anyInt(), anyInt());
+
+        // Another page, or the same page after a change, has a different tag
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("status", "DONE").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        when(taskService.getModificationCount()).thenReturn(8L);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("status", "PENDING").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void listAllTasks_shouldPassDueDateRangeAndOverdueToTheService() throws Exception {
+        LocalDate from = LocalDate.of(2030, 1, 6);
+        when(taskService.getTasksDueBetween(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(task1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("dueFrom", "2030-01-06").param("dueTo", "2030-01-12").param("status", "PENDING"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("Title 1"));
+        verify(taskService).getTasksDueBetween(TaskStatus.PENDING, from, from.plusDays(6), null, 0, 3);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("overdue", "true"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        verify(taskService).getTasksDueBetween(null, null, null, LocalDate.now(), 0, 3);
+        verify(taskService, never()).getAllTasks(any(), anyInt(), anyInt());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("dueFrom", "next week"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void getTaskStats_shouldReturnCountsPerStatusAndTotal() throws Exception {
+        when(taskService.getTaskCounts()).thenReturn(Map.of(TaskStatus.PENDING, 2L, TaskStatus.IN_PROGRESS, 1L, TaskStatus.DONE, 4L));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/stats"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.DONE").value(4));
+    }
+
+    @Test
+    void listTasksAfterCursor_shouldReturnPageAndNextCursor() throws Exception {
+        when(taskService.getTasksAfter(isNull(), isNull(), eq(2))).thenReturn(List.of(task1, task2));
+        when(taskService.getTasksAfter(isNull(), eq(DueDateKey.of(task2)), eq(2))).thenReturn(List.of(task3));
+
+        String next = TaskCursor.encode(DueDateKey.of(task2));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("cursor", "").param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value(next));
+
+        // The last page is short, so there is no further cursor
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("cursor", next).param("size", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].title").value("Title 3"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void listTasksAfterCursor_shouldReturnBadRequestForMalformedCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void exportTasks_shouldStreamOneJsonObjectPerLine() throws Exception {
+        when(taskService.exportTasks(TaskStatus.PENDING)).thenReturn(Stream.of(task1, task2));
+
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/export").param("status", "PENDING"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"" + task1.getId() + "\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"" + task2.getId() + "\""));
+    }
+
+    @Test
+    void searchTasks_shouldPassQueryFiltersAndCappedSizeToService() throws Exception {
+        when(taskService.searchTasks("renew pass*", TaskStatus.PENDING, TaskSearchOrder.DUE_DATE, 100)).thenReturn(List.of(task1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/search")
+                        .param("q", "renew pass*")
+                        .param("status", "PENDING")
+                        .param("sort", "DUE_DATE")
+                        .param("size", "5000"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(task1.getId().toString()));
+    }
+
+    @Test
+    void getTask_shouldReturnNotFoundForMalformedIdWithoutCallingTheService() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/{id}", "non-existent-id"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        verifyNoInteractions(taskService);
+    }
 }
@@ -0,0 +1,130 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.api.TaskImportErrorDTO;
+import com.interview.taskmanager.api.TaskImportResponseDTO;
+import com.interview.taskmanager.application.service.TaskService;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.Exception.InvalidImportException;
+import com.interview.taskmanager.infrastructure.importer.TaskImportFormat;
+import com.interview.taskmanager.infrastructure.importer.TaskImporter;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskImporterTest {
+
+    private static final LocalDate DUE = LocalDate.now().plusDays(7);
+
+    private InMemoryTaskRepository taskRepository;
+    private TaskImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new InMemoryTaskRepository();
+        // Chunks of three rows, so a handful of rows already spans several workers' chunks
+        importer = new TaskImporter(new TaskService(taskRepository), Validation.buildDefaultValidatorFactory().getValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), 2, 3, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.close();
+    }
+
+    @Test
+    void importTasks_shouldLoadCsvWithQuotedFieldsAndReportBadRowsByLine() throws Exception {
+        String csv = "﻿Title,due_date,status,description\n"
+                + "Plain," + DUE + ",in_progress,\n"
+                + "\"Quoted, with comma\"," + DUE + ",,\"Says \"\"hi\"\"\n"
+                + "over two lines\"\n"
+                + "\n"
+                + "," + DUE + ",,Missing title\n"
+                + "Bad date,tomorrow,DONE,\n"
+                + "Past,2000-01-01,,\n";
+
+        TaskImportResponseDTO result = importCsv(csv);
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.isErrorsTruncated());
+        assertEquals(List.of(6L, 7L), result.getErrors().stream().map(TaskImportErrorDTO::getLine).toList());
+        assertEquals(Map.of("title", "Title is mandatory"), result.getErrors().get(0).getErrors());
+        assertEquals(Map.of("due_date", "Due date must be an ISO date (yyyy-MM-dd)"), result.getErrors().get(1).getErrors());
+
+        List<Task> stored = taskRepository.findAll().stream().sorted(Comparator.comparing(Task::getTitle)).toList();
+        assertEquals(TaskStatus.IN_PROGRESS, stored.get(0).getStatus());
+        assertEquals("Quoted, with comma", stored.get(1).getTitle());
+        assertEquals("Says \"hi\"\nover two lines", stored.get(1).getDescription());
+        assertEquals(TaskStatus.PENDING, stored.get(1).getStatus());
+    }
+
+    @Test
+    void importTasks_shouldLoadNdjsonAcrossChunksInBodyOrder() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"title\":\"Task ").append(i).append("\",\"due_date\":\"").append(DUE.plusDays(i)).append("\"}\n");
+        }
+        ndjson.append("{\"title\":\"Wrong status\",\"status\":\"LATER\",\"due_date\":\"").append(DUE).append("\"}\n");
+        ndjson.append("not json\n");
+
+        TaskImportResponseDTO result = importer.importTasks(body(ndjson.toString()), StandardCharsets.UTF_8, TaskImportFormat.NDJSON);
+
+        assertEquals(10, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertFalse(result.isErrorsTruncated());
+        assertTrue(result.getErrors().get(0).getErrors().containsKey("status"));
+        assertTrue(result.getErrors().get(1).getErrors().containsKey("row"));
+        assertEquals(List.of("Task 0", "Task 1", "Task 2"),
+                taskRepository.findPage(null, 0, 3).stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void importTasks_shouldReportOverlongRowsWithoutKeepingThem() throws Exception {
+        String huge = "x".repeat((1 << 20) + 1);
+        String csv = "title,due_date,description\r\n"
+                + "Before," + DUE + ",\r\n"
+                + "Too long," + DUE + "," + huge + "\r\n"
+                + "\"Open quote," + DUE + ",\n" + huge + "\n"
+                + "After," + DUE + ",\r\n";
+
+        TaskImportResponseDTO result = importCsv(csv);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(3L, 4L), result.getErrors().stream().map(TaskImportErrorDTO::getLine).toList());
+        assertEquals(Map.of("row", "Row is longer than 1048576 characters"), result.getErrors().get(0).getErrors());
+        assertEquals(Map.of("row", "Row is longer than 1048576 characters"), result.getErrors().get(1).getErrors());
+        assertEquals(List.of("After", "Before"), taskRepository.findAll().stream().map(Task::getTitle).sorted().toList());
+    }
+
+    @Test
+    void importTasks_shouldRejectCsvWithoutRequiredColumns() {
+        assertThrows(InvalidImportException.class, () -> importCsv("title,description\nA,B\n"));
+        assertThrows(InvalidImportException.class, () -> importCsv(""));
+        assertEquals(0, taskRepository.size());
+    }
+
+    private TaskImportResponseDTO importCsv(String csv) throws Exception {
+        return importer.importTasks(body(csv), StandardCharsets.UTF_8, TaskImportFormat.CSV);
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
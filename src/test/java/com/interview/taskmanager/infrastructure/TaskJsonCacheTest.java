@@ -0,0 +1,70 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.taskmanager.api.TaskResponseDTO;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.cache.TaskJsonCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TaskJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void bytes_shouldSerializeEachVersionOnce() throws Exception {
+        TaskJsonCache cache = new TaskJsonCache(objectMapper, 1024 * 1024);
+        Task task = task(1, 1);
+
+        byte[] first = cache.bytes(task);
+        assertArrayEquals(objectMapper.writeValueAsBytes(TaskResponseDTO.convertTaskToTaskResponseDTO(task)), first);
+        assertSame(first, cache.bytes(task));
+
+        Task renamed = task.withTitle("Renamed").withVersion(2);
+        byte[] second = cache.bytes(renamed);
+        assertNotSame(first, second);
+        // A reader still holding the old version gets correct bytes but does not displace the new ones
+        assertArrayEquals(first, cache.bytes(task));
+        assertSame(second, cache.bytes(renamed));
+    }
+
+    @Test
+    void onTaskChanged_shouldDropTheSupersededVersion() {
+        TaskJsonCache cache = new TaskJsonCache(objectMapper, 1024 * 1024);
+        Task task = task(1, 1);
+        byte[] cached = cache.bytes(task);
+
+        cache.onTaskChanged(task);
+        assertSame(cached, cache.bytes(task));
+        cache.onTaskChanged(task.asDeleted().withVersion(2));
+        assertNotSame(cached, cache.bytes(task));
+    }
+
+    @Test
+    void bytes_shouldEvictLeastRecentlyReadTasksBeyondTheBudget() {
+        // 64 stripes of 600 bytes leave room for two small tasks per stripe
+        TaskJsonCache cache = new TaskJsonCache(objectMapper, 64 * 600);
+        Task kept = task(0, 1);
+        byte[] keptBytes = cache.bytes(kept);
+        byte[] evictedBytes = cache.bytes(task(1, 1));
+        for (int i = 2; i < 2000; i++) {
+            cache.bytes(task(i, 1));
+            cache.bytes(kept);
+        }
+
+        assertSame(keptBytes, cache.bytes(kept));
+        assertNotSame(evictedBytes, cache.bytes(task(1, 1)));
+    }
+
+    private static Task task(long n, long version) {
+        return new Task(new TaskId(0, n), "Task " + n, "Description", TaskStatus.PENDING, LocalDate.of(2030, 1, 1), false, version);
+    }
+}
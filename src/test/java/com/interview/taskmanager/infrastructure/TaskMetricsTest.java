@@ -0,0 +1,60 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.metrics.TaskMetrics;
+import com.interview.taskmanager.infrastructure.metrics.TaskRepositoryMetrics;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void record_shouldTimeEachOperationSeparately() {
+        TaskMetrics taskMetrics = new TaskMetrics(registry);
+
+        taskMetrics.record(TaskMetrics.Operation.GET, System.nanoTime());
+        taskMetrics.record(TaskMetrics.Operation.GET, System.nanoTime());
+        taskMetrics.record(TaskMetrics.Operation.UPDATE, System.nanoTime());
+
+        assertEquals(2, registry.get(TaskMetrics.OPERATIONS).tag("operation", "get").timer().count());
+        assertEquals(1, registry.get(TaskMetrics.OPERATIONS).tag("operation", "update").timer().count());
+        assertEquals(0, registry.get(TaskMetrics.OPERATIONS).tag("operation", "create").timer().count());
+        Timer list = registry.get(TaskMetrics.OPERATIONS).tag("operation", "list").timer();
+        assertEquals(3, list.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void bindTo_shouldReportStoreSizeAndListingWork() {
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(new Task(id(i), "Title " + i, null, TaskStatus.PENDING, LocalDate.now().plusDays(i)));
+        }
+        taskRepository.save(taskRepository.findById(id(0)).orElseThrow().asDeleted());
+        new TaskRepositoryMetrics(taskRepository).bindTo(registry);
+
+        // The second page of two walks past the first page before returning
+        taskRepository.findPage(null, 1, 2);
+
+        assertEquals(5, registry.get("taskmanager.store.size").gauge().value());
+        assertEquals(1, registry.get("taskmanager.store.tombstones").gauge().value());
+        assertEquals(4, registry.get("taskmanager.store.tasks").tag("status", "pending").gauge().value());
+        assertEquals(4, registry.get("taskmanager.list.scanned").functionCounter().count());
+        assertEquals(2, registry.get("taskmanager.list.returned").functionCounter().count());
+    }
+}
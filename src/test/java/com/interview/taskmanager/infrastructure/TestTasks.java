@@ -0,0 +1,29 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.domain.models.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Numbered tasks for repository and storage tests. Task n always has id n, so a test can build the
+ * same task again to compare with what a store returns.
+ */
+final class TestTasks {
+
+    private TestTasks() {
+    }
+
+    static TaskId id(long n) {
+        return new TaskId(0, n);
+    }
+
+    /**
+     * Task n, cycling through the statuses and through 30 due dates from 2030-01-01.
+     */
+    static Task task(int n) {
+        return new Task(id(n), "Title " + n, "Description of task " + n,
+                TaskStatus.values()[n % TaskStatus.values().length], LocalDate.of(2030, 1, 1).plusDays(n % 30));
+    }
+}
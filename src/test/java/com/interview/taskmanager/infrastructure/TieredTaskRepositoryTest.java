@@ -0,0 +1,175 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.tiered.TieredTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository contract tests against the tiered store with the DONE task already moved to
+ * disk, so every listing has to merge the tiers, plus the parts specific to it.
+ */
+public class TieredTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<TieredTaskRepository> repositories = new ArrayList<>();
+    private InMemoryTaskRepository hot;
+
+    @Override
+    protected ITaskRepository createRepository() {
+        hot = new InMemoryTaskRepository();
+        return open(hot, false);
+    }
+
+    @BeforeEach
+    void moveFinishedTasksToDisk() throws IOException {
+        assertEquals(1, tiered().migrate(Instant.now().plusSeconds(1), 100));
+        assertEquals(1, tiered().coldTasks());
+    }
+
+    @AfterEach
+    void closeRepositories() throws IOException {
+        for (TieredTaskRepository repository : repositories) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void migrate_shouldServeFinishedTasksFromDiskInEveryListing() throws IOException {
+        List<Task> done = new ArrayList<>();
+        for (int n = 10; n < 20; n++) {
+            done.add(taskRepository.save(task(n, TaskStatus.DONE)));
+            taskRepository.save(task(n + 10, TaskStatus.PENDING));
+        }
+        assertEquals(10, tiered().migrate(Instant.now().plusSeconds(1), 100));
+
+        assertEquals(11, tiered().coldTasks());
+        assertEquals(12, tiered().hotTasks());
+        assertEquals(done.get(4), taskRepository.findById(id(14)).orElseThrow());
+        assertEquals(1, taskRepository.findById(id(14)).orElseThrow().getVersion());
+        assertEquals(11L, taskRepository.countByStatus().get(TaskStatus.DONE));
+
+        List<Task> byDueDate = taskRepository.findPage(null, 0, 100);
+        assertEquals(23, byDueDate.size());
+        for (int i = 1; i < byDueDate.size(); i++) {
+            assertTrue(DueDateKey.of(byDueDate.get(i - 1)).compareTo(DueDateKey.of(byDueDate.get(i))) < 0);
+        }
+        assertEquals(byDueDate.subList(5, 10), taskRepository.findPage(null, 1, 5));
+        assertEquals(byDueDate.subList(6, 10), taskRepository.findAfter(null, DueDateKey.of(byDueDate.get(5)), 4));
+        assertEquals(byDueDate, taskRepository.streamByDueDate(null).toList());
+        assertEquals(done.subList(2, 5), taskRepository.findPageDueBetween(null, dueDate(12), dueDate(14), 0, 100).stream()
+                .filter(task -> task.getStatus() == TaskStatus.DONE).toList());
+    }
+
+    @Test
+    void findPage_shouldServeASizeFarBeyondTheStore() {
+        List<Task> all = taskRepository.findPage(null, 0, 10);
+
+        assertEquals(3, all.size());
+        assertEquals(all, taskRepository.findPage(null, 0, Integer.MAX_VALUE));
+        assertEquals(all.subList(2, 3), taskRepository.findPage(null, 1, 2));
+        assertTrue(taskRepository.findPage(null, 1, Integer.MAX_VALUE).isEmpty());
+        assertEquals(1, taskRepository.findPage(TaskStatus.DONE, 0, Integer.MAX_VALUE).size());
+        assertTrue(open(new InMemoryTaskRepository(), false).findPage(null, 0, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void compareAndSet_shouldBringTaskBackFromDiskWithItsVersion() {
+        Task onDisk = taskRepository.findById(id(3)).orElseThrow();
+
+        Task reopened = taskRepository.compareAndSet(onDisk.getVersion(), onDisk.withStatus(TaskStatus.IN_PROGRESS)).orElseThrow();
+
+        assertEquals(onDisk.getVersion() + 1, reopened.getVersion());
+        assertEquals(0, tiered().coldTasks());
+        assertEquals(1, tiered().promotedTasks());
+        assertEquals(reopened, hot.findById(id(3)).orElseThrow());
+        assertEquals(0L, taskRepository.countByStatus().get(TaskStatus.DONE));
+        assertTrue(taskRepository.compareAndSet(onDisk.getVersion(), onDisk.withTitle("Stale")).isEmpty());
+    }
+
+    @Test
+    void reopen_shouldNotBringBackTasksDeletedAfterTheyMovedToDisk() throws IOException {
+        taskRepository.save(task(10, TaskStatus.DONE));
+        tiered().migrate(Instant.now().plusSeconds(1), 100);
+        taskRepository.save(taskRepository.findById(id(3)).orElseThrow().asDeleted());
+        assertEquals(1, taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 10));
+
+        // What a restart recovers into memory from the journal: everything still held there
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository();
+        recovered.putAll(hot.findAll());
+        TieredTaskRepository reopened = open(recovered, true);
+
+        assertTrue(reopened.findById(id(3)).isEmpty());
+        assertEquals(1, reopened.findById(id(10)).orElseThrow().getVersion());
+        assertEquals(List.of(id(2), id(1), id(10)), reopened.findPage(null, 0, 10).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void compact_shouldMergeSegmentsAndDropRowsOfTasksThatWentBack() throws IOException {
+        for (int n = 10; n < 40; n++) {
+            taskRepository.save(task(n, TaskStatus.DONE));
+            if (n % 10 == 9) {
+                tiered().migrate(Instant.now().plusSeconds(1), 100);
+            }
+        }
+        for (int n = 10; n < 40; n += 3) {
+            taskRepository.save(taskRepository.findById(id(n)).orElseThrow().withStatus(TaskStatus.PENDING));
+        }
+        assertEquals(4, tiered().coldSegments());
+        List<Task> before = taskRepository.findPage(TaskStatus.DONE, 0, 100);
+        long bytesBefore = tiered().coldBytes();
+
+        assertEquals(10, tiered().compact());
+
+        assertEquals(1, tiered().coldSegments());
+        assertTrue(tiered().coldBytes() < bytesBefore);
+        assertEquals(before, taskRepository.findPage(TaskStatus.DONE, 0, 100));
+        assertEquals(21, before.size());
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository();
+        recovered.putAll(hot.findAll());
+        TieredTaskRepository reopened = open(recovered, true);
+        assertEquals(before, reopened.findPage(TaskStatus.DONE, 0, 100));
+        assertEquals(11L, reopened.countByStatus().get(TaskStatus.PENDING));
+    }
+
+    private TieredTaskRepository tiered() {
+        return (TieredTaskRepository) taskRepository;
+    }
+
+    private TieredTaskRepository open(InMemoryTaskRepository memory, boolean recover) {
+        try {
+            TieredTaskRepository repository = new TieredTaskRepository(memory, directory, 100, 2, 1000, recover);
+            repositories.add(repository);
+            return repository;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Task task(int n, TaskStatus status) {
+        return new Task(id(n), "Title " + n, n % 2 == 0 ? null : "Description of task " + n, status, dueDate(n));
+    }
+
+    private static LocalDate dueDate(int n) {
+        return LocalDate.of(2030, 1, 1).plusDays(n % 20);
+    }
+}
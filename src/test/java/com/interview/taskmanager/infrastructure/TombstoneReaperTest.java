@@ -0,0 +1,45 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.config.TombstoneProperties;
+import com.interview.taskmanager.infrastructure.repository.TombstoneReaper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TombstoneReaperTest {
+
+    @Mock
+    private ITaskRepository taskRepository;
+
+    @Test
+    void reap_shouldKeepPurgingFullBatchesUntilBacklogIsDrained() {
+        TombstoneReaper reaper = new TombstoneReaper(taskRepository, new TombstoneProperties(Duration.ofMinutes(5), 100, 10));
+        when(taskRepository.purgeDeleted(any(Instant.class), eq(100))).thenReturn(100, 100, 40);
+
+        assertEquals(240, reaper.reap());
+        assertEquals(240, reaper.getReclaimedCount());
+        verify(taskRepository, times(3)).purgeDeleted(any(Instant.class), eq(100));
+    }
+
+    @Test
+    void reap_shouldNotExceedMaxBatchesPerRun() {
+        TombstoneReaper reaper = new TombstoneReaper(taskRepository, new TombstoneProperties(Duration.ofMinutes(5), 100, 2));
+        when(taskRepository.purgeDeleted(any(Instant.class), eq(100))).thenReturn(100);
+
+        assertEquals(200, reaper.reap());
+        verify(taskRepository, times(2)).purgeDeleted(any(Instant.class), eq(100));
+    }
+}
@@ -0,0 +1,42 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.TaskId;
+import com.interview.taskmanager.infrastructure.id.UuidV7TaskIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UuidV7TaskIdGeneratorTest {
+
+    private final UuidV7TaskIdGenerator generator = new UuidV7TaskIdGenerator();
+
+    @Test
+    void next_shouldProduceStrictlyIncreasingVersion7Ids() {
+        TaskId previous = generator.next();
+        // Far more ids than fit in one millisecond's sequence
+        for (int i = 0; i < 10_000; i++) {
+            TaskId next = generator.next();
+            assertTrue(next.compareTo(previous) > 0);
+            assertTrue(next.toString().compareTo(previous.toString()) > 0);
+            previous = next;
+        }
+        UUID uuid = UUID.fromString(previous.toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void parse_shouldRoundTripOnlyTheCanonicalForm() {
+        TaskId id = generator.next();
+
+        assertEquals(id, TaskId.parse(id.toString()));
+        assertEquals(id, TaskId.parse(id.toString().toUpperCase()));
+        assertThrows(IllegalArgumentException.class, () -> TaskId.parse("1-2-3-4-5"));
+        assertThrows(IllegalArgumentException.class, () -> TaskId.parse("not-a-task-id"));
+        assertThrows(IllegalArgumentException.class, () -> TaskId.parse(null));
+    }
+}
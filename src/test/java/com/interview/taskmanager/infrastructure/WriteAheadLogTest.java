@@ -0,0 +1,297 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.TaskSnapshotStore;
+import com.interview.taskmanager.infrastructure.repository.wal.Durability;
+import com.interview.taskmanager.infrastructure.repository.wal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.interview.taskmanager.infrastructure.TestTasks.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldRestoreConcurrentGroupCommittedWrites() throws Exception {
+        try (WriteAheadLog wal = open(Durability.GROUP, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            ExecutorService writers = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 400; i++) {
+                int n = i;
+                writers.submit(() -> taskRepository.save(task(n)));
+            }
+            writers.shutdown();
+            assertTrue(writers.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        try (WriteAheadLog wal = open(Durability.GROUP, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            assertEquals(400, restored.findAll().size());
+            assertEquals(task(7), restored.findById(id(7)).orElseThrow());
+            assertEquals(134L, restored.countByStatus().get(TaskStatus.PENDING));
+        }
+    }
+
+    @Test
+    void replay_shouldApplyUpdatesDeletesAndPurgesInOrder() throws Exception {
+        try (WriteAheadLog wal = open(Durability.SYNC, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            Task task1 = taskRepository.save(task(1));
+            Task task2 = taskRepository.save(task(2));
+            taskRepository.save(task(3));
+            taskRepository.save(task1.withStatus(TaskStatus.DONE));
+            taskRepository.save(task2.asDeleted());
+            taskRepository.purgeDeleted(Instant.now().plusSeconds(1), 10);
+        }
+
+        try (WriteAheadLog wal = open(Durability.SYNC, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            assertEquals(TaskStatus.DONE, restored.findById(id(1)).orElseThrow().getStatus());
+            assertEquals(2, restored.findById(id(1)).orElseThrow().getVersion());
+            assertTrue(restored.findById(id(2)).isEmpty());
+            assertEquals(2, restored.findPage(null, 0, 10).size());
+        }
+    }
+
+    @Test
+    void replay_shouldIgnoreRecordTornByACrash() throws Exception {
+        try (WriteAheadLog wal = open(Durability.GROUP, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            taskRepository.save(task(1));
+            taskRepository.save(task(2));
+        }
+        Path segment = segments().get(0);
+        long intactSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (WriteAheadLog wal = open(Durability.GROUP, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            assertEquals(2, restored.findAll().size());
+            // New writes go to a fresh segment, after the torn one
+            restored.save(task(3));
+        }
+        assertEquals(intactSize + 7, Files.size(segment));
+        try (WriteAheadLog wal = open(Durability.GROUP, 64 * 1024 * 1024)) {
+            assertEquals(3, new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE).findAll().size());
+        }
+    }
+
+    @Test
+    void append_shouldRollOverToNewSegmentsWhenFull() throws Exception {
+        try (WriteAheadLog wal = open(Durability.ASYNC, 256)) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            for (int i = 0; i < 50; i++) {
+                taskRepository.save(task(i));
+            }
+        }
+        assertTrue(segments().size() > 1);
+
+        try (WriteAheadLog wal = open(Durability.ASYNC, 256)) {
+            assertEquals(50, new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE).findAll().size());
+        }
+    }
+
+    @Test
+    void append_shouldKeepLaterWritesReplayableAfterAFailedWrite() throws Exception {
+        AtomicBoolean failNextWrite = new AtomicBoolean();
+        try (WriteAheadLog wal = openFailing(failNextWrite)) {
+            wal.appendSave(task(1)).join();
+            failNextWrite.set(true);
+            assertThrows(CompletionException.class, () -> wal.appendSave(task(2)).join());
+            wal.appendSave(task(3)).join();
+        }
+        assertEquals(2, segments().size());
+
+        try (WriteAheadLog wal = open(Durability.SYNC, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            assertEquals(List.of(task(1), task(3)), restored.findPage(null, 0, 10));
+        }
+    }
+
+    @Test
+    void save_shouldRollBackAChangeTheLogFailedToWrite() throws Exception {
+        AtomicBoolean failNextWrite = new AtomicBoolean();
+        try (WriteAheadLog wal = openFailing(failNextWrite)) {
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            Task task1 = taskRepository.save(task(1));
+            long modifications = taskRepository.modificationCount();
+
+            failNextWrite.set(true);
+            assertThrows(UncheckedIOException.class, () -> taskRepository.save(task1.withStatus(TaskStatus.DONE)));
+            failNextWrite.set(true);
+            assertThrows(UncheckedIOException.class, () -> taskRepository.save(task(2)));
+
+            assertEquals(task1, taskRepository.findById(id(1)).orElseThrow());
+            assertTrue(taskRepository.findById(id(2)).isEmpty());
+            assertEquals(List.of(task1), taskRepository.findPage(task1.getStatus(), 0, 10));
+            assertTrue(taskRepository.findPage(TaskStatus.DONE, 0, 10).isEmpty());
+            assertEquals(1L, taskRepository.countByStatus().get(task1.getStatus()));
+            assertTrue(taskRepository.modificationCount() > modifications);
+        }
+
+        try (WriteAheadLog wal = open(Durability.SYNC, 64 * 1024 * 1024)) {
+            InMemoryTaskRepository restored = new InMemoryTaskRepository(wal, TaskSnapshotStore.NONE);
+            assertEquals(List.of(task(1)), restored.findPage(null, 0, 10));
+        }
+    }
+
+    private WriteAheadLog open(Durability durability, long segmentSize) throws IOException {
+        return new WriteAheadLog(directory, durability, segmentSize, 1024, Duration.ofMillis(10));
+    }
+
+    private WriteAheadLog openFailing(AtomicBoolean failNextWrite) throws IOException {
+        return new WriteAheadLog(directory, Durability.SYNC, 64 * 1024 * 1024, 1024, Duration.ofMillis(10)) {
+            @Override
+            protected FileChannel openSegment(Path path) throws IOException {
+                return new FailingChannel(super.openSegment(path), failNextWrite);
+            }
+        };
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static Task task(int n) {
+        TaskStatus status = TaskStatus.values()[n % TaskStatus.values().length];
+        return new Task(id(n), "Title " + n, n % 5 == 0 ? null : "Description of Title " + n, status, LocalDate.now().plusDays(n % 30));
+    }
+
+    /**
+     * A segment channel whose next write, once armed, writes half of its first record and then fails,
+     * the way a full disk leaves a torn record behind.
+     */
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final AtomicBoolean failNextWrite;
+
+        FailingChannel(FileChannel delegate, AtomicBoolean failNextWrite) {
+            this.delegate = delegate;
+            this.failNextWrite = failNextWrite;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            if (failNextWrite.getAndSet(false)) {
+                ByteBuffer first = srcs[offset];
+                delegate.write(first.slice(first.position(), first.remaining() / 2));
+                throw new IOException("No space left on device");
+            }
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.interview.taskmanager.infrastructure;
+
+import com.interview.taskmanager.domain.models.DueDateKey;
+import com.interview.taskmanager.domain.models.Task;
+import com.interview.taskmanager.domain.models.TaskStatus;
+import com.interview.taskmanager.domain.repository.ITaskRepository;
+import com.interview.taskmanager.infrastructure.repository.InMemoryTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.jdbc.JdbcTaskRepository;
+import com.interview.taskmanager.infrastructure.repository.writebehind.WriteBehindTaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository contract tests against the write-behind cache in front of the JDBC store, plus
+ * the parts specific to it. The background flush is set far apart, so tests decide when flushes run.
+ */
+public class WriteBehindTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private JdbcTaskRepository store;
+
+    @Override
+    protected ITaskRepository createRepository() {
+        return createRepository(1000);
+    }
+
+    @AfterEach
+    void closeResources() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void save_shouldCoalesceRepeatedWritesIntoOneFlush() {
+        WriteBehindTaskRepository cache = createRepository(1000);
+        Task task = cache.save(task(1));
+        for (TaskStatus status : List.of(TaskStatus.IN_PROGRESS, TaskStatus.DONE, TaskStatus.PENDING, TaskStatus.DONE)) {
+            task = cache.save(task.withStatus(status));
+        }
+
+        assertTrue(store.findById(id(1)).isEmpty());
+        assertEquals(5, cache.findById(id(1)).orElseThrow().getVersion());
+
+        cache.flush();
+        assertEquals(task, store.findById(id(1)).orElseThrow());
+        assertEquals(5, cache.writes());
+        assertEquals(1, cache.flushedTasks());
+    }
+
+    @Test
+    void findPage_shouldSeeWritesNotFlushedYet() {
+        WriteBehindTaskRepository cache = createRepository(1000);
+        cache.save(task(1));
+        cache.save(task(2).withStatus(TaskStatus.DONE));
+
+        assertEquals(1, cache.findPage(TaskStatus.DONE, 0, 10).size());
+        assertEquals(2, cache.countByStatus().values().stream().mapToLong(Long::longValue).sum());
+        // Answered without flushing
+        assertEquals(2, cache.dirtyTasks());
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void findPage_shouldServeASizeFarBeyondTheStoreWithWritesPending() {
+        // Batches large enough that nothing is flushed in the background
+        WriteBehindTaskRepository cache = createRepository(1000, 1000, dataSource -> new JdbcTaskRepository(dataSource, 4));
+        for (int n = 0; n < 6; n++) {
+            cache.save(task(n));
+        }
+        cache.flush();
+        cache.save(cache.findById(id(2)).orElseThrow().asDeleted());
+        cache.save(task(6));
+        List<Task> all = cache.findPage(null, 0, 10);
+        assertEquals(2, cache.dirtyTasks());
+
+        assertEquals(6, all.size());
+        assertEquals(all, cache.findPage(null, 0, Integer.MAX_VALUE));
+        assertTrue(cache.findPage(null, 1, Integer.MAX_VALUE).isEmpty());
+        assertEquals(all, cache.findPageDueBetween(null, LocalDate.of(2020, 1, 1), null, 0, Integer.MAX_VALUE));
+        assertEquals(all.subList(1, 6), cache.findAfter(null, DueDateKey.of(all.get(0)), Integer.MAX_VALUE));
+        assertEquals(2, cache.dirtyTasks());
+    }
+
+    @Test
+    void findPage_shouldPlacePendingChangesOnEveryPage() {
+        // Batches large enough that nothing is flushed in the background
+        WriteBehindTaskRepository cache = createRepository(1000, 1000, dataSource -> new JdbcTaskRepository(dataSource, 4));
+        InMemoryTaskRepository expected = new InMemoryTaskRepository();
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int n = 0; n < 40; n++) {
+            Task task = task(n).withStatus(statuses[n % statuses.length]);
+            cache.save(task);
+            expected.save(task);
+        }
+        cache.flush();
+        // Moved, finished, deleted and new tasks, all still pending
+        for (int n = 0; n < 40; n += 3) {
+            Task stored = cache.findById(id(n)).orElseThrow();
+            Task changed = switch (n % 4) {
+                case 0 -> stored.withDue_date(stored.getDue_date().plusDays(17));
+                case 1 -> stored.withStatus(TaskStatus.DONE);
+                case 2 -> stored.asDeleted();
+                default -> stored.withDue_date(stored.getDue_date().minusDays(11)).withStatus(TaskStatus.PENDING);
+            };
+            cache.save(changed);
+            expected.save(changed);
+        }
+        for (int n = 40; n < 46; n++) {
+            cache.save(task(n - 30));
+            expected.save(task(n - 30));
+        }
+        assertTrue(cache.dirtyTasks() > 0);
+
+        for (TaskStatus status : new TaskStatus[]{null, TaskStatus.PENDING, TaskStatus.DONE}) {
+            for (int page = 0; page < 10; page++) {
+                assertEquals(expected.findPage(status, page, 4), cache.findPage(status, page, 4));
+                assertEquals(expected.findPageDueBetween(null, LocalDate.of(2030, 1, 8), LocalDate.of(2030, 2, 1), page, 4),
+                        cache.findPageDueBetween(null, LocalDate.of(2030, 1, 8), LocalDate.of(2030, 2, 1), page, 4));
+            }
+            List<Task> all = expected.findPage(status, 0, 100);
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(all.subList(i + 1, Math.min(all.size(), i + 6)),
+                        cache.findAfter(status, DueDateKey.of(all.get(i)), 5));
+            }
+            assertEquals(all, cache.streamByDueDate(status).toList());
+        }
+        assertEquals(expected.countByStatus(), cache.countByStatus());
+        assertEquals(expected.size(), cache.size());
+        assertTrue(cache.dirtyTasks() > 0);
+    }
+
+    @Test
+    void save_shouldFlushItselfWhenTooManyTasksArePending() {
+        WriteBehindTaskRepository cache = createRepository(10);
+        for (int i = 0; i < 25; i++) {
+            cache.save(task(i));
+        }
+
+        assertTrue(cache.dirtyTasks() < 10);
+        assertTrue(store.size() >= 16);
+    }
+
+    @Test
+    void save_shouldRefuseWritesUntouchedWhenFullAndTheStoreIsDown() {
+        AtomicBoolean storeDown = new AtomicBoolean(true);
+        WriteBehindTaskRepository cache = createRepository(2, 4, dataSource -> new JdbcTaskRepository(dataSource, 4) {
+            @Override
+            public void putAll(List<Task> tasks) {
+                if (storeDown.get()) {
+                    throw new IllegalStateException("Store is down");
+                }
+                super.putAll(tasks);
+            }
+        });
+        cache.save(task(1));
+        cache.save(task(2));
+
+        assertThrows(IllegalStateException.class, () -> cache.save(task(3)));
+        assertTrue(cache.findById(id(3)).isEmpty());
+        assertEquals(2, cache.dirtyTasks());
+        assertEquals(2, cache.writes());
+
+        storeDown.set(false);
+        cache.save(task(3));
+        assertEquals(1, cache.dirtyTasks());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void close_shouldFlushPendingWrites() throws Exception {
+        WriteBehindTaskRepository cache = createRepository(1000);
+        Task stored = cache.save(task(1));
+        cache.save(stored.asDeleted());
+
+        cache.close();
+
+        assertTrue(store.findById(id(1)).orElseThrow().isIsdeleted());
+        assertEquals(2, store.findById(id(1)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void findById_shouldKeepVersionsAfterTheTaskLeavesTheCache() throws Exception {
+        WriteBehindTaskRepository cache = createRepository(1000);
+        Task task = cache.save(task(1));
+        task = cache.save(task.withTitle("Renamed"));
+        cache.close();
+
+        // A fresh cache has to load the task from the store
+        WriteBehindTaskRepository reopened = new WriteBehindTaskRepository(store, 1000, 1000, 4, Duration.ofHours(1));
+        resources.add(0, reopened);
+        assertEquals(task, reopened.findById(id(1)).orElseThrow());
+        assertEquals(3, reopened.save(task.withTitle("Renamed again")).getVersion());
+    }
+
+    @Test
+    void flush_shouldKeepAWriteThatLandsWhileItsTaskIsBeingFlushed() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindTaskRepository cache = createRepository(1000, 4, dataSource -> new JdbcTaskRepository(dataSource, 4) {
+            @Override
+            public void putAll(List<Task> tasks) {
+                flushing.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                super.putAll(tasks);
+            }
+        });
+        Task saved = cache.save(task(1));
+        Thread flusher = new Thread(cache::flush);
+        flusher.start();
+        assertTrue(flushing.await(10, TimeUnit.SECONDS));
+
+        // Equal to the copy being flushed in every field Task.equals compares
+        cache.compareAndSet(saved.getVersion(), saved.asDeleted()).orElseThrow();
+        release.countDown();
+        flusher.join();
+        cache.flush();
+
+        assertEquals(0, cache.dirtyTasks());
+        assertTrue(store.findById(id(1)).orElseThrow().isIsdeleted());
+        assertEquals(2, store.findById(id(1)).orElseThrow().getVersion());
+    }
+
+    private WriteBehindTaskRepository createRepository(int maxDirtyTasks) {
+        return createRepository(maxDirtyTasks, 4, dataSource -> new JdbcTaskRepository(dataSource, 4));
+    }
+
+    private WriteBehindTaskRepository createRepository(int maxDirtyTasks, int batchSize, Function<DataSource, JdbcTaskRepository> storeFactory) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        dataSource.setMaximumPoolSize(2);
+        store = storeFactory.apply(dataSource);
+        WriteBehindTaskRepository cache = new WriteBehindTaskRepository(store, 1000, maxDirtyTasks, batchSize, Duration.ofHours(1));
+        // Closed in reverse: the cache flushes before its data source goes away
+        resources.add(0, dataSource);
+        resources.add(0, cache);
+        return cache;
+    }
+
+    private static Task task(int n) {
+        return new Task(id(n), "Title " + n, "Description of task " + n, TaskStatus.PENDING, LocalDate.of(2030, 1, 1).plusDays(n));
+    }
+}